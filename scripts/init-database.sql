@@ -62,12 +62,13 @@ ALTER DEFAULT PRIVILEGES IN SCHEMA public GRANT ALL ON SEQUENCES TO educagestor_
 -- CREATE INDEX IF NOT EXISTS idx_enrollment_student ON enrollments(student_id);
 -- CREATE INDEX IF NOT EXISTS idx_enrollment_course ON enrollments(course_id);
 -- CREATE INDEX IF NOT EXISTS idx_enrollment_status ON enrollments(enrollment_status);
+-- CREATE INDEX IF NOT EXISTS idx_enrollment_date ON enrollments(enrollment_date DESC, id DESC);
 
 -- Grades table indexes
 -- CREATE INDEX IF NOT EXISTS idx_grade_student ON grades(student_id);
 -- CREATE INDEX IF NOT EXISTS idx_grade_course ON grades(course_id);
 -- CREATE INDEX IF NOT EXISTS idx_grade_type ON grades(grade_type);
--- CREATE INDEX IF NOT EXISTS idx_grade_date ON grades(grade_date);
+-- CREATE INDEX IF NOT EXISTS idx_grade_date ON grades(grade_date DESC, id DESC);
 
 -- Display success message
 SELECT 'Database initialization completed successfully!' as status;
@@ -0,0 +1,93 @@
+#!/bin/bash
+
+echo "=========================================="
+echo " EducaGestor360 API - Thread Mode Load Test"
+echo "=========================================="
+echo
+
+# Compares platform-thread and virtual-thread request execution. The same jar, built
+# with -Pvirtual-threads, is started once per mode with the same connection pool size,
+# and RequestLoad keeps CLIENTS connections busy against LOAD_PATH in both runs.
+#
+# Usage: scripts/load-test.sh [clients] [duration-seconds]
+# Environment: JAVA_HOME (JDK 21), DB_PROFILE (default h2), DB_POOL_SIZE (default 20),
+#              LOAD_PATH (default /courses?page=0&size=20), WARMUP_SECONDS (default 30)
+# Open file limit: each client holds a socket on both ends, raise ulimit -n above 2 x clients
+
+CLIENTS=${1:-5000}
+DURATION=${2:-60}
+WARMUP_SECONDS=${WARMUP_SECONDS:-30}
+DB_PROFILE=${DB_PROFILE:-h2}
+DB_POOL_SIZE=${DB_POOL_SIZE:-20}
+LOAD_PATH=${LOAD_PATH:-"/courses?page=0&size=20"}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:$PORT/api"
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+PROJECT_DIR="$(dirname "$SCRIPT_DIR")"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+if ! "$JAVA" -version 2>&1 | grep -q 'version "2[1-9]'; then
+    echo "ERROR: a JDK 21 or newer is required, set JAVA_HOME"
+    exit 1
+fi
+
+if [ "$(ulimit -n)" != "unlimited" ] && [ "$(ulimit -n)" -lt $((CLIENTS * 2 + 1000)) ]; then
+    echo "WARNING: ulimit -n is $(ulimit -n), connections may fail with $CLIENTS clients"
+fi
+
+echo "Building the application with the virtual-threads profile..."
+if ! (cd "$PROJECT_DIR" && mvn -B -q clean package -DskipTests -Pvirtual-threads); then
+    echo "ERROR: Maven build failed"
+    exit 1
+fi
+JAR=$(ls "$PROJECT_DIR"/target/educagestor-api-*.jar | grep -v original | head -1)
+echo "✓ Built $JAR"
+
+run_mode() {
+    local mode=$1
+    local profiles=$2
+    local log="$PROJECT_DIR/target/load-test-$mode.log"
+
+    echo
+    echo "=== $mode threads (profiles: $profiles) ==="
+    "$JAVA" -Xmx1g -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.profiles.active="$profiles" \
+        --spring.datasource.hikari.maximum-pool-size="$DB_POOL_SIZE" \
+        --spring.jpa.show-sql=false \
+        --logging.level.root=WARN \
+        --logging.level.com.educagestor=WARN \
+        --logging.level.org.springframework.security=WARN \
+        --logging.level.org.hibernate.SQL=WARN \
+        > "$log" 2>&1 &
+    local pid=$!
+
+    for _ in $(seq 1 120); do
+        curl -sf "$BASE_URL/actuator/health" > /dev/null && break
+        sleep 1
+    done
+    if ! curl -sf "$BASE_URL/actuator/health" > /dev/null; then
+        echo "ERROR: application did not start, see $log"
+        kill "$pid" 2>/dev/null
+        exit 1
+    fi
+
+    curl -s -o /dev/null -H "Content-Type: application/json" -X POST "$BASE_URL/auth/register" \
+        -d '{"username":"loadtest","email":"loadtest@example.com","password":"loadtest123","firstName":"Load","lastName":"Test","roles":["ADMIN"]}'
+    local token
+    token=$(curl -s -H "Content-Type: application/json" -X POST "$BASE_URL/auth/login" \
+        -d '{"username":"loadtest","password":"loadtest123"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+    if [ -z "$token" ]; then
+        echo "ERROR: login failed, see $log"
+        kill "$pid" 2>/dev/null
+        exit 1
+    fi
+
+    "$JAVA" "$SCRIPT_DIR/load-test/RequestLoad.java" "$BASE_URL$LOAD_PATH" "$token" "$CLIENTS" "$DURATION" "$WARMUP_SECONDS"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null
+}
+
+run_mode platform "$DB_PROFILE"
+run_mode virtual "$DB_PROFILE,virtual-threads"
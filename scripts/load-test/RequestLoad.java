@@ -0,0 +1,135 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator used by scripts/load-test.sh
+ *
+ * Each client runs on its own virtual thread and keeps one connection busy, sending
+ * the next request as soon as the previous answer arrived. Only answers received
+ * between the end of the warm-up and the deadline are recorded, requests still in
+ * flight at the deadline are reported as unfinished. Runs as a single source file
+ * on a JDK 21:
+ *
+ *   java RequestLoad.java <url> <token> <clients> <duration-seconds> <warmup-seconds>
+ */
+public class RequestLoad {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 5) {
+            System.err.println("Usage: java RequestLoad.java <url> <token> <clients> <duration-seconds> <warmup-seconds>");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        String token = args[1];
+        int clients = Integer.parseInt(args[2]);
+        long durationNanos = Duration.ofSeconds(Long.parseLong(args[3])).toNanos();
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(args[4])).toNanos();
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long deadline = measureFrom + durationNanos;
+
+        List<Future<ClientResult>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> runClient(httpClient, request, measureFrom, deadline)));
+            }
+        }
+
+        ClientResult total = new ClientResult();
+        for (Future<ClientResult> future : futures) {
+            total.merge(future.get());
+        }
+        report(clients, durationNanos, total);
+    }
+
+    private static ClientResult runClient(HttpClient httpClient, HttpRequest request, long measureFrom, long deadline) {
+        ClientResult result = new ClientResult();
+        long now = System.nanoTime();
+        while (now < deadline) {
+            String outcome;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                outcome = String.valueOf(response.statusCode());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                outcome = e.getClass().getSimpleName();
+            }
+            long end = System.nanoTime();
+            if (end > deadline) {
+                result.unfinished++;
+            } else if (end >= measureFrom) {
+                result.record(outcome, end - now);
+            }
+            now = end;
+        }
+        return result;
+    }
+
+    private static void report(int clients, long durationNanos, ClientResult total) {
+        long[] latencies = Arrays.copyOf(total.latencies, total.count);
+        Arrays.sort(latencies);
+        double seconds = durationNanos / 1e9;
+
+        System.out.printf("clients=%d requests=%d throughput=%.1f req/s%n", clients, latencies.length, latencies.length / seconds);
+        if (latencies.length > 0) {
+            System.out.printf("latency ms p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1e6);
+        }
+        System.out.println("outcomes " + total.outcomes + " unfinished=" + total.unfinished);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static class ClientResult {
+        private long[] latencies = new long[256];
+        private int count;
+        private int unfinished;
+        private final Map<String, Integer> outcomes = new TreeMap<>();
+
+        void record(String outcome, long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            outcomes.merge(outcome, 1, Integer::sum);
+        }
+
+        void merge(ClientResult other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            unfinished += other.unfinished;
+            other.outcomes.forEach((outcome, n) -> outcomes.merge(outcome, n, Integer::sum));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+-- EducaGestor360 write-batching migration (MySQL)
+-- Moves existing AUTO_INCREMENT tables to the sequence IDs used by the write-batching profile.
+--
+-- MySQL has no sequences, so Hibernate emulates each one with a single-row table holding the
+-- next free value, allocated in blocks of 50. Each table is seeded after the highest ID in use.
+-- Run with the application stopped, then start it with the mysql,write-batching profiles.
+--
+-- The id columns keep AUTO_INCREMENT: they accept the IDs assigned by the application and let
+-- it go back to the default profile. While the profile is active every insert must go through
+-- the application, a row inserted without an ID would take the next AUTO_INCREMENT value, which
+-- may belong to a block the application has already reserved.
+--
+-- Rollback: stop the application, drop the *_seq tables and start it without the profile.
+-- AUTO_INCREMENT continues after the highest ID in use.
+
+CREATE TABLE IF NOT EXISTS users_seq (next_val BIGINT) ENGINE = InnoDB;
+DELETE FROM users_seq;
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM users;
+
+CREATE TABLE IF NOT EXISTS students_seq (next_val BIGINT) ENGINE = InnoDB;
+DELETE FROM students_seq;
+INSERT INTO students_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM students;
+
+CREATE TABLE IF NOT EXISTS teachers_seq (next_val BIGINT) ENGINE = InnoDB;
+DELETE FROM teachers_seq;
+INSERT INTO teachers_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM teachers;
+
+CREATE TABLE IF NOT EXISTS courses_seq (next_val BIGINT) ENGINE = InnoDB;
+DELETE FROM courses_seq;
+INSERT INTO courses_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM courses;
+
+CREATE TABLE IF NOT EXISTS enrollments_seq (next_val BIGINT) ENGINE = InnoDB;
+DELETE FROM enrollments_seq;
+INSERT INTO enrollments_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM enrollments;
+
+CREATE TABLE IF NOT EXISTS grades_seq (next_val BIGINT) ENGINE = InnoDB;
+DELETE FROM grades_seq;
+INSERT INTO grades_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM grades;
@@ -0,0 +1,116 @@
+-- EducaGestor360 write-batching migration (SQL Server)
+-- Moves existing IDENTITY tables to the sequence IDs used by the write-batching profile.
+--
+-- SQL Server rejects explicit values in IDENTITY columns and cannot drop the IDENTITY property,
+-- so each id column is rebuilt as a plain BIGINT holding the same values: the foreign keys
+-- referencing it, its primary key and the indexes containing it are dropped, the column is
+-- copied and renamed, and the primary and foreign keys are recreated. Hibernate recreates the
+-- dropped indexes on the next start (ddl-auto: update).
+--
+-- Each table then gets a sequence starting after its highest ID with an increment of 50, the
+-- block size of the application, and a default drawing from it, so rows inserted without an ID
+-- by other clients still get a unique one.
+--
+-- Run with the application stopped, then start it with the sqlserver,write-batching profiles.
+-- The migration is one-way: without the IDENTITY property the default profile can no longer
+-- insert into these tables.
+
+SET XACT_ABORT ON;
+BEGIN TRANSACTION;
+
+DECLARE @tables TABLE (name sysname PRIMARY KEY);
+INSERT INTO @tables (name) VALUES
+    (N'users'),
+    (N'students'),
+    (N'teachers'),
+    (N'courses'),
+    (N'enrollments'),
+    (N'grades');
+
+DECLARE @table sysname, @sql nvarchar(max), @start bigint;
+
+-- Foreign keys referencing the migrated tables, dropped now and recreated at the end
+DECLARE @foreignKeys TABLE (drop_sql nvarchar(max), create_sql nvarchar(max));
+INSERT INTO @foreignKeys (drop_sql, create_sql)
+SELECT
+    N'ALTER TABLE ' + QUOTENAME(OBJECT_NAME(fk.parent_object_id)) + N' DROP CONSTRAINT ' + QUOTENAME(fk.name),
+    N'ALTER TABLE ' + QUOTENAME(OBJECT_NAME(fk.parent_object_id)) + N' ADD CONSTRAINT ' + QUOTENAME(fk.name) +
+    N' FOREIGN KEY (' + QUOTENAME(COL_NAME(fkc.parent_object_id, fkc.parent_column_id)) + N') REFERENCES ' +
+    QUOTENAME(OBJECT_NAME(fk.referenced_object_id)) + N' (' +
+    QUOTENAME(COL_NAME(fkc.referenced_object_id, fkc.referenced_column_id)) + N')'
+FROM sys.foreign_keys fk
+JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+WHERE OBJECT_NAME(fk.referenced_object_id) IN (SELECT name FROM @tables);
+
+DECLARE foreign_key_drops CURSOR LOCAL FAST_FORWARD FOR SELECT drop_sql FROM @foreignKeys;
+OPEN foreign_key_drops;
+FETCH NEXT FROM foreign_key_drops INTO @sql;
+WHILE @@FETCH_STATUS = 0
+BEGIN
+    EXEC sp_executesql @sql;
+    FETCH NEXT FROM foreign_key_drops INTO @sql;
+END;
+CLOSE foreign_key_drops;
+DEALLOCATE foreign_key_drops;
+
+DECLARE migrated_tables CURSOR LOCAL FAST_FORWARD FOR SELECT name FROM @tables;
+OPEN migrated_tables;
+FETCH NEXT FROM migrated_tables INTO @table;
+WHILE @@FETCH_STATUS = 0
+BEGIN
+    -- Primary key and every index containing the id column
+    SET @sql = N'';
+    SELECT @sql = @sql +
+        CASE WHEN i.is_primary_key = 1
+             THEN N'ALTER TABLE ' + QUOTENAME(@table) + N' DROP CONSTRAINT ' + QUOTENAME(i.name) + N'; '
+             ELSE N'DROP INDEX ' + QUOTENAME(i.name) + N' ON ' + QUOTENAME(@table) + N'; '
+        END
+    FROM sys.indexes i
+    WHERE i.object_id = OBJECT_ID(@table)
+      AND EXISTS (SELECT 1 FROM sys.index_columns ic
+                  WHERE ic.object_id = i.object_id AND ic.index_id = i.index_id
+                    AND COL_NAME(ic.object_id, ic.column_id) = N'id')
+    ORDER BY i.is_primary_key;
+    EXEC sp_executesql @sql;
+
+    -- Same values in a column without the IDENTITY property
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ADD id_new BIGINT NULL';
+    EXEC sp_executesql @sql;
+    SET @sql = N'UPDATE ' + QUOTENAME(@table) + N' SET id_new = id';
+    EXEC sp_executesql @sql;
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ALTER COLUMN id_new BIGINT NOT NULL';
+    EXEC sp_executesql @sql;
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' DROP COLUMN id';
+    EXEC sp_executesql @sql;
+    SET @sql = @table + N'.id_new';
+    EXEC sp_rename @sql, N'id', N'COLUMN';
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ADD CONSTRAINT ' + QUOTENAME(N'PK_' + @table) + N' PRIMARY KEY (id)';
+    EXEC sp_executesql @sql;
+
+    -- Sequence after the highest ID in use
+    SET @sql = N'SELECT @start = COALESCE(MAX(id), 0) + 1 FROM ' + QUOTENAME(@table);
+    EXEC sp_executesql @sql, N'@start bigint OUTPUT', @start = @start OUTPUT;
+    SET @sql = N'CREATE SEQUENCE ' + QUOTENAME(@table + N'_seq') + N' AS BIGINT START WITH ' +
+               CAST(@start AS nvarchar(20)) + N' INCREMENT BY 50';
+    EXEC sp_executesql @sql;
+    SET @sql = N'ALTER TABLE ' + QUOTENAME(@table) + N' ADD CONSTRAINT ' + QUOTENAME(N'DF_' + @table + N'_id') +
+               N' DEFAULT (NEXT VALUE FOR ' + QUOTENAME(@table + N'_seq') + N') FOR id';
+    EXEC sp_executesql @sql;
+
+    FETCH NEXT FROM migrated_tables INTO @table;
+END;
+CLOSE migrated_tables;
+DEALLOCATE migrated_tables;
+
+DECLARE foreign_key_creates CURSOR LOCAL FAST_FORWARD FOR SELECT create_sql FROM @foreignKeys;
+OPEN foreign_key_creates;
+FETCH NEXT FROM foreign_key_creates INTO @sql;
+WHILE @@FETCH_STATUS = 0
+BEGIN
+    EXEC sp_executesql @sql;
+    FETCH NEXT FROM foreign_key_creates INTO @sql;
+END;
+CLOSE foreign_key_creates;
+DEALLOCATE foreign_key_creates;
+
+COMMIT TRANSACTION;
@@ -0,0 +1,218 @@
+package com.educagestor.benchmark;
+
+import com.educagestor.dto.course.CourseDto;
+import com.educagestor.dto.enrollment.EnrollmentDto;
+import com.educagestor.dto.grade.GradeDto;
+import com.educagestor.dto.student.StudentDto;
+import com.educagestor.dto.teacher.TeacherDto;
+import com.educagestor.dto.user.UserProfileDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.CourseSeats;
+import com.educagestor.entity.Enrollment;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.Teacher;
+import com.educagestor.entity.User;
+import com.educagestor.security.UserPrincipal;
+import com.educagestor.service.CourseService;
+import com.educagestor.service.EnrollmentService;
+import com.educagestor.service.GradeService;
+import com.educagestor.service.StudentService;
+import com.educagestor.service.TeacherService;
+import com.educagestor.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity to DTO conversions and entity helpers on the request path
+ *
+ * Each service's private convertTo*Dto method is called through a method handle on
+ * a fully populated, detached entity graph, so only the mapping itself is measured.
+ * Also covers UserPrincipal.create, run on every principal load, and
+ * Enrollment.complete with its grade letter calculation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private static final double[] FINAL_GRADES = {95.0, 85.5, 72.0, 64.5, 40.0};
+
+    private User user;
+
+    private Student student;
+
+    private Teacher teacher;
+
+    private Course course;
+
+    private Enrollment enrollment;
+
+    private Grade grade;
+
+    private UserService userService;
+
+    private StudentService studentService;
+
+    private TeacherService teacherService;
+
+    private CourseService courseService;
+
+    private EnrollmentService enrollmentService;
+
+    private GradeService gradeService;
+
+    private MethodHandle convertUser;
+
+    private MethodHandle convertStudent;
+
+    private MethodHandle convertTeacher;
+
+    private MethodHandle convertCourse;
+
+    private MethodHandle convertEnrollment;
+
+    private MethodHandle convertGrade;
+
+    private int completions;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 9, 1, 8, 30);
+
+        user = new User("student1", "student1@educagestor360.com", "$2a$10$hash", "Alice", "Brown");
+        user.setId(1L);
+        user.setPhoneNumber("+1234567893");
+        user.addRole(Role.STUDENT);
+        user.setCreatedAt(timestamp);
+        user.setUpdatedAt(timestamp);
+
+        student = new Student("STU001", user, LocalDate.of(2003, 5, 14));
+        student.setId(1L);
+        student.setAddress("123 Main St");
+        student.setEmergencyContact("Mary Brown");
+        student.setEmergencyPhone("+1234567800");
+        student.setCreatedAt(timestamp);
+        student.setUpdatedAt(timestamp);
+
+        User teacherUser = new User("teacher1", "teacher1@educagestor360.com", "$2a$10$hash", "John", "Smith");
+        teacherUser.setId(2L);
+        teacherUser.addRole(Role.TEACHER);
+        teacherUser.setCreatedAt(timestamp);
+        teacherUser.setUpdatedAt(timestamp);
+
+        teacher = new Teacher("EMP001", teacherUser, "Computer Science");
+        teacher.setId(1L);
+        teacher.setSpecialization("Distributed Systems");
+        teacher.setOfficeLocation("B-204");
+        teacher.setCreatedAt(timestamp);
+        teacher.setUpdatedAt(timestamp);
+
+        course = new Course("CS101", "Introduction to Programming", 3, LocalDate.of(2024, 9, 2), LocalDate.of(2024, 12, 20));
+        course.setId(1L);
+        course.setDescription("Programming fundamentals");
+        course.setTeacher(teacher);
+        course.setSchedule("Mon/Wed 10:00-11:30");
+        course.setClassroom("A-101");
+        course.setMaxStudents(40);
+        course.setSeats(new CourseSeats(1L, 25));
+        course.setCreatedAt(timestamp);
+        course.setUpdatedAt(timestamp);
+        course.setVersion(3L);
+
+        enrollment = new Enrollment(student, course);
+        enrollment.setId(1L);
+        enrollment.setNotes("Transferred from section B");
+        enrollment.setCreatedAt(timestamp);
+        enrollment.setUpdatedAt(timestamp);
+        enrollment.setVersion(1L);
+
+        grade = new Grade(student, course, "Midterm Exam", Grade.GradeType.MIDTERM, 87.5);
+        grade.setId(1L);
+        grade.setWeight(0.3);
+        grade.setComments("Good work");
+        grade.setCreatedAt(timestamp);
+        grade.setUpdatedAt(timestamp);
+        grade.setVersion(2L);
+
+        userService = new UserService();
+        studentService = new StudentService();
+        teacherService = new TeacherService();
+        courseService = new CourseService();
+        enrollmentService = new EnrollmentService();
+        gradeService = new GradeService();
+
+        convertUser = converter(UserService.class, "convertToUserProfileDto", UserProfileDto.class, User.class);
+        convertStudent = converter(StudentService.class, "convertToStudentDto", StudentDto.class, Student.class);
+        convertTeacher = converter(TeacherService.class, "convertToTeacherDto", TeacherDto.class, Teacher.class);
+        convertCourse = converter(CourseService.class, "convertToCourseDto", CourseDto.class, Course.class);
+        convertEnrollment = converter(EnrollmentService.class, "convertToEnrollmentDto", EnrollmentDto.class, Enrollment.class);
+        convertGrade = converter(GradeService.class, "convertToGradeDto", GradeDto.class, Grade.class);
+    }
+
+    @Benchmark
+    public UserProfileDto userProfileDto() throws Throwable {
+        return (UserProfileDto) convertUser.invokeExact(userService, user);
+    }
+
+    @Benchmark
+    public StudentDto studentDto() throws Throwable {
+        return (StudentDto) convertStudent.invokeExact(studentService, student);
+    }
+
+    @Benchmark
+    public TeacherDto teacherDto() throws Throwable {
+        return (TeacherDto) convertTeacher.invokeExact(teacherService, teacher);
+    }
+
+    @Benchmark
+    public CourseDto courseDto() throws Throwable {
+        return (CourseDto) convertCourse.invokeExact(courseService, course);
+    }
+
+    @Benchmark
+    public EnrollmentDto enrollmentDto() throws Throwable {
+        return (EnrollmentDto) convertEnrollment.invokeExact(enrollmentService, enrollment);
+    }
+
+    @Benchmark
+    public GradeDto gradeDto() throws Throwable {
+        return (GradeDto) convertGrade.invokeExact(gradeService, grade);
+    }
+
+    /**
+     * Principal built from the user entity on every database principal load
+     */
+    @Benchmark
+    public UserPrincipal userPrincipalCreate() {
+        return UserPrincipal.create(user);
+    }
+
+    /**
+     * Enrollment completion, cycling through final grades of every letter
+     */
+    @Benchmark
+    public String enrollmentComplete() {
+        enrollment.complete(FINAL_GRADES[completions++ % FINAL_GRADES.length]);
+        return enrollment.getGradeLetter();
+    }
+
+    /**
+     * Resolves a private service converter, typed as (service, entity) -> DTO for invokeExact
+     */
+    private static MethodHandle converter(Class<?> service, String name, Class<?> dtoType, Class<?> entityType)
+            throws ReflectiveOperationException {
+        return MethodHandles.privateLookupIn(service, MethodHandles.lookup())
+                .findVirtual(service, name, MethodType.methodType(dtoType, entityType));
+    }
+}
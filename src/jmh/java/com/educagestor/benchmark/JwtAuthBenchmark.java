@@ -0,0 +1,101 @@
+package com.educagestor.benchmark;
+
+import com.educagestor.entity.Role;
+import com.educagestor.security.JwtUtils;
+import com.educagestor.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT authentication cost
+ *
+ * Compares the previous filter path (key derived and parser built on every call,
+ * token parsed once to validate and again to read the subject) with the
+ * prebuilt parser and single-parse validation used by AuthTokenFilter, and
+ * measures issuing the access and refresh tokens of a login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey123456789012345678901234567890";
+
+    private JwtUtils jwtUtils;
+
+    private UserPrincipal principal;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtRefreshExpirationMs", 604800000);
+        jwtUtils.init();
+
+        principal = new UserPrincipal(1L, "student1", "student1@educagestor360.com", null,
+                "Alice", "Brown", true, List.of(new SimpleGrantedAuthority(Role.STUDENT.getAuthority())));
+        token = jwtUtils.generateTokenFromPrincipal(principal);
+    }
+
+    /**
+     * Previous per-request path: two parses, each re-deriving the key and parser
+     */
+    @Benchmark
+    public String legacyValidateThenExtractSubject() {
+        SecretKey validationKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Jwts.parserBuilder().setSigningKey(validationKey).build().parseClaimsJws(token);
+
+        SecretKey extractionKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder().setSigningKey(extractionKey).build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    /**
+     * Current per-request path: one parse with the shared parser
+     */
+    @Benchmark
+    public String singleParseWithPrebuiltParser() {
+        Claims claims = jwtUtils.parseAndValidateJwtToken(token);
+        return claims.getSubject();
+    }
+
+    /**
+     * Current path including the principal rebuilt from claims
+     */
+    @Benchmark
+    public UserPrincipal singleParseAndRebuildPrincipal() {
+        return jwtUtils.getUserPrincipalFromClaims(jwtUtils.parseAndValidateJwtToken(token));
+    }
+
+    /**
+     * Access token issued at login, carrying the principal claims
+     */
+    @Benchmark
+    public String issueAccessToken() {
+        return jwtUtils.generateTokenFromPrincipal(principal);
+    }
+
+    /**
+     * Refresh token issued at login
+     */
+    @Benchmark
+    public String issueRefreshToken() {
+        return jwtUtils.generateRefreshToken(principal.getUsername());
+    }
+}
@@ -0,0 +1,158 @@
+package com.educagestor.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading a deep page of the grades listing
+ *
+ * Compares offset pagination (LIMIT/OFFSET page plus the COUNT(*) of the Page
+ * response) with the keyset predicate issued by the cursor mode, on an in-memory H2
+ * grades table indexed on (grade_date DESC, id DESC) and sorted by grade date
+ * descending, as the default listing is. Both read the same page. Result reuse is
+ * disabled so that H2 executes every query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class KeysetPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String OFFSET_PAGE_SQL =
+        "SELECT id, student_id, course_id, grade_value, grade_date FROM grades " +
+        "ORDER BY grade_date DESC, id DESC LIMIT ? OFFSET ?";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM grades";
+
+    private static final String KEYSET_PAGE_SQL =
+        "SELECT id, student_id, course_id, grade_value, grade_date FROM grades " +
+        "WHERE grade_date <= ? AND (grade_date < ? OR (grade_date = ? AND id < ?)) " +
+        "ORDER BY grade_date DESC, id DESC LIMIT ?";
+
+    @Param({"2000000"})
+    private int gradeCount;
+
+    @Param({"10000"})
+    private int page;
+
+    private Connection connection;
+
+    private PreparedStatement offsetStatement;
+
+    private PreparedStatement countStatement;
+
+    private PreparedStatement keysetStatement;
+
+    private Date cursorDate;
+
+    private long cursorId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:paginationbench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE grades (id BIGINT PRIMARY KEY, student_id BIGINT, course_id BIGINT, " +
+                    "grade_value DOUBLE, grade_date DATE)");
+        }
+
+        Random random = new Random(42);
+        LocalDate firstDay = LocalDate.of(2020, 1, 1);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO grades VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= gradeCount; id++) {
+                insert.setLong(1, id);
+                insert.setLong(2, 1 + random.nextInt(50_000));
+                insert.setLong(3, 1 + random.nextInt(2_000));
+                insert.setDouble(4, random.nextInt(201) / 2.0);
+                insert.setDate(5, Date.valueOf(firstDay.plusDays(random.nextInt(5 * 365))));
+                insert.addBatch();
+
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_grade_date ON grades(grade_date DESC, id DESC)");
+        }
+
+        offsetStatement = connection.prepareStatement(OFFSET_PAGE_SQL);
+        countStatement = connection.prepareStatement(COUNT_SQL);
+        keysetStatement = connection.prepareStatement(KEYSET_PAGE_SQL);
+
+        // The cursor of the requested page holds the keys of the last row of the previous page
+        offsetStatement.setInt(1, 1);
+        offsetStatement.setInt(2, (page - 1) * PAGE_SIZE - 1);
+        try (ResultSet rows = offsetStatement.executeQuery()) {
+            rows.next();
+            cursorId = rows.getLong(1);
+            cursorDate = rows.getDate(5);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    /**
+     * Offset mode: skips every row of the previous pages, then counts the table
+     */
+    @Benchmark
+    public List<Long> offsetPage() throws SQLException {
+        offsetStatement.setInt(1, PAGE_SIZE);
+        offsetStatement.setInt(2, (page - 1) * PAGE_SIZE);
+        List<Long> ids = read(offsetStatement);
+
+        try (ResultSet rows = countStatement.executeQuery()) {
+            rows.next();
+            ids.add(rows.getLong(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Cursor mode: seeks past the cursor keys through the (grade_date, id) index
+     */
+    @Benchmark
+    public List<Long> keysetPage() throws SQLException {
+        keysetStatement.setDate(1, cursorDate);
+        keysetStatement.setDate(2, cursorDate);
+        keysetStatement.setDate(3, cursorDate);
+        keysetStatement.setLong(4, cursorId);
+        keysetStatement.setInt(5, PAGE_SIZE);
+        return read(keysetStatement);
+    }
+
+    private List<Long> read(PreparedStatement statement) throws SQLException {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE + 1);
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
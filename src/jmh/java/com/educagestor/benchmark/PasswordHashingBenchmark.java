@@ -0,0 +1,51 @@
+package com.educagestor.benchmark;
+
+import com.educagestor.config.SecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost of login and registration
+ *
+ * Uses the hashing encoder built by SecurityConfig at the default strength, without
+ * the bounded hashing pool in front of it, so a change of the hashing shows up here.
+ * Every login verifies the password once and every registration hashes one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "admin123";
+
+    private PasswordEncoder passwordEncoder;
+
+    private String passwordHash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = SecurityConfig.hashingPasswordEncoder("bcrypt", 10);
+        passwordHash = passwordEncoder.encode(PASSWORD);
+    }
+
+    /**
+     * Password check of a login
+     */
+    @Benchmark
+    public boolean verifyPassword() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    /**
+     * Password hash of a registration or password change
+     */
+    @Benchmark
+    public String hashPassword() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,207 @@
+package com.educagestor.benchmark;
+
+import com.educagestor.EducaGestorApiApplication;
+import com.educagestor.dto.enrollment.EnrollmentDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Enrollment;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.Teacher;
+import com.educagestor.entity.User;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.EnrollmentRepository;
+import com.educagestor.repository.GradeRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.TeacherRepository;
+import com.educagestor.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the main repository finders on an in-memory H2 database
+ *
+ * Starts the application with the test profile and seeds teachers, courses,
+ * students with their users, enrollments and grades through the repositories.
+ * Each finder is then called outside of a transaction, as the non-transactional
+ * callers do, cycling through the seeded keys. Paged finders include the count
+ * query of the Page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class RepositoryQueryBenchmark {
+
+    private static final int COURSE_COUNT = 200;
+
+    private static final int TEACHER_COUNT = 20;
+
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mathematics", "Physics", "History"};
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"5000"})
+    private int studentCount;
+
+    @Param({"5"})
+    private int enrollmentsPerStudent;
+
+    @Param({"4"})
+    private int gradesPerEnrollment;
+
+    private ConfigurableApplicationContext context;
+
+    private UserRepository userRepository;
+
+    private StudentRepository studentRepository;
+
+    private TeacherRepository teacherRepository;
+
+    private CourseRepository courseRepository;
+
+    private EnrollmentRepository enrollmentRepository;
+
+    private GradeRepository gradeRepository;
+
+    private long[] studentIds;
+
+    private long[] courseIds;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EducaGestorApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "search.index.enabled=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.educagestor=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+
+        userRepository = context.getBean(UserRepository.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        teacherRepository = context.getBean(TeacherRepository.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        enrollmentRepository = context.getBean(EnrollmentRepository.class);
+        gradeRepository = context.getBean(GradeRepository.class);
+
+        seed(context.getBean(TransactionTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findUserByUsername() {
+        return userRepository.findByUsername("benchuser" + nextIndex(studentCount));
+    }
+
+    @Benchmark
+    public Optional<Student> findStudentByCode() {
+        return studentRepository.findByStudentId("BST" + nextIndex(studentCount));
+    }
+
+    @Benchmark
+    public Optional<Course> findCourseByCode() {
+        return courseRepository.findByCourseCode("BCS" + nextIndex(COURSE_COUNT));
+    }
+
+    @Benchmark
+    public Page<Teacher> findTeachersByDepartment() {
+        return teacherRepository.findByDepartment(DEPARTMENTS[nextIndex(DEPARTMENTS.length)], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Enrollment> findEnrollmentsByStudent() {
+        return enrollmentRepository.findByStudentId(studentIds[nextIndex(studentIds.length)], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<EnrollmentDto> findEnrollmentDtoPage() {
+        return enrollmentRepository.findAllDtos(PageRequest.of(nextIndex(50), 20));
+    }
+
+    @Benchmark
+    public Page<Grade> findGradesByStudentWithStudentAndCourse() {
+        return gradeRepository.findByStudentIdWithStudentAndCourse(studentIds[nextIndex(studentIds.length)], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Grade> findGradesByCourse() {
+        return gradeRepository.findByCourseId(courseIds[nextIndex(courseIds.length)], FIRST_PAGE);
+    }
+
+    private int nextIndex(int bound) {
+        next = (next + 1) & Integer.MAX_VALUE;
+        return next % bound;
+    }
+
+    private void seed(TransactionTemplate transactionTemplate) {
+        LocalDate startDate = LocalDate.of(2024, 9, 2);
+
+        List<Course> courses = transactionTemplate.execute(status -> {
+            List<Teacher> teachers = new ArrayList<>();
+            for (int i = 0; i < TEACHER_COUNT; i++) {
+                User user = new User("benchteacher" + i, "benchteacher" + i + "@example.com", "password", "Teacher" + i, "Bench");
+                user.addRole(Role.TEACHER);
+                userRepository.save(user);
+                teachers.add(teacherRepository.save(new Teacher("BEMP" + i, user, DEPARTMENTS[i % DEPARTMENTS.length])));
+            }
+
+            List<Course> created = new ArrayList<>();
+            for (int i = 0; i < COURSE_COUNT; i++) {
+                Course course = new Course("BCS" + i, "Bench Course " + i, 3, startDate, startDate.plusMonths(4));
+                course.setMaxStudents(200);
+                course.setTeacher(teachers.get(i % TEACHER_COUNT));
+                created.add(courseRepository.save(course));
+            }
+            return created;
+        });
+        courseIds = courses.stream().mapToLong(Course::getId).toArray();
+
+        studentIds = new long[studentCount];
+        Grade.GradeType[] gradeTypes = Grade.GradeType.values();
+        int chunkSize = 250;
+        for (int from = 0; from < studentCount; from += chunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + chunkSize, studentCount);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    User user = new User("benchuser" + i, "benchuser" + i + "@example.com", "password", "Student" + i, "Bench");
+                    user.addRole(Role.STUDENT);
+                    userRepository.save(user);
+                    Student student = studentRepository.save(new Student("BST" + i, user, LocalDate.of(2003, 1, 1)));
+                    studentIds[i] = student.getId();
+
+                    for (int e = 0; e < enrollmentsPerStudent; e++) {
+                        Course course = courses.get((i * 7 + e * 31) % COURSE_COUNT);
+                        enrollmentRepository.save(new Enrollment(student, course));
+                        for (int g = 0; g < gradesPerEnrollment; g++) {
+                            gradeRepository.save(new Grade(student, course, "Assignment " + g,
+                                    gradeTypes[g % gradeTypes.length], 50.0 + (i + g) % 50));
+                        }
+                    }
+                }
+            });
+        }
+    }
+}
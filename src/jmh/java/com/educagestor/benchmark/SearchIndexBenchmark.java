@@ -0,0 +1,151 @@
+package com.educagestor.benchmark;
+
+import com.educagestor.search.InvertedIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User search cost on a large synthetic directory
+ *
+ * Compares the previous repository path (leading wildcard LIKE over username, names
+ * and email, plus the count query of the page) on an in-memory H2 table with the
+ * InvertedIndex used by SearchIndexService, both holding the same users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+        "alice", "bruno", "carla", "diego", "elena", "fabio", "gloria", "hector", "irene", "javier",
+        "karen", "lucas", "maria", "nicolas", "olga", "pablo", "queralt", "rosa", "sergio", "teresa",
+        "ursula", "victor", "wendy", "ximena", "yolanda", "zacarias", "andres", "beatriz", "camilo", "daniela"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "garcia", "rodriguez", "martinez", "hernandez", "lopez", "gonzalez", "perez", "sanchez", "ramirez", "torres",
+        "flores", "rivera", "gomez", "diaz", "reyes", "morales", "cruz", "ortiz", "gutierrez", "chavez",
+        "ramos", "ruiz", "alvarez", "mendoza", "castillo", "jimenez", "moreno", "romero", "herrera", "medina",
+        "aguilar", "vargas", "castro", "guzman", "fernandez", "silva", "vazquez", "rojas", "navarro", "soto"
+    };
+
+    private static final String LIKE_SEARCH_SQL =
+        "SELECT id FROM users WHERE LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? " +
+        "OR LOWER(username) LIKE ? OR LOWER(email) LIKE ? ORDER BY id LIMIT 20";
+
+    private static final String LIKE_COUNT_SQL =
+        "SELECT COUNT(*) FROM users WHERE LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? " +
+        "OR LOWER(username) LIKE ? OR LOWER(email) LIKE ?";
+
+    @Param({"1000000"})
+    private int userCount;
+
+    @Param({"mendoza", "mend"})
+    private String query;
+
+    private InvertedIndex index;
+
+    private Connection connection;
+
+    private PreparedStatement searchStatement;
+
+    private PreparedStatement countStatement;
+
+    @Setup
+    public void setUp() throws SQLException {
+        index = new InvertedIndex();
+        connection = DriverManager.getConnection("jdbc:h2:mem:searchbench;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), " +
+                    "first_name VARCHAR(50), last_name VARCHAR(50), email VARCHAR(100))");
+        }
+
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users VALUES (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= userCount; id++) {
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String username = firstName + "." + lastName + id;
+                String email = username + "@educagestor360.com";
+
+                insert.setLong(1, id);
+                insert.setString(2, username);
+                insert.setString(3, firstName);
+                insert.setString(4, lastName);
+                insert.setString(5, email);
+                insert.addBatch();
+
+                index.put(id, new InvertedIndex.Field(username, 3.0f), new InvertedIndex.Field(firstName, 2.0f),
+                        new InvertedIndex.Field(lastName, 2.0f), new InvertedIndex.Field(username, 1.0f));
+
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+
+        searchStatement = connection.prepareStatement(LIKE_SEARCH_SQL);
+        countStatement = connection.prepareStatement(LIKE_COUNT_SQL);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    /**
+     * Previous path: page and count queries with leading wildcard LIKE predicates
+     */
+    @Benchmark
+    public List<Long> likeQuery() throws SQLException {
+        String pattern = "%" + query + "%";
+        List<Long> ids = new ArrayList<>(20);
+
+        bind(searchStatement, pattern);
+        try (ResultSet rows = searchStatement.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+
+        bind(countStatement, pattern);
+        try (ResultSet rows = countStatement.executeQuery()) {
+            rows.next();
+            ids.add(rows.getLong(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Current path: ranked first page from the inverted index
+     */
+    @Benchmark
+    public InvertedIndex.SearchResult invertedIndex() {
+        return index.search(query, 0, 20);
+    }
+
+    private void bind(PreparedStatement statement, String pattern) throws SQLException {
+        for (int i = 1; i <= 4; i++) {
+            statement.setString(i, pattern);
+        }
+    }
+}
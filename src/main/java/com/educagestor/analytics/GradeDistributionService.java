@@ -0,0 +1,243 @@
+package com.educagestor.analytics;
+
+import com.educagestor.dto.grade.GradeDistributionDto;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.GradeRepository;
+import com.educagestor.service.GradeAggregateService.GradeContribution;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service maintaining in-memory grade histograms per course
+ *
+ * A course histogram is loaded from the database on first read and then kept up to
+ * date by the grade write paths, which report their changes through
+ * GradeAggregateService and are applied after commit. Department distributions
+ * merge the histograms of the department's courses, so repeated reads do not touch
+ * the grades table.
+ *
+ * A load that overlaps a committing grade write cannot tell whether the snapshot
+ * already holds that write, so its histogram is marked stale and reloaded on the
+ * next read. Histograms are also reloaded once they reach their maximum age, which
+ * bounds any drift from writes that bypass the services.
+ */
+@Service
+public class GradeDistributionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeDistributionService.class);
+
+    private static final double[] PERCENTILES = {10, 25, 50, 75, 90};
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${grade.distribution.max-age-seconds:600}")
+    private long maxAgeSeconds;
+
+    @Value("${grade.distribution.department-ttl-seconds:60}")
+    private long departmentTtlSeconds;
+
+    private final Map<Long, CourseHistogram> courses = new ConcurrentHashMap<>();
+
+    private Cache<String, List<Long>> courseIdsByDepartment;
+
+    @PostConstruct
+    void init() {
+        this.courseIdsByDepartment = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofSeconds(departmentTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Gets the grade distribution of a course
+     *
+     * @param courseId course ID
+     * @return distribution of the non-dropped grades of the course
+     */
+    public GradeDistributionDto getCourseDistribution(Long courseId) {
+        GradeDistributionDto distribution = toDto(snapshot(courseId));
+        distribution.setCourseId(courseId);
+        distribution.setCourseCount(1);
+        return distribution;
+    }
+
+    /**
+     * Gets the grade distribution of every course taught in a department
+     *
+     * @param department department name
+     * @return merged distribution of the department's courses
+     */
+    public GradeDistributionDto getDepartmentDistribution(String department) {
+        List<Long> courseIds = courseIdsByDepartment.get(department, courseRepository::findIdsByTeacherDepartment);
+
+        GradeHistogram merged = new GradeHistogram();
+        for (Long courseId : courseIds) {
+            merged.merge(snapshot(courseId));
+        }
+
+        GradeDistributionDto distribution = toDto(merged);
+        distribution.setDepartment(department);
+        distribution.setCourseCount(courseIds.size());
+        return distribution;
+    }
+
+    /**
+     * Records grade changes, applying them to the loaded histograms once the current
+     * transaction commits
+     *
+     * @param added contributions of the grades that now count
+     * @param removed contributions of the grades that no longer count
+     */
+    public void gradesChanged(Collection<GradeContribution> added, Collection<GradeContribution> removed) {
+        Map<Long, List<Change>> changes = new HashMap<>();
+        added.forEach(contribution -> changes.computeIfAbsent(contribution.courseId(), id -> new ArrayList<>())
+                .add(new Change(contribution.value(), true)));
+        removed.forEach(contribution -> changes.computeIfAbsent(contribution.courseId(), id -> new ArrayList<>())
+                .add(new Change(contribution.value(), false)));
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes.forEach((courseId, courseChanges) -> course(courseId).apply(courseChanges));
+            return;
+        }
+
+        changes.keySet().forEach(courseId -> course(courseId).beginWrite());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                changes.forEach((courseId, courseChanges) -> {
+                    CourseHistogram course = course(courseId);
+                    if (status == STATUS_COMMITTED) {
+                        course.apply(courseChanges);
+                    }
+                    course.endWrite();
+                });
+            }
+        });
+    }
+
+    /**
+     * Drops every loaded histogram so that the next reads reload them
+     */
+    public void invalidateAll() {
+        courses.values().forEach(CourseHistogram::invalidate);
+        courseIdsByDepartment.invalidateAll();
+    }
+
+    private GradeHistogram snapshot(Long courseId) {
+        CourseHistogram course = course(courseId);
+        GradeHistogram histogram = course.snapshotIfFresh(maxAgeSeconds);
+        return histogram != null ? histogram : load(courseId, course);
+    }
+
+    private GradeHistogram load(Long courseId, CourseHistogram course) {
+        long version = course.version.get();
+        boolean quiet = course.pendingWrites.get() == 0;
+
+        GradeHistogram histogram = new GradeHistogram();
+        for (Object[] row : gradeRepository.countGradeValuesByCourseId(courseId)) {
+            histogram.add(((Number) row[0]).doubleValue(), ((Number) row[1]).longValue());
+        }
+
+        boolean consistent = quiet && course.version.get() == version;
+        if (!consistent) {
+            logger.debug("Grade histogram of course {} was loaded during a grade write, reloading on next read", courseId);
+        }
+        course.install(histogram, consistent);
+        return histogram.copy();
+    }
+
+    private CourseHistogram course(Long courseId) {
+        return courses.computeIfAbsent(courseId, id -> new CourseHistogram());
+    }
+
+    private GradeDistributionDto toDto(GradeHistogram histogram) {
+        GradeDistributionDto distribution = new GradeDistributionDto();
+        distribution.setTotalGrades(histogram.getCount());
+        distribution.setLetterGrades(histogram.getLetterCounts());
+
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + (int) percentile, histogram.getPercentile(percentile));
+        }
+        distribution.setPercentiles(percentiles);
+        return distribution;
+    }
+
+    private record Change(double value, boolean added) { }
+
+    /**
+     * Histogram of one course with the bookkeeping needed to detect loads racing writes
+     */
+    private static final class CourseHistogram {
+
+        private final AtomicInteger pendingWrites = new AtomicInteger();
+
+        private final AtomicLong version = new AtomicLong();
+
+        private GradeHistogram histogram;
+
+        private long loadedAt;
+
+        private boolean stale;
+
+        void beginWrite() {
+            pendingWrites.incrementAndGet();
+            version.incrementAndGet();
+        }
+
+        void endWrite() {
+            pendingWrites.decrementAndGet();
+        }
+
+        synchronized void apply(List<Change> changes) {
+            if (histogram == null) {
+                return;
+            }
+            for (Change change : changes) {
+                if (change.added()) {
+                    histogram.add(change.value());
+                } else {
+                    histogram.remove(change.value());
+                }
+            }
+        }
+
+        synchronized GradeHistogram snapshotIfFresh(long maxAgeSeconds) {
+            if (histogram == null || stale || System.currentTimeMillis() - loadedAt > maxAgeSeconds * 1000) {
+                return null;
+            }
+            return histogram.copy();
+        }
+
+        synchronized void install(GradeHistogram loaded, boolean consistent) {
+            this.histogram = loaded.copy();
+            this.loadedAt = System.currentTimeMillis();
+            this.stale = !consistent;
+        }
+
+        synchronized void invalidate() {
+            this.histogram = null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.educagestor.analytics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-bin histogram of grade values between 0 and 100
+ *
+ * Values are counted in half-point bins, so the letter grade boundaries (60, 70, 80
+ * and 90) fall exactly on bin edges and letter counts are exact, while percentiles
+ * are interpolated within a bin (at most half a point off). Histograms support
+ * removal and merge by adding their bins, so a department histogram is the sum of
+ * its course histograms.
+ *
+ * Instances are not thread-safe; callers synchronize access.
+ */
+public class GradeHistogram {
+
+    private static final double MAX_VALUE = 100.0;
+
+    private static final int BINS_PER_POINT = 2;
+
+    private static final int BIN_COUNT = (int) MAX_VALUE * BINS_PER_POINT + 1;
+
+    private static final String[] LETTERS = {"A", "B", "C", "D", "F"};
+
+    private static final double[] LETTER_MINIMUMS = {90, 80, 70, 60, 0};
+
+    private final long[] bins = new long[BIN_COUNT];
+
+    private long count;
+
+    /**
+     * Counts a grade value
+     *
+     * @param value the grade value
+     */
+    public void add(double value) {
+        bins[bin(value)]++;
+        count++;
+    }
+
+    /**
+     * Counts several grade values in the bin of a value
+     *
+     * @param value a value of the bin
+     * @param occurrences number of values to count
+     */
+    public void add(double value, long occurrences) {
+        bins[bin(value)] += occurrences;
+        count += occurrences;
+    }
+
+    /**
+     * Removes a previously counted grade value
+     *
+     * @param value the grade value
+     */
+    public void remove(double value) {
+        int bin = bin(value);
+        if (bins[bin] > 0) {
+            bins[bin]--;
+            count--;
+        }
+    }
+
+    /**
+     * Adds the counts of another histogram to this one
+     *
+     * @param other the histogram to merge
+     */
+    public void merge(GradeHistogram other) {
+        for (int i = 0; i < BIN_COUNT; i++) {
+            bins[i] += other.bins[i];
+        }
+        count += other.count;
+    }
+
+    /**
+     * Gets a copy of this histogram
+     *
+     * @return independent copy
+     */
+    public GradeHistogram copy() {
+        GradeHistogram copy = new GradeHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Gets the number of counted values
+     *
+     * @return value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of values per letter grade
+     *
+     * @return counts keyed by letter, from A to F
+     */
+    public Map<String, Long> getLetterCounts() {
+        Map<String, Long> letters = new LinkedHashMap<>();
+        int upperBin = BIN_COUNT;
+        for (int i = 0; i < LETTERS.length; i++) {
+            int lowerBin = (int) (LETTER_MINIMUMS[i] * BINS_PER_POINT);
+            long letterCount = 0;
+            for (int bin = lowerBin; bin < upperBin; bin++) {
+                letterCount += bins[bin];
+            }
+            letters.put(LETTERS[i], letterCount);
+            upperBin = lowerBin;
+        }
+        return letters;
+    }
+
+    /**
+     * Estimates a percentile, interpolating linearly within the bin holding it
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return estimated grade value, or null if the histogram is empty
+     */
+    public Double getPercentile(double percentile) {
+        if (count == 0) {
+            return null;
+        }
+
+        double rank = percentile / 100.0 * count;
+        long seen = 0;
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            if (bins[bin] == 0) {
+                continue;
+            }
+            if (seen + bins[bin] >= rank) {
+                double fraction = (rank - seen) / bins[bin];
+                double lower = (double) bin / BINS_PER_POINT;
+                double upper = Math.min(lower + 1.0 / BINS_PER_POINT, MAX_VALUE);
+                return lower + fraction * (upper - lower);
+            }
+            seen += bins[bin];
+        }
+        return MAX_VALUE;
+    }
+
+    private int bin(double value) {
+        double clamped = Math.max(0.0, Math.min(MAX_VALUE, value));
+        return (int) Math.floor(clamped * BINS_PER_POINT);
+    }
+}
@@ -0,0 +1,21 @@
+package com.educagestor.audit;
+
+/**
+ * Security-relevant actions written to the audit log
+ */
+public enum AuditAction {
+    LOGIN,
+    LOGIN_FAILED,
+    TOKEN_REFRESHED,
+    REFRESH_TOKEN_REUSED,
+    LOGOUT,
+    USER_REGISTERED,
+    GRADE_RECORDED,
+    GRADE_UPDATED,
+    GRADE_DELETED,
+    GRADES_IMPORTED,
+    ENROLLMENT_CREATED,
+    ENROLLMENTS_BULK_CREATED,
+    ENROLLMENT_CANCELLED,
+    ENROLLMENT_COMPLETED
+}
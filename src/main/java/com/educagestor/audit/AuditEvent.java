@@ -0,0 +1,15 @@
+package com.educagestor.audit;
+
+import java.time.Instant;
+
+/**
+ * One audit log entry, written as a JSON line
+ *
+ * @param timestamp when the action took effect
+ * @param action the audited action
+ * @param actor username of the user performing the action, anonymous if unauthenticated
+ * @param target the affected resource, such as grade:42
+ * @param details free-form description of the change, may be null
+ */
+public record AuditEvent(Instant timestamp, AuditAction action, String actor, String target, String details) {
+}
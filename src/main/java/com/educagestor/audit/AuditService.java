@@ -0,0 +1,189 @@
+package com.educagestor.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service writing security-relevant actions to the audit log
+ *
+ * Recording an event only offers it to a bounded in-memory queue, so request threads
+ * never wait on the disk. A scheduled writer drains the queue and appends the events
+ * as JSON lines, flushing once per batch of up to audit.batch-size events. When the queue is full new events are
+ * dropped and counted in the educagestor.audit.dropped gauge rather than blocking.
+ *
+ * Events recorded inside a transaction are queued only once it commits, so rolled
+ * back changes are never audited.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String ANONYMOUS = "anonymous";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.file:logs/audit.log}")
+    private Path file;
+
+    @Value("${audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.batch-size:500}")
+    private int batchSize;
+
+    private BlockingQueue<AuditEvent> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("educagestor.audit.queued", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("educagestor.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit events dropped because the queue was full or the write failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records an action performed by the current user
+     *
+     * @param action the audited action
+     * @param target the affected resource
+     * @param details description of the change, may be null
+     */
+    public void record(AuditAction action, String target, String details) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        record(authentication != null ? authentication.getName() : ANONYMOUS, action, target, details);
+    }
+
+    /**
+     * Records an action performed by the given user, for actions taken before authentication
+     *
+     * @param actor username of the user performing the action
+     * @param action the audited action
+     * @param target the affected resource
+     * @param details description of the change, may be null
+     */
+    public void record(String actor, AuditAction action, String target, String details) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(new AuditEvent(Instant.now(), action, actor, target, details));
+                }
+            });
+            return;
+        }
+
+        enqueue(new AuditEvent(Instant.now(), action, actor, target, details));
+    }
+
+    /**
+     * Records an action regardless of the surrounding transaction, for failed attempts
+     * whose transaction is rolled back
+     *
+     * @param actor username given for the attempt
+     * @param action the audited action
+     * @param target the affected resource
+     * @param details description of the failure, may be null
+     */
+    public void recordNow(String actor, AuditAction action, String target, String details) {
+        if (enabled) {
+            enqueue(new AuditEvent(Instant.now(), action, actor, target, details));
+        }
+    }
+
+    /**
+     * Writes the queued events to the audit log
+     *
+     * The file is opened once per flush, so it can be rotated or removed externally
+     * between flushes.
+     *
+     * @return number of events written
+     */
+    @Scheduled(fixedDelayString = "${audit.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        if (queue.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        try (BufferedWriter writer = open()) {
+            while (queue.drainTo(batch, batchSize) > 0) {
+                for (AuditEvent event : batch) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+                writer.flush();
+                written += batch.size();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            logger.error("Failed to write {} audit events to {}", batch.size(), file, e);
+        }
+        return written;
+    }
+
+    /**
+     * Writes the events still queued on shutdown
+     */
+    @PreDestroy
+    void close() {
+        flush();
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private BufferedWriter open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,70 @@
+package com.educagestor.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Loads cache misses in the calling thread without holding a lock
+ *
+ * Cache.get(key, loader) runs the loader inside ConcurrentHashMap.compute, so a
+ * database load holds the monitor of the hash bin for the whole query. On a virtual
+ * thread that pins the carrier thread, and any other key of the same bin waits too.
+ * Here the first caller publishes an incomplete future in an AsyncCache, loads the
+ * value outside of any lock and completes the future, while concurrent callers for
+ * the same key park on that future, so a miss still costs a single load.
+ *
+ * A failed load is dropped from the cache by Caffeine and reported to every waiting
+ * caller. A key invalidated while it loads is removed together with its future, so
+ * the value loaded from the older state is returned to the waiting callers but not cached.
+ */
+public final class CacheLoading {
+
+    private CacheLoading() {}
+
+    /**
+     * Gets the cached value for a key, loading it in the calling thread on a miss
+     *
+     * @param cache the cache holding the values
+     * @param key the key to look up
+     * @param loader function loading the value
+     * @return the cached or freshly loaded value
+     */
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return join(cached);
+        }
+
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        cached = cache.asMap().putIfAbsent(key, loading);
+        if (cached != null) {
+            return join(cached);
+        }
+
+        try {
+            V value = loader.apply(key);
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
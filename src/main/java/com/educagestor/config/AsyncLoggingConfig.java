@@ -0,0 +1,81 @@
+package com.educagestor.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Asynchronous logging configuration
+ *
+ * When logging.async.enabled is set, the console and file appenders configured by
+ * Spring Boot are moved behind Logback async appenders, so request threads only
+ * enqueue log events and a background thread does the writing. The queue is bounded:
+ * once it is 80% full (or past the configured discarding threshold) DEBUG and INFO
+ * events are discarded, and with never-block set even warnings are dropped rather
+ * than stalling a request on a slow disk. Events still queued are flushed on shutdown.
+ */
+@Configuration
+@ConditionalOnProperty(name = "logging.async.enabled", havingValue = "true")
+public class AsyncLoggingConfig {
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(AsyncLoggingConfig.class);
+
+    @Value("${logging.async.queue-size:8192}")
+    private int queueSize;
+
+    @Value("${logging.async.discarding-threshold:-1}")
+    private int discardingThreshold;
+
+    @Value("${logging.async.never-block:true}")
+    private boolean neverBlock;
+
+    @Value("${logging.async.max-flush-time-ms:2000}")
+    private int maxFlushTimeMs;
+
+    /**
+     * Wraps every root appender in an async appender
+     */
+    @PostConstruct
+    void wrapRootAppenders() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        root.iteratorForAppenders().forEachRemaining(appenders::add);
+
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (appender instanceof AsyncAppender) {
+                continue;
+            }
+
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_" + appender.getName());
+            async.setQueueSize(queueSize);
+            async.setDiscardingThreshold(discardingThreshold);
+            async.setNeverBlock(neverBlock);
+            async.setIncludeCallerData(false);
+            async.setMaxFlushTime(maxFlushTimeMs);
+            async.addAppender(appender);
+            async.start();
+
+            root.addAppender(async);
+            root.detachAppender(appender);
+        }
+
+        logger.info("Asynchronous logging enabled for {} appender(s) - queue size {}, never block: {}",
+                appenders.size(), queueSize, neverBlock);
+    }
+}
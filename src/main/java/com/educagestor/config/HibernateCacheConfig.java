@@ -0,0 +1,100 @@
+package com.educagestor.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache configuration
+ *
+ * Reference data (courses, teachers and user roles) and the cacheable queries over it
+ * are kept in local Caffeine caches exposed to Hibernate through JCache. Entity regions
+ * are READ_WRITE, so updates made through the entity manager and JPQL bulk updates keep
+ * them consistent; the TTL bounds staleness from writes made outside this instance.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String COURSE_REGION = "course";
+
+    public static final String TEACHER_REGION = "teacher";
+
+    public static final String USER_ROLES_REGION = "user-roles";
+
+    @Value("${hibernate-cache.entity.max-size:10000}")
+    private long entityMaxSize;
+
+    @Value("${hibernate-cache.entity.ttl-seconds:600}")
+    private long entityTtlSeconds;
+
+    @Value("${hibernate-cache.query.max-size:1000}")
+    private long queryMaxSize;
+
+    @Value("${hibernate-cache.query.ttl-seconds:300}")
+    private long queryTtlSeconds;
+
+    /**
+     * Creates the JCache manager holding the second-level cache regions
+     *
+     * @return cache manager with every region created up front
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // One manager per application context, so contexts sharing a JVM never share regions
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, COURSE_REGION, entityMaxSize, entityTtlSeconds);
+        createRegion(cacheManager, TEACHER_REGION, entityMaxSize, entityTtlSeconds);
+        createRegion(cacheManager, USER_ROLES_REGION, entityMaxSize, entityTtlSeconds);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxSize, queryTtlSeconds);
+        // Update timestamps must outlive the query results they invalidate, one entry per table
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate
+     *
+     * @param hibernateCacheManager the second-level cache manager
+     * @return Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlSeconds) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,44 @@
+package com.educagestor.config;
+
+import com.educagestor.metrics.HotPathTimingAspect;
+import com.educagestor.metrics.RequestQueryMetricsRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hot-path latency instrumentation
+ *
+ * When metrics.hot-path.enabled is set, every service method and repository query is
+ * timed, and each request records how many JDBC statements it prepared and how many
+ * entities Hibernate loaded, tagged by route and status. The meters are published
+ * through the actuator metrics and prometheus endpoints. Nothing here is registered
+ * when the property is off, so a disabled build pays no cost on the request path.
+ */
+@Configuration
+@ConditionalOnProperty(name = "metrics.hot-path.enabled", havingValue = "true")
+public class HotPathMetricsConfig {
+
+    /**
+     * Times service methods and repository queries
+     *
+     * @param meterRegistry the application meter registry
+     * @return timing aspect
+     */
+    @Bean
+    public HotPathTimingAspect hotPathTimingAspect(MeterRegistry meterRegistry) {
+        return new HotPathTimingAspect(meterRegistry);
+    }
+
+    /**
+     * Records the per-request statement and entity load counts
+     *
+     * @param meterRegistry the application meter registry
+     * @return request counts listener
+     */
+    @Bean
+    public RequestQueryMetricsRecorder requestQueryMetricsRecorder(MeterRegistry meterRegistry) {
+        return new RequestQueryMetricsRecorder(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.educagestor.config;
+
+import com.educagestor.metrics.QueryBudgetGuard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-route JDBC statement budgets
+ *
+ * When query-budget.enabled is set, every controller request is checked against the
+ * QueryBudget of its route, so N+1 regressions in the DTO mapping show up as warnings
+ * in development and as failures in the integration tests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-budget.enabled", havingValue = "true")
+public class QueryBudgetConfig {
+
+    @Value("${query-budget.default-statements:10}")
+    private int defaultStatements;
+
+    @Value("${query-budget.action:LOG}")
+    private QueryBudgetGuard.Action action;
+
+    /**
+     * Checks completed requests against their statement budget
+     *
+     * @return request counts listener
+     */
+    @Bean
+    public QueryBudgetGuard queryBudgetGuard() {
+        return new QueryBudgetGuard(defaultStatements, action);
+    }
+}
@@ -0,0 +1,72 @@
+package com.educagestor.config;
+
+import com.educagestor.metrics.EntityLoadCountingInterceptor;
+import com.educagestor.metrics.RequestQueryCountingFilter;
+import com.educagestor.metrics.RequestQueryCountsListener;
+import com.educagestor.metrics.StatementCountingDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request JDBC statement and entity load counting
+ *
+ * Counting is shared by the hot-path metrics and the query budget guard, and is only
+ * wired when one of them is enabled. Each of them registers a listener that receives
+ * the counts when a request completes.
+ */
+@Configuration
+@ConditionalOnExpression("${metrics.hot-path.enabled:false} or ${query-budget.enabled:false}")
+public class RequestQueryCountingConfig {
+
+    /**
+     * Wraps the connection pool so statements prepared during a request are counted
+     *
+     * @return post processor decorating every DataSource bean
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Registers the entity load counter with Hibernate
+     *
+     * @return Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+    }
+
+    /**
+     * Counts the statements and entity loads of each request ahead of the security filters
+     *
+     * @param listeners consumers of the per-request counts
+     * @return filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RequestQueryCountingFilter> requestQueryCountingFilter(
+            ObjectProvider<RequestQueryCountsListener> listeners) {
+        FilterRegistrationBean<RequestQueryCountingFilter> registration =
+                new FilterRegistrationBean<>(new RequestQueryCountingFilter(listeners.orderedStream().toList()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
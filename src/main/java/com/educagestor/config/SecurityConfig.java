@@ -1,8 +1,12 @@
 package com.educagestor.config;
 
 import com.educagestor.security.AuthTokenFilter;
+import com.educagestor.security.OffloadedPasswordEncoder;
 import com.educagestor.security.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,15 +16,20 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Security configuration for the EducaGestor360 API
@@ -33,9 +42,33 @@ import java.util.Arrays;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    private static final String BCRYPT = "bcrypt";
+
+    private static final String ARGON2 = "argon2";
+
+    private static final String ARGON2_IMPLEMENTATION = "org.bouncycastle.crypto.generators.Argon2BytesGenerator";
+
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${password-hashing.algorithm:bcrypt}")
+    private String passwordAlgorithm;
+
+    @Value("${password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${password-hashing.queue-capacity:200}")
+    private int hashingQueueCapacity;
+
+    @Value("${password-hashing.timeout-ms:5000}")
+    private long hashingTimeoutMs;
+
     /**
      * Creates the JWT authentication filter
      *
@@ -49,11 +82,55 @@ public class SecurityConfig {
     /**
      * Creates the password encoder
      *
-     * @return BCryptPasswordEncoder instance
+     * Hashes are computed on a bounded pool, see OffloadedPasswordEncoder.
+     *
+     * @return OffloadedPasswordEncoder instance
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public OffloadedPasswordEncoder passwordEncoder() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new OffloadedPasswordEncoder(hashingPasswordEncoder(passwordAlgorithm, bcryptStrength),
+                threads, hashingQueueCapacity, hashingTimeoutMs, meterRegistry);
+    }
+
+    /**
+     * Creates the encoder computing the password hashes
+     *
+     * New hashes are prefixed with the algorithm ID ({bcrypt} or {argon2}), hashes
+     * stored without one are BCrypt. A stored hash using another algorithm, or BCrypt
+     * with a lower cost, reports that it needs an upgrade, and is rehashed on the
+     * next successful login. Unprefixed BCrypt hashes at the current cost are kept
+     * as they are, rather than all being rewritten just to add the prefix.
+     *
+     * @param algorithm algorithm of new hashes, bcrypt or argon2
+     * @param bcryptStrength BCrypt cost (log2 of the rounds)
+     * @return DelegatingPasswordEncoder instance
+     * @throws IllegalStateException if argon2 is selected without BouncyCastle on the classpath
+     */
+    public static PasswordEncoder hashingPasswordEncoder(String algorithm, int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        if (ClassUtils.isPresent(ARGON2_IMPLEMENTATION, null)) {
+            encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        } else if (ARGON2.equals(algorithm)) {
+            throw new IllegalStateException("argon2 password hashing needs org.bouncycastle:bcprov-jdk18on on the classpath");
+        }
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported password hashing algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders) {
+            @Override
+            public boolean upgradeEncoding(String prefixEncodedPassword) {
+                if (prefixEncodedPassword != null && !prefixEncodedPassword.startsWith("{") && BCRYPT.equals(algorithm)) {
+                    return bcrypt.upgradeEncoding(prefixEncodedPassword);
+                }
+                return super.upgradeEncoding(prefixEncodedPassword);
+            }
+        };
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     /**
@@ -66,6 +143,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -112,6 +190,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Async dispatches complete streamed responses already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
@@ -121,6 +202,7 @@ public class SecurityConfig {
                 .requestMatchers("/users/**").hasRole("ADMIN")
 
                 // Student endpoints
+                .requestMatchers("/students/*/transcript").hasAnyRole("ADMIN", "TEACHER", "STUDENT")
                 .requestMatchers("/students/**").hasAnyRole("ADMIN", "TEACHER")
                 .requestMatchers("/students/profile").hasRole("STUDENT")
 
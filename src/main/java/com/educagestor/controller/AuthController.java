@@ -4,6 +4,7 @@ import com.educagestor.dto.auth.JwtResponse;
 import com.educagestor.dto.auth.LoginRequest;
 import com.educagestor.dto.auth.RefreshTokenRequest;
 import com.educagestor.dto.auth.RegisterRequest;
+import com.educagestor.metrics.QueryBudget;
 import com.educagestor.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +16,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/auth")
+@QueryBudget(10)
 @Tag(name = "Authentication", description = "User authentication and registration endpoints")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class AuthController {
@@ -61,14 +64,19 @@ public class AuthController {
             responseCode = "401",
             description = "Authentication failed",
             content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many logins in progress, retry later",
+            content = @Content
         )
     })
     public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        logger.info("Login attempt for user: {}", loginRequest.getUsername());
+        logger.debug("Login attempt for user: {}", loginRequest.getUsername());
         
         JwtResponse jwtResponse = authService.authenticateUser(loginRequest);
         
-        logger.info("Login successful for user: {}", loginRequest.getUsername());
+        logger.debug("Login successful for user: {}", loginRequest.getUsername());
         return ResponseEntity.ok(jwtResponse);
     }
 
@@ -96,11 +104,11 @@ public class AuthController {
         )
     })
     public ResponseEntity<JwtResponse> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
-        logger.info("Registration attempt for user: {}", registerRequest.getUsername());
+        logger.debug("Registration attempt for user: {}", registerRequest.getUsername());
         
         JwtResponse jwtResponse = authService.registerUser(registerRequest);
         
-        logger.info("Registration successful for user: {}", registerRequest.getUsername());
+        logger.debug("Registration successful for user: {}", registerRequest.getUsername());
         return ResponseEntity.ok(jwtResponse);
     }
 
@@ -133,23 +141,26 @@ public class AuthController {
         )
     })
     public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
-        logger.info("Token refresh attempt");
+        logger.debug("Token refresh attempt");
         
         JwtResponse jwtResponse = authService.refreshToken(refreshTokenRequest);
         
-        logger.info("Token refresh successful");
+        logger.debug("Token refresh successful");
         return ResponseEntity.ok(jwtResponse);
     }
 
     /**
-     * Logs out user (client-side token invalidation)
+     * Logs out user by revoking the session of the presented tokens
      * 
+     * @param authorization Authorization header carrying the access token, optional
+     * @param refreshTokenRequest refresh token of the session, optional
      * @return success message
      */
     @PostMapping("/logout")
     @Operation(
         summary = "User Logout",
-        description = "Logs out the current user. Note: JWT tokens are stateless, so logout is handled client-side by discarding tokens."
+        description = "Revokes the session of the bearer access token or of the given refresh token. " +
+                      "The refresh tokens of the session can no longer be used and its access tokens are rejected until they expire."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -158,11 +169,15 @@ public class AuthController {
             content = @Content
         )
     })
-    public ResponseEntity<String> logoutUser() {
-        logger.info("User logout");
-        
-        // Since JWT is stateless, logout is handled on the client side
-        // by removing the token from storage
+    public ResponseEntity<String> logoutUser(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        logger.debug("User logout");
+
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(accessToken, refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null);
+
         return ResponseEntity.ok("User logged out successfully!");
     }
 }
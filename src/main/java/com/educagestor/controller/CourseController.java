@@ -1,7 +1,10 @@
 package com.educagestor.controller;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.course.CourseDto;
+import com.educagestor.dto.grade.GradeDistributionDto;
 import com.educagestor.entity.Course;
+import com.educagestor.metrics.QueryBudget;
 import com.educagestor.service.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,6 +35,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/courses")
+@QueryBudget(6)
 @Tag(name = "Course Management", description = "Course creation and management endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -72,7 +76,7 @@ public class CourseController {
         )
     })
     public ResponseEntity<CourseDto> createCourse(@Valid @RequestBody CourseDto courseDto) {
-        logger.info("Creating new course: {}", courseDto.getCourseCode());
+        logger.debug("Creating new course: {}", courseDto.getCourseCode());
         
         CourseDto createdCourse = courseService.createCourse(courseDto);
         
@@ -100,7 +104,7 @@ public class CourseController {
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "courseCode") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
         
-        logger.info("Getting all courses - page: {}, size: {}", page, size);
+        logger.debug("Getting all courses - page: {}, size: {}", page, size);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -111,6 +115,38 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
+    /**
+     * Gets courses after a pagination cursor
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sortBy sort field
+     * @param sortDir sort direction
+     * @return cursor page of courses
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER', 'STUDENT')")
+    @Operation(
+        summary = "Get All Courses by Cursor",
+        description = "Retrieves courses after an opaque cursor using keyset pagination, without a total count. " +
+                      "Pass an empty cursor for the first page and the returned nextCursor for the following ones"
+    )
+    public ResponseEntity<CursorPageDto<CourseDto>> getAllCoursesByCursor(
+            @Parameter(description = "Cursor of the previous page, empty for the first page") @RequestParam String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "courseCode") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.debug("Getting courses by cursor - size: {}", size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+
+        CursorPageDto<CourseDto> courses = courseService.getAllCourses(after, size, sort);
+
+        return ResponseEntity.ok(courses);
+    }
+
     /**
      * Gets course by ID
      * 
@@ -125,13 +161,56 @@ public class CourseController {
     )
     public ResponseEntity<CourseDto> getCourseById(
             @Parameter(description = "Course ID") @PathVariable Long courseId) {
-        logger.info("Getting course by ID: {}", courseId);
+        logger.debug("Getting course by ID: {}", courseId);
         
         CourseDto course = courseService.getCourseById(courseId);
         
         return ResponseEntity.ok(course);
     }
 
+    /**
+     * Gets the grade distribution of a course
+     * 
+     * @param courseId course ID
+     * @return letter grade counts and percentiles of the course grades
+     */
+    @GetMapping("/{courseId}/grade-distribution")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Get Course Grade Distribution",
+        description = "Retrieves letter grade counts and grade percentiles of a course"
+    )
+    public ResponseEntity<GradeDistributionDto> getCourseGradeDistribution(
+            @Parameter(description = "Course ID") @PathVariable Long courseId) {
+        logger.debug("Getting grade distribution for course: {}", courseId);
+        
+        GradeDistributionDto distribution = courseService.getCourseGradeDistribution(courseId);
+        
+        return ResponseEntity.ok(distribution);
+    }
+
+    /**
+     * Gets the grade distribution of the courses taught in a department
+     * 
+     * @param department department name
+     * @return letter grade counts and percentiles of the department's course grades
+     */
+    @GetMapping("/departments/{department}/grade-distribution")
+    @QueryBudget(QueryBudget.UNBOUNDED) // loads the histogram of each course not cached yet
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Get Department Grade Distribution",
+        description = "Retrieves letter grade counts and grade percentiles of every course taught in a department"
+    )
+    public ResponseEntity<GradeDistributionDto> getDepartmentGradeDistribution(
+            @Parameter(description = "Department name") @PathVariable String department) {
+        logger.debug("Getting grade distribution for department: {}", department);
+        
+        GradeDistributionDto distribution = courseService.getDepartmentGradeDistribution(department);
+        
+        return ResponseEntity.ok(distribution);
+    }
+
     /**
      * Updates course information
      * 
@@ -148,7 +227,7 @@ public class CourseController {
     public ResponseEntity<CourseDto> updateCourse(
             @Parameter(description = "Course ID") @PathVariable Long courseId,
             @Valid @RequestBody CourseDto courseDto) {
-        logger.info("Updating course with ID: {}", courseId);
+        logger.debug("Updating course with ID: {}", courseId);
         
         CourseDto updatedCourse = courseService.updateCourse(courseId, courseDto);
         
@@ -171,7 +250,7 @@ public class CourseController {
     public ResponseEntity<CourseDto> assignTeacherToCourse(
             @Parameter(description = "Course ID") @PathVariable Long courseId,
             @Parameter(description = "Teacher ID") @RequestParam Long teacherId) {
-        logger.info("Assigning teacher {} to course {}", teacherId, courseId);
+        logger.debug("Assigning teacher {} to course {}", teacherId, courseId);
         
         CourseDto updatedCourse = courseService.assignTeacherToCourse(courseId, teacherId);
         
@@ -197,7 +276,7 @@ public class CourseController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Getting courses for teacher: {}", teacherId);
+        logger.debug("Getting courses for teacher: {}", teacherId);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("courseCode"));
         Page<CourseDto> courses = courseService.getCoursesByTeacherId(teacherId, pageable);
@@ -224,7 +303,7 @@ public class CourseController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Getting courses by status: {}", status);
+        logger.debug("Getting courses by status: {}", status);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("courseCode"));
         Page<CourseDto> courses = courseService.getCoursesByStatus(status, pageable);
@@ -251,7 +330,7 @@ public class CourseController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Searching courses with term: {}", searchTerm);
+        logger.debug("Searching courses with term: {}", searchTerm);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("courseCode"));
         Page<CourseDto> courses = courseService.searchCourses(searchTerm, pageable);
@@ -276,7 +355,7 @@ public class CourseController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Getting courses with available spots");
+        logger.debug("Getting courses with available spots");
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("courseCode"));
         Page<CourseDto> courses = courseService.getCoursesWithAvailableSpots(pageable);
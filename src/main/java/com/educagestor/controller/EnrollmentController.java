@@ -1,7 +1,13 @@
 package com.educagestor.controller;
 
+import com.educagestor.dto.common.CursorPageDto;
+import com.educagestor.dto.enrollment.BulkEnrollmentRequest;
+import com.educagestor.dto.enrollment.BulkEnrollmentResultDto;
 import com.educagestor.dto.enrollment.EnrollmentDto;
 import com.educagestor.entity.Enrollment;
+import com.educagestor.export.ExportFormat;
+import com.educagestor.export.ExportService;
+import com.educagestor.metrics.QueryBudget;
 import com.educagestor.service.EnrollmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +17,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,10 +25,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST Controller for enrollment management operations
@@ -31,6 +41,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/enrollments")
+@QueryBudget(8)
 @Tag(name = "Enrollment Management", description = "Student course enrollment endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -41,6 +52,9 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService enrollmentService;
 
+    @Autowired
+    private ExportService exportService;
+
     /**
      * Enrolls a student in a course
      *
@@ -74,18 +88,66 @@ public class EnrollmentController {
             responseCode = "404",
             description = "Student or course not found",
             content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many concurrent enrollment requests for the course",
+            content = @Content
         )
     })
     public ResponseEntity<EnrollmentDto> enrollStudent(
             @Parameter(description = "Student ID") @RequestParam Long studentId,
             @Parameter(description = "Course ID") @RequestParam Long courseId) {
-        logger.info("Enrolling student {} in course {}", studentId, courseId);
+        logger.debug("Enrolling student {} in course {}", studentId, courseId);
 
         EnrollmentDto enrollment = enrollmentService.enrollStudent(studentId, courseId);
 
         return new ResponseEntity<>(enrollment, HttpStatus.CREATED);
     }
 
+    /**
+     * Enrolls a cohort of students in a course
+     *
+     * @param request course and students to enroll
+     * @return per-student enrollment results
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Bulk Enroll Students in Course",
+        description = "Enrolls a list of students, given by ID or student code, in a course (Admin/Teacher only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Bulk enrollment processed - see the per-student results for failures",
+            content = @Content(schema = @Schema(implementation = BulkEnrollmentResultDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty or too large request, or inactive course",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied - Admin or Teacher role required",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Course not found",
+            content = @Content
+        )
+    })
+    public ResponseEntity<BulkEnrollmentResultDto> enrollStudentsInBulk(
+            @Valid @RequestBody BulkEnrollmentRequest request) {
+        logger.debug("Bulk enrolling students in course {}", request.getCourseId());
+
+        BulkEnrollmentResultDto result = enrollmentService.enrollStudentsInBulk(request);
+
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Gets all enrollments with pagination
      *
@@ -107,7 +169,7 @@ public class EnrollmentController {
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "enrollmentDate") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
 
-        logger.info("Getting all enrollments - page: {}, size: {}", page, size);
+        logger.debug("Getting all enrollments - page: {}, size: {}", page, size);
 
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -118,6 +180,90 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollments);
     }
 
+    /**
+     * Gets enrollments after a pagination cursor
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sortBy sort field
+     * @param sortDir sort direction
+     * @return cursor page of enrollments
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Get All Enrollments by Cursor",
+        description = "Retrieves enrollments after an opaque cursor using keyset pagination, without a total count (Admin/Teacher only). " +
+                      "Pass an empty cursor for the first page and the returned nextCursor for the following ones"
+    )
+    public ResponseEntity<CursorPageDto<EnrollmentDto>> getAllEnrollmentsByCursor(
+            @Parameter(description = "Cursor of the previous page, empty for the first page") @RequestParam String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "enrollmentDate") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("Getting enrollments by cursor - size: {}", size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+
+        CursorPageDto<EnrollmentDto> enrollments = enrollmentService.getAllEnrollments(after, size, sort);
+
+        return ResponseEntity.ok(enrollments);
+    }
+
+    /**
+     * Exports enrollments as a streamed NDJSON or CSV download
+     *
+     * @param format export format (ndjson or csv)
+     * @param courseId optional course filter
+     * @param studentId optional student filter
+     * @param status optional enrollment status filter
+     * @return response body streaming the enrollments in ID order
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Export Enrollments",
+        description = "Streams all matching enrollments as NDJSON or CSV without pagination (Admin/Teacher only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Enrollments streamed",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "text/csv")
+            }
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unsupported export format or invalid status",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many exports running",
+            content = @Content
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @Parameter(description = "Export format (ndjson or csv)") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Course ID") @RequestParam(required = false) Long courseId,
+            @Parameter(description = "Student ID") @RequestParam(required = false) Long studentId,
+            @Parameter(description = "Enrollment status") @RequestParam(required = false) String status) {
+
+        logger.debug("Exporting enrollments as {}", format);
+
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        StreamingResponseBody body = exportService.exportEnrollments(exportFormat, courseId, studentId, status);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"enrollments." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Gets enrollment by ID
      *
@@ -132,7 +278,7 @@ public class EnrollmentController {
     )
     public ResponseEntity<EnrollmentDto> getEnrollmentById(
             @Parameter(description = "Enrollment ID") @PathVariable Long enrollmentId) {
-        logger.info("Getting enrollment by ID: {}", enrollmentId);
+        logger.debug("Getting enrollment by ID: {}", enrollmentId);
 
         EnrollmentDto enrollment = enrollmentService.getEnrollmentById(enrollmentId);
 
@@ -148,7 +294,7 @@ public class EnrollmentController {
      * @return page of student enrollments
      */
     @GetMapping("/student/{studentId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @userService.getCurrentUserProfile().id == @studentRepository.findById(#studentId).orElse(new com.educagestor.entity.Student()).user.id)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @studentAccess.isSelf(authentication, #studentId))")
     @Operation(
         summary = "Get Student Enrollments",
         description = "Retrieves enrollments for a specific student"
@@ -158,7 +304,7 @@ public class EnrollmentController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
-        logger.info("Getting enrollments for student: {}", studentId);
+        logger.debug("Getting enrollments for student: {}", studentId);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("enrollmentDate").descending());
         Page<EnrollmentDto> enrollments = enrollmentService.getEnrollmentsByStudentId(studentId, pageable);
@@ -185,7 +331,7 @@ public class EnrollmentController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
-        logger.info("Getting enrollments for course: {}", courseId);
+        logger.debug("Getting enrollments for course: {}", courseId);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("enrollmentDate").descending());
         Page<EnrollmentDto> enrollments = enrollmentService.getEnrollmentsByCourseId(courseId, pageable);
@@ -225,11 +371,16 @@ public class EnrollmentController {
             responseCode = "404",
             description = "Enrollment not found",
             content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Enrollment is being modified concurrently",
+            content = @Content
         )
     })
     public ResponseEntity<String> cancelEnrollment(
             @Parameter(description = "Enrollment ID") @PathVariable Long enrollmentId) {
-        logger.info("Cancelling enrollment: {}", enrollmentId);
+        logger.debug("Cancelling enrollment: {}", enrollmentId);
 
         enrollmentService.cancelEnrollment(enrollmentId);
 
@@ -252,7 +403,7 @@ public class EnrollmentController {
     public ResponseEntity<EnrollmentDto> completeEnrollment(
             @Parameter(description = "Enrollment ID") @PathVariable Long enrollmentId,
             @Parameter(description = "Final grade (0-100)") @RequestParam Double finalGrade) {
-        logger.info("Completing enrollment {} with grade {}", enrollmentId, finalGrade);
+        logger.debug("Completing enrollment {} with grade {}", enrollmentId, finalGrade);
 
         EnrollmentDto completedEnrollment = enrollmentService.completeEnrollment(enrollmentId, finalGrade);
 
@@ -278,7 +429,7 @@ public class EnrollmentController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
-        logger.info("Getting enrollments by status: {}", status);
+        logger.debug("Getting enrollments by status: {}", status);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("enrollmentDate").descending());
         Page<EnrollmentDto> enrollments = enrollmentService.getEnrollmentsByStatus(status, pageable);
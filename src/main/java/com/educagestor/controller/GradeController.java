@@ -1,6 +1,13 @@
 package com.educagestor.controller;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.grade.GradeDto;
+import com.educagestor.dto.grade.GradeImportResultDto;
+import com.educagestor.dto.grade.GradeStatisticsDto;
+import com.educagestor.export.ExportFormat;
+import com.educagestor.export.ExportService;
+import com.educagestor.metrics.QueryBudget;
+import com.educagestor.service.GradeImportService;
 import com.educagestor.service.GradeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,10 +25,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 /**
  * REST Controller for grade management operations
@@ -31,6 +43,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/grades")
+@QueryBudget(8)
 @Tag(name = "Grade Management", description = "Grade recording and management endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -41,6 +54,12 @@ public class GradeController {
     @Autowired
     private GradeService gradeService;
 
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    @Autowired
+    private ExportService exportService;
+
     /**
      * Records a new grade
      *
@@ -76,13 +95,89 @@ public class GradeController {
         )
     })
     public ResponseEntity<GradeDto> recordGrade(@Valid @RequestBody GradeDto gradeDto) {
-        logger.info("Recording grade for student {} in course {}", gradeDto.getStudentId(), gradeDto.getCourseId());
+        logger.debug("Recording grade for student {} in course {}", gradeDto.getStudentId(), gradeDto.getCourseId());
 
         GradeDto createdGrade = gradeService.recordGrade(gradeDto);
 
         return new ResponseEntity<>(createdGrade, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports a batch of grades from a JSON array
+     *
+     * @param body request body streaming a JSON array of grade rows
+     * @return per-row import report
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @QueryBudget(QueryBudget.UNBOUNDED) // one aggregate upsert per student and course imported
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Import Grades (JSON)",
+        description = "Imports a JSON array of grades, referencing students and courses by ID or code (Admin/Teacher only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import processed - see the per-row report for failures",
+            content = @Content(schema = @Schema(implementation = GradeImportResultDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Malformed body or too many rows",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied - Admin or Teacher role required",
+            content = @Content
+        )
+    })
+    public ResponseEntity<GradeImportResultDto> importGradesJson(InputStream body) {
+        logger.debug("Importing grade batch from JSON");
+
+        GradeImportResultDto result = gradeImportService.importJson(body);
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Imports a batch of grades from CSV
+     *
+     * @param body request body streaming CSV with a header row
+     * @return per-row import report
+     */
+    @PostMapping(value = "/batch", consumes = "text/csv")
+    @QueryBudget(QueryBudget.UNBOUNDED) // one aggregate upsert per student and course imported
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Import Grades (CSV)",
+        description = "Imports grades from CSV whose header names the grade fields (Admin/Teacher only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import processed - see the per-row report for failures",
+            content = @Content(schema = @Schema(implementation = GradeImportResultDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty body or too many rows",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied - Admin or Teacher role required",
+            content = @Content
+        )
+    })
+    public ResponseEntity<GradeImportResultDto> importGradesCsv(InputStream body) {
+        logger.debug("Importing grade batch from CSV");
+
+        GradeImportResultDto result = gradeImportService.importCsv(body);
+
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Gets all grades with pagination
      *
@@ -104,7 +199,7 @@ public class GradeController {
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "gradeDate") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
 
-        logger.info("Getting all grades - page: {}, size: {}", page, size);
+        logger.debug("Getting all grades - page: {}, size: {}", page, size);
 
         Sort sort = sortDir.equalsIgnoreCase("desc") ?
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -115,6 +210,88 @@ public class GradeController {
         return ResponseEntity.ok(grades);
     }
 
+    /**
+     * Gets grades after a pagination cursor
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sortBy sort field
+     * @param sortDir sort direction
+     * @return cursor page of grades
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Get All Grades by Cursor",
+        description = "Retrieves grades after an opaque cursor using keyset pagination, without a total count (Admin/Teacher only). " +
+                      "Pass an empty cursor for the first page and the returned nextCursor for the following ones"
+    )
+    public ResponseEntity<CursorPageDto<GradeDto>> getAllGradesByCursor(
+            @Parameter(description = "Cursor of the previous page, empty for the first page") @RequestParam String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "gradeDate") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("Getting grades by cursor - size: {}", size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+
+        CursorPageDto<GradeDto> grades = gradeService.getAllGrades(after, size, sort);
+
+        return ResponseEntity.ok(grades);
+    }
+
+    /**
+     * Exports grades as a streamed NDJSON or CSV download
+     *
+     * @param format export format (ndjson or csv)
+     * @param courseId optional course filter
+     * @param studentId optional student filter
+     * @return response body streaming the grades in ID order
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Export Grades",
+        description = "Streams all matching grades as NDJSON or CSV without pagination (Admin/Teacher only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Grades streamed",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "text/csv")
+            }
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unsupported export format",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many exports running",
+            content = @Content
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> exportGrades(
+            @Parameter(description = "Export format (ndjson or csv)") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Course ID") @RequestParam(required = false) Long courseId,
+            @Parameter(description = "Student ID") @RequestParam(required = false) Long studentId) {
+
+        logger.debug("Exporting grades as {}", format);
+
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        StreamingResponseBody body = exportService.exportGrades(exportFormat, courseId, studentId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"grades." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Gets grade by ID
      *
@@ -129,7 +306,7 @@ public class GradeController {
     )
     public ResponseEntity<GradeDto> getGradeById(
             @Parameter(description = "Grade ID") @PathVariable Long gradeId) {
-        logger.info("Getting grade by ID: {}", gradeId);
+        logger.debug("Getting grade by ID: {}", gradeId);
 
         GradeDto grade = gradeService.getGradeById(gradeId);
 
@@ -145,7 +322,7 @@ public class GradeController {
      * @return page of student grades
      */
     @GetMapping("/student/{studentId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @userService.getCurrentUserProfile().id == @studentRepository.findById(#studentId).orElse(new com.educagestor.entity.Student()).user.id)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @studentAccess.isSelf(authentication, #studentId))")
     @Operation(
         summary = "Get Student Grades",
         description = "Retrieves grades for a specific student"
@@ -155,7 +332,7 @@ public class GradeController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
-        logger.info("Getting grades for student: {}", studentId);
+        logger.debug("Getting grades for student: {}", studentId);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("gradeDate").descending());
         Page<GradeDto> grades = gradeService.getGradesByStudentId(studentId, pageable);
@@ -182,7 +359,7 @@ public class GradeController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
-        logger.info("Getting grades for course: {}", courseId);
+        logger.debug("Getting grades for course: {}", courseId);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("gradeDate").descending());
         Page<GradeDto> grades = gradeService.getGradesByCourseId(courseId, pageable);
@@ -200,7 +377,7 @@ public class GradeController {
      * @return page of grades for student in course
      */
     @GetMapping("/student/{studentId}/course/{courseId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @userService.getCurrentUserProfile().id == @studentRepository.findById(#studentId).orElse(new com.educagestor.entity.Student()).user.id)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @studentAccess.isSelf(authentication, #studentId))")
     @Operation(
         summary = "Get Student Grades in Course",
         description = "Retrieves grades for a specific student in a specific course"
@@ -211,7 +388,7 @@ public class GradeController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
-        logger.info("Getting grades for student {} in course {}", studentId, courseId);
+        logger.debug("Getting grades for student {} in course {}", studentId, courseId);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("gradeDate").descending());
         Page<GradeDto> grades = gradeService.getGradesByStudentAndCourse(studentId, courseId, pageable);
@@ -235,7 +412,7 @@ public class GradeController {
     public ResponseEntity<GradeDto> updateGrade(
             @Parameter(description = "Grade ID") @PathVariable Long gradeId,
             @Valid @RequestBody GradeDto gradeDto) {
-        logger.info("Updating grade: {}", gradeId);
+        logger.debug("Updating grade: {}", gradeId);
 
         GradeDto updatedGrade = gradeService.updateGrade(gradeId, gradeDto);
 
@@ -256,7 +433,7 @@ public class GradeController {
     )
     public ResponseEntity<String> deleteGrade(
             @Parameter(description = "Grade ID") @PathVariable Long gradeId) {
-        logger.info("Deleting grade: {}", gradeId);
+        logger.debug("Deleting grade: {}", gradeId);
 
         gradeService.deleteGrade(gradeId);
 
@@ -271,7 +448,7 @@ public class GradeController {
      * @return average grade
      */
     @GetMapping("/student/{studentId}/course/{courseId}/average")
-    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @userService.getCurrentUserProfile().id == @studentRepository.findById(#studentId).orElse(new com.educagestor.entity.Student()).user.id)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @studentAccess.isSelf(authentication, #studentId))")
     @Operation(
         summary = "Calculate Average Grade",
         description = "Calculates average grade for a student in a course"
@@ -280,7 +457,7 @@ public class GradeController {
             @Parameter(description = "Student ID") @PathVariable Long studentId,
             @Parameter(description = "Course ID") @PathVariable Long courseId) {
 
-        logger.info("Calculating average grade for student {} in course {}", studentId, courseId);
+        logger.debug("Calculating average grade for student {} in course {}", studentId, courseId);
 
         Double averageGrade = gradeService.calculateAverageGrade(studentId, courseId);
 
@@ -295,7 +472,7 @@ public class GradeController {
      * @return weighted average grade
      */
     @GetMapping("/student/{studentId}/course/{courseId}/weighted-average")
-    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @userService.getCurrentUserProfile().id == @studentRepository.findById(#studentId).orElse(new com.educagestor.entity.Student()).user.id)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @studentAccess.isSelf(authentication, #studentId))")
     @Operation(
         summary = "Calculate Weighted Average Grade",
         description = "Calculates weighted average grade for a student in a course"
@@ -304,10 +481,53 @@ public class GradeController {
             @Parameter(description = "Student ID") @PathVariable Long studentId,
             @Parameter(description = "Course ID") @PathVariable Long courseId) {
 
-        logger.info("Calculating weighted average grade for student {} in course {}", studentId, courseId);
+        logger.debug("Calculating weighted average grade for student {} in course {}", studentId, courseId);
 
         Double weightedAverageGrade = gradeService.calculateWeightedAverageGrade(studentId, courseId);
 
         return ResponseEntity.ok(weightedAverageGrade);
     }
+
+    /**
+     * Gets grade statistics for a student in a course
+     *
+     * @param studentId student ID
+     * @param courseId course ID
+     * @return grade count, averages, highest and lowest grade
+     */
+    @GetMapping("/student/{studentId}/course/{courseId}/statistics")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @studentAccess.isSelf(authentication, #studentId))")
+    @Operation(
+        summary = "Get Grade Statistics",
+        description = "Gets grade count, average, weighted average, highest and lowest grade for a student in a course"
+    )
+    public ResponseEntity<GradeStatisticsDto> getGradeStatistics(
+            @Parameter(description = "Student ID") @PathVariable Long studentId,
+            @Parameter(description = "Course ID") @PathVariable Long courseId) {
+
+        logger.debug("Fetching grade statistics for student {} in course {}", studentId, courseId);
+
+        GradeStatisticsDto statistics = gradeService.getGradeStatistics(studentId, courseId);
+
+        return ResponseEntity.ok(statistics);
+    }
+
+    /**
+     * Rebuilds the precomputed grade aggregates
+     *
+     * @return success message with the number of aggregates
+     */
+    @PostMapping("/aggregates/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Rebuild Grade Aggregates",
+        description = "Recomputes the per student and course grade aggregates from all grades (Admin only)"
+    )
+    public ResponseEntity<String> rebuildGradeAggregates() {
+        logger.debug("Rebuilding grade aggregates");
+
+        int aggregates = gradeService.rebuildGradeAggregates();
+
+        return ResponseEntity.ok("Grade aggregates rebuilt successfully: " + aggregates);
+    }
 }
@@ -1,8 +1,12 @@
 package com.educagestor.controller;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.student.StudentDto;
+import com.educagestor.dto.student.TranscriptDto;
 import com.educagestor.entity.Student;
+import com.educagestor.metrics.QueryBudget;
 import com.educagestor.service.StudentService;
+import com.educagestor.service.TranscriptService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +36,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/students")
+@QueryBudget(8)
 @Tag(name = "Student Management", description = "Student registration and management endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -42,6 +47,9 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private TranscriptService transcriptService;
+
     /**
      * Registers a new student
      * 
@@ -49,6 +57,7 @@ public class StudentController {
      * @return created student information
      */
     @PostMapping
+    @QueryBudget(12)
     @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
     @Operation(
         summary = "Register Student",
@@ -72,7 +81,7 @@ public class StudentController {
         )
     })
     public ResponseEntity<StudentDto> registerStudent(@Valid @RequestBody StudentDto studentDto) {
-        logger.info("Registering new student: {}", studentDto.getStudentId());
+        logger.debug("Registering new student: {}", studentDto.getStudentId());
         
         StudentDto createdStudent = studentService.registerStudent(studentDto);
         
@@ -112,7 +121,7 @@ public class StudentController {
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "studentId") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
         
-        logger.info("Getting all students - page: {}, size: {}", page, size);
+        logger.debug("Getting all students - page: {}, size: {}", page, size);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -123,6 +132,38 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
 
+    /**
+     * Gets students after a pagination cursor
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sortBy sort field
+     * @param sortDir sort direction
+     * @return cursor page of students
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Get All Students by Cursor",
+        description = "Retrieves students after an opaque cursor using keyset pagination, without a total count (Admin/Teacher only). " +
+                      "Pass an empty cursor for the first page and the returned nextCursor for the following ones"
+    )
+    public ResponseEntity<CursorPageDto<StudentDto>> getAllStudentsByCursor(
+            @Parameter(description = "Cursor of the previous page, empty for the first page") @RequestParam String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "studentId") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.debug("Getting students by cursor - size: {}", size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+
+        CursorPageDto<StudentDto> students = studentService.getAllStudents(after, size, sort);
+
+        return ResponseEntity.ok(students);
+    }
+
     /**
      * Gets student by ID
      * 
@@ -154,13 +195,51 @@ public class StudentController {
     })
     public ResponseEntity<StudentDto> getStudentById(
             @Parameter(description = "Student ID") @PathVariable Long studentId) {
-        logger.info("Getting student by ID: {}", studentId);
+        logger.debug("Getting student by ID: {}", studentId);
         
         StudentDto student = studentService.getStudentById(studentId);
         
         return ResponseEntity.ok(student);
     }
 
+    /**
+     * Gets the transcript of a student
+     * 
+     * @param studentId student ID
+     * @return completed courses, letter grades, credits and GPA of the student
+     */
+    @GetMapping("/{studentId}/transcript")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER') or (hasRole('STUDENT') and @studentAccess.isSelf(authentication, #studentId))")
+    @Operation(
+        summary = "Get Student Transcript",
+        description = "Retrieves the completed courses, letter grades, credits and GPA of a student"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Transcript retrieved successfully",
+            content = @Content(schema = @Schema(implementation = TranscriptDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Access denied - Students can only view their own transcript",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Student not found",
+            content = @Content
+        )
+    })
+    public ResponseEntity<TranscriptDto> getStudentTranscript(
+            @Parameter(description = "Student ID") @PathVariable Long studentId) {
+        logger.debug("Getting transcript for student: {}", studentId);
+        
+        TranscriptDto transcript = transcriptService.getTranscript(studentId);
+        
+        return ResponseEntity.ok(transcript);
+    }
+
     /**
      * Gets student by student ID
      * 
@@ -175,7 +254,7 @@ public class StudentController {
     )
     public ResponseEntity<StudentDto> getStudentByStudentId(
             @Parameter(description = "Student ID") @PathVariable String studentId) {
-        logger.info("Getting student by student ID: {}", studentId);
+        logger.debug("Getting student by student ID: {}", studentId);
         
         StudentDto student = studentService.getStudentByStudentId(studentId);
         
@@ -220,7 +299,7 @@ public class StudentController {
     public ResponseEntity<StudentDto> updateStudent(
             @Parameter(description = "Student ID") @PathVariable Long studentId,
             @Valid @RequestBody StudentDto studentDto) {
-        logger.info("Updating student with ID: {}", studentId);
+        logger.debug("Updating student with ID: {}", studentId);
         
         StudentDto updatedStudent = studentService.updateStudent(studentId, studentDto);
         
@@ -258,7 +337,7 @@ public class StudentController {
     })
     public ResponseEntity<String> deleteStudent(
             @Parameter(description = "Student ID") @PathVariable Long studentId) {
-        logger.info("Deleting student with ID: {}", studentId);
+        logger.debug("Deleting student with ID: {}", studentId);
         
         studentService.deleteStudent(studentId);
         
@@ -284,7 +363,7 @@ public class StudentController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Searching students with term: {}", searchTerm);
+        logger.debug("Searching students with term: {}", searchTerm);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("studentId"));
         Page<StudentDto> students = studentService.searchStudents(searchTerm, pageable);
@@ -311,7 +390,7 @@ public class StudentController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Getting students by academic status: {}", academicStatus);
+        logger.debug("Getting students by academic status: {}", academicStatus);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("studentId"));
         Page<StudentDto> students = studentService.getStudentsByAcademicStatus(academicStatus, pageable);
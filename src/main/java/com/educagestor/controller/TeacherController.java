@@ -1,6 +1,8 @@
 package com.educagestor.controller;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.teacher.TeacherDto;
+import com.educagestor.metrics.QueryBudget;
 import com.educagestor.service.TeacherService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/teachers")
+@QueryBudget(8)
 @Tag(name = "Teacher Management", description = "Teacher registration and management endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -48,6 +51,7 @@ public class TeacherController {
      * @return created teacher information
      */
     @PostMapping
+    @QueryBudget(12)
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "Register Teacher",
@@ -71,7 +75,7 @@ public class TeacherController {
         )
     })
     public ResponseEntity<TeacherDto> registerTeacher(@Valid @RequestBody TeacherDto teacherDto) {
-        logger.info("Registering new teacher: {}", teacherDto.getEmployeeId());
+        logger.debug("Registering new teacher: {}", teacherDto.getEmployeeId());
         
         TeacherDto createdTeacher = teacherService.registerTeacher(teacherDto);
         
@@ -99,7 +103,7 @@ public class TeacherController {
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "employeeId") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
         
-        logger.info("Getting all teachers - page: {}, size: {}", page, size);
+        logger.debug("Getting all teachers - page: {}, size: {}", page, size);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -110,6 +114,38 @@ public class TeacherController {
         return ResponseEntity.ok(teachers);
     }
 
+    /**
+     * Gets teachers after a pagination cursor
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sortBy sort field
+     * @param sortDir sort direction
+     * @return cursor page of teachers
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(
+        summary = "Get All Teachers by Cursor",
+        description = "Retrieves teachers after an opaque cursor using keyset pagination, without a total count (Admin/Teacher only). " +
+                      "Pass an empty cursor for the first page and the returned nextCursor for the following ones"
+    )
+    public ResponseEntity<CursorPageDto<TeacherDto>> getAllTeachersByCursor(
+            @Parameter(description = "Cursor of the previous page, empty for the first page") @RequestParam String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "employeeId") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.debug("Getting teachers by cursor - size: {}", size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+
+        CursorPageDto<TeacherDto> teachers = teacherService.getAllTeachers(after, size, sort);
+
+        return ResponseEntity.ok(teachers);
+    }
+
     /**
      * Gets teacher by ID
      * 
@@ -124,7 +160,7 @@ public class TeacherController {
     )
     public ResponseEntity<TeacherDto> getTeacherById(
             @Parameter(description = "Teacher ID") @PathVariable Long teacherId) {
-        logger.info("Getting teacher by ID: {}", teacherId);
+        logger.debug("Getting teacher by ID: {}", teacherId);
         
         TeacherDto teacher = teacherService.getTeacherById(teacherId);
         
@@ -145,7 +181,7 @@ public class TeacherController {
     )
     public ResponseEntity<TeacherDto> getTeacherByEmployeeId(
             @Parameter(description = "Employee ID") @PathVariable String employeeId) {
-        logger.info("Getting teacher by employee ID: {}", employeeId);
+        logger.debug("Getting teacher by employee ID: {}", employeeId);
         
         TeacherDto teacher = teacherService.getTeacherByEmployeeId(employeeId);
         
@@ -168,7 +204,7 @@ public class TeacherController {
     public ResponseEntity<TeacherDto> updateTeacher(
             @Parameter(description = "Teacher ID") @PathVariable Long teacherId,
             @Valid @RequestBody TeacherDto teacherDto) {
-        logger.info("Updating teacher with ID: {}", teacherId);
+        logger.debug("Updating teacher with ID: {}", teacherId);
         
         TeacherDto updatedTeacher = teacherService.updateTeacher(teacherId, teacherDto);
         
@@ -194,7 +230,7 @@ public class TeacherController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Getting teachers by department: {}", department);
+        logger.debug("Getting teachers by department: {}", department);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("employeeId"));
         Page<TeacherDto> teachers = teacherService.getTeachersByDepartment(department, pageable);
@@ -221,7 +257,7 @@ public class TeacherController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Searching teachers with term: {}", searchTerm);
+        logger.debug("Searching teachers with term: {}", searchTerm);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("employeeId"));
         Page<TeacherDto> teachers = teacherService.searchTeachers(searchTerm, pageable);
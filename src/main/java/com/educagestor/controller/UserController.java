@@ -1,8 +1,10 @@
 package com.educagestor.controller;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.user.UpdateUserProfileRequest;
 import com.educagestor.dto.user.UserProfileDto;
 import com.educagestor.entity.Role;
+import com.educagestor.metrics.QueryBudget;
 import com.educagestor.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/users")
+@QueryBudget(6)
 @Tag(name = "User Management", description = "User profile and management endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -70,7 +73,7 @@ public class UserController {
         )
     })
     public ResponseEntity<UserProfileDto> getCurrentUserProfile() {
-        logger.info("Getting current user profile");
+        logger.debug("Getting current user profile");
         
         UserProfileDto userProfile = userService.getCurrentUserProfile();
         
@@ -107,7 +110,7 @@ public class UserController {
     })
     public ResponseEntity<UserProfileDto> updateCurrentUserProfile(
             @Valid @RequestBody UpdateUserProfileRequest updateRequest) {
-        logger.info("Updating current user profile");
+        logger.debug("Updating current user profile");
         
         UserProfileDto updatedProfile = userService.updateCurrentUserProfile(updateRequest);
         
@@ -145,7 +148,7 @@ public class UserController {
     })
     public ResponseEntity<UserProfileDto> getUserById(
             @Parameter(description = "User ID") @PathVariable Long userId) {
-        logger.info("Getting user by ID: {}", userId);
+        logger.debug("Getting user by ID: {}", userId);
         
         UserProfileDto userProfile = userService.getUserById(userId);
         
@@ -183,7 +186,7 @@ public class UserController {
     })
     public ResponseEntity<UserProfileDto> getUserByUsername(
             @Parameter(description = "Username") @PathVariable String username) {
-        logger.info("Getting user by username: {}", username);
+        logger.debug("Getting user by username: {}", username);
         
         UserProfileDto userProfile = userService.getUserByUsername(username);
         
@@ -211,7 +214,7 @@ public class UserController {
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "username") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
         
-        logger.info("Getting all users - page: {}, size: {}", page, size);
+        logger.debug("Getting all users - page: {}, size: {}", page, size);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -222,6 +225,38 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Gets users after a pagination cursor (admin only)
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sortBy sort field
+     * @param sortDir sort direction
+     * @return cursor page of users
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Get All Users by Cursor",
+        description = "Retrieves users after an opaque cursor using keyset pagination, without a total count (Admin only). " +
+                      "Pass an empty cursor for the first page and the returned nextCursor for the following ones"
+    )
+    public ResponseEntity<CursorPageDto<UserProfileDto>> getAllUsersByCursor(
+            @Parameter(description = "Cursor of the previous page, empty for the first page") @RequestParam String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "username") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.debug("Getting users by cursor - size: {}", size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+
+        CursorPageDto<UserProfileDto> users = userService.getAllUsers(after, size, sort);
+
+        return ResponseEntity.ok(users);
+    }
+
     /**
      * Gets users by role with pagination (admin only)
      * 
@@ -241,7 +276,7 @@ public class UserController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        logger.info("Getting users by role: {}", role);
+        logger.debug("Getting users by role: {}", role);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("username"));
         Page<UserProfileDto> users = userService.getUsersByRole(role, pageable);
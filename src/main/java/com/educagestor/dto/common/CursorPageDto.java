@@ -0,0 +1,40 @@
+package com.educagestor.dto.common;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a cursor paginated listing
+ * 
+ * This DTO carries the page content and the opaque cursor of the next page.
+ * Unlike a Spring Page it has no total count, so no count query is run.
+ */
+public class CursorPageDto<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Constructors
+    public CursorPageDto() {}
+
+    public CursorPageDto(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
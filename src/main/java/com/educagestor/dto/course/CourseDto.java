@@ -55,6 +55,9 @@ public class CourseDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Version the client last read, updates are rejected if the course changed since
+    private Long version;
+
     // Constructors
     public CourseDto() {}
 
@@ -129,6 +132,9 @@ public class CourseDto {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Utility methods
     public boolean hasAvailableSpots() {
         return currentEnrollmentCount != null && maxStudents != null && currentEnrollmentCount < maxStudents;
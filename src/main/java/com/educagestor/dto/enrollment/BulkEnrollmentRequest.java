@@ -0,0 +1,40 @@
+package com.educagestor.dto.enrollment;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for enrolling a cohort of students into a course
+ * 
+ * Students may be given by database ID, by student code, or both.
+ */
+public class BulkEnrollmentRequest {
+
+    @NotNull(message = "Course ID is required")
+    private Long courseId;
+
+    private List<Long> studentIds = new ArrayList<>();
+
+    private List<String> studentCodes = new ArrayList<>();
+
+    // Constructors
+    public BulkEnrollmentRequest() {}
+
+    public BulkEnrollmentRequest(Long courseId, List<Long> studentIds, List<String> studentCodes) {
+        this.courseId = courseId;
+        this.studentIds = studentIds;
+        this.studentCodes = studentCodes;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public List<Long> getStudentIds() { return studentIds; }
+    public void setStudentIds(List<Long> studentIds) { this.studentIds = studentIds; }
+
+    public List<String> getStudentCodes() { return studentCodes; }
+    public void setStudentCodes(List<String> studentCodes) { this.studentCodes = studentCodes; }
+}
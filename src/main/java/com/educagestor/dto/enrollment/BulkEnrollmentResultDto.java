@@ -0,0 +1,79 @@
+package com.educagestor.dto.enrollment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk enrollment
+ * 
+ * This DTO reports the totals of a cohort enrollment and the result for
+ * every requested student, in request order.
+ */
+public class BulkEnrollmentResultDto {
+
+    private Long courseId;
+    private int requested;
+    private int enrolled;
+    private int failed;
+    private List<StudentResult> results = new ArrayList<>();
+
+    // Constructors
+    public BulkEnrollmentResultDto() {}
+
+    public BulkEnrollmentResultDto(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+
+    public int getEnrolled() { return enrolled; }
+    public void setEnrolled(int enrolled) { this.enrolled = enrolled; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<StudentResult> getResults() { return results; }
+    public void setResults(List<StudentResult> results) { this.results = results; }
+
+    /**
+     * Result for a single requested student
+     */
+    public static class StudentResult {
+        private Long studentId;
+        private String studentCode;
+        private ResultStatus status;
+        private String message;
+
+        public StudentResult() {}
+
+        public StudentResult(Long studentId, String studentCode) {
+            this.studentId = studentId;
+            this.studentCode = studentCode;
+        }
+
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+        public String getStudentCode() { return studentCode; }
+        public void setStudentCode(String studentCode) { this.studentCode = studentCode; }
+
+        public ResultStatus getStatus() { return status; }
+        public void setStatus(ResultStatus status) { this.status = status; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    /**
+     * Result status enumeration
+     */
+    public enum ResultStatus {
+        ENROLLED,
+        FAILED
+    }
+}
@@ -0,0 +1,41 @@
+package com.educagestor.dto.grade;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the grade distribution of a course or department
+ *
+ * This DTO exposes the number of non-dropped grades per letter grade together with
+ * percentile estimates of the grade values.
+ */
+public class GradeDistributionDto {
+
+    private Long courseId;
+    private String department;
+    private int courseCount;
+    private long totalGrades;
+    private Map<String, Long> letterGrades;
+    private Map<String, Double> percentiles;
+
+    // Constructors
+    public GradeDistributionDto() {}
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public int getCourseCount() { return courseCount; }
+    public void setCourseCount(int courseCount) { this.courseCount = courseCount; }
+
+    public long getTotalGrades() { return totalGrades; }
+    public void setTotalGrades(long totalGrades) { this.totalGrades = totalGrades; }
+
+    public Map<String, Long> getLetterGrades() { return letterGrades; }
+    public void setLetterGrades(Map<String, Long> letterGrades) { this.letterGrades = letterGrades; }
+
+    public Map<String, Double> getPercentiles() { return percentiles; }
+    public void setPercentiles(Map<String, Double> percentiles) { this.percentiles = percentiles; }
+}
@@ -55,6 +55,9 @@ public class GradeDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Version the client last read, updates are rejected if the grade changed since
+    private Long version;
+
     // Constructors
     public GradeDto() {}
 
@@ -138,6 +141,9 @@ public class GradeDto {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Utility methods
     public Double getPercentage() {
         if (maxPoints == null || maxPoints == 0) return 0.0;
@@ -0,0 +1,81 @@
+package com.educagestor.dto.grade;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk grade import
+ * 
+ * This DTO reports the totals of an import and the result of every row,
+ * so clients can fix and resubmit only the rows that failed.
+ */
+public class GradeImportResultDto {
+
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+    private List<RowResult> rows = new ArrayList<>();
+
+    // Constructors
+    public GradeImportResultDto() {}
+
+    // Getters and Setters
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+
+    public int getImportedRows() { return importedRows; }
+    public void setImportedRows(int importedRows) { this.importedRows = importedRows; }
+
+    public int getFailedRows() { return failedRows; }
+    public void setFailedRows(int failedRows) { this.failedRows = failedRows; }
+
+    public List<RowResult> getRows() { return rows; }
+    public void setRows(List<RowResult> rows) { this.rows = rows; }
+
+    // Utility methods
+    public void addImported(int rowNumber) {
+        rows.add(new RowResult(rowNumber, RowStatus.IMPORTED, null));
+        totalRows++;
+        importedRows++;
+    }
+
+    public void addFailed(int rowNumber, String message) {
+        rows.add(new RowResult(rowNumber, RowStatus.FAILED, message));
+        totalRows++;
+        failedRows++;
+    }
+
+    /**
+     * Result of a single imported row
+     */
+    public static class RowResult {
+        private int rowNumber;
+        private RowStatus status;
+        private String message;
+
+        public RowResult() {}
+
+        public RowResult(int rowNumber, RowStatus status, String message) {
+            this.rowNumber = rowNumber;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getRowNumber() { return rowNumber; }
+        public void setRowNumber(int rowNumber) { this.rowNumber = rowNumber; }
+
+        public RowStatus getStatus() { return status; }
+        public void setStatus(RowStatus status) { this.status = status; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    /**
+     * Row status enumeration
+     */
+    public enum RowStatus {
+        IMPORTED,
+        FAILED
+    }
+}
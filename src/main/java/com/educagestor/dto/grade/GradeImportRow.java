@@ -0,0 +1,93 @@
+package com.educagestor.dto.grade;
+
+import com.educagestor.entity.Grade;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for one row of a bulk grade import
+ * 
+ * Students and courses may be referenced either by database ID or by their
+ * student code and course code.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GradeImportRow {
+
+    private Long studentId;
+
+    @Size(max = 20, message = "Student code must not exceed 20 characters")
+    private String studentCode;
+
+    private Long courseId;
+
+    @Size(max = 20, message = "Course code must not exceed 20 characters")
+    private String courseCode;
+
+    @NotBlank(message = "Assignment name is required")
+    @Size(max = 100, message = "Assignment name must not exceed 100 characters")
+    private String assignmentName;
+
+    @NotNull(message = "Grade type is required")
+    private Grade.GradeType gradeType;
+
+    @NotNull(message = "Grade value is required")
+    @DecimalMin(value = "0.0", message = "Grade must be at least 0")
+    @DecimalMax(value = "100.0", message = "Grade must not exceed 100")
+    private Double gradeValue;
+
+    @DecimalMin(value = "0.1", message = "Maximum points must be greater than 0")
+    private Double maxPoints;
+
+    @DecimalMin(value = "0.0", message = "Weight must be at least 0")
+    @DecimalMax(value = "1.0", message = "Weight must not exceed 1")
+    private Double weight;
+
+    private LocalDate gradeDate;
+
+    @Size(max = 500, message = "Comments must not exceed 500 characters")
+    private String comments;
+
+    private Boolean isExtraCredit;
+
+    // Constructors
+    public GradeImportRow() {}
+
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public String getStudentCode() { return studentCode; }
+    public void setStudentCode(String studentCode) { this.studentCode = studentCode; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+
+    public String getAssignmentName() { return assignmentName; }
+    public void setAssignmentName(String assignmentName) { this.assignmentName = assignmentName; }
+
+    public Grade.GradeType getGradeType() { return gradeType; }
+    public void setGradeType(Grade.GradeType gradeType) { this.gradeType = gradeType; }
+
+    public Double getGradeValue() { return gradeValue; }
+    public void setGradeValue(Double gradeValue) { this.gradeValue = gradeValue; }
+
+    public Double getMaxPoints() { return maxPoints; }
+    public void setMaxPoints(Double maxPoints) { this.maxPoints = maxPoints; }
+
+    public Double getWeight() { return weight; }
+    public void setWeight(Double weight) { this.weight = weight; }
+
+    public LocalDate getGradeDate() { return gradeDate; }
+    public void setGradeDate(LocalDate gradeDate) { this.gradeDate = gradeDate; }
+
+    public String getComments() { return comments; }
+    public void setComments(String comments) { this.comments = comments; }
+
+    public Boolean getIsExtraCredit() { return isExtraCredit; }
+    public void setIsExtraCredit(Boolean isExtraCredit) { this.isExtraCredit = isExtraCredit; }
+}
@@ -0,0 +1,48 @@
+package com.educagestor.dto.grade;
+
+/**
+ * Data Transfer Object for the grade statistics of a student in a course
+ *
+ * This DTO exposes the count, averages and extremes of the non-dropped grades,
+ * read from the precomputed grade aggregates.
+ */
+public class GradeStatisticsDto {
+
+    private Long studentId;
+    private Long courseId;
+    private long gradeCount;
+    private Double averageGrade;
+    private Double weightedAverageGrade;
+    private Double highestGrade;
+    private Double lowestGrade;
+
+    // Constructors
+    public GradeStatisticsDto() {}
+
+    public GradeStatisticsDto(Long studentId, Long courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public long getGradeCount() { return gradeCount; }
+    public void setGradeCount(long gradeCount) { this.gradeCount = gradeCount; }
+
+    public Double getAverageGrade() { return averageGrade; }
+    public void setAverageGrade(Double averageGrade) { this.averageGrade = averageGrade; }
+
+    public Double getWeightedAverageGrade() { return weightedAverageGrade; }
+    public void setWeightedAverageGrade(Double weightedAverageGrade) { this.weightedAverageGrade = weightedAverageGrade; }
+
+    public Double getHighestGrade() { return highestGrade; }
+    public void setHighestGrade(Double highestGrade) { this.highestGrade = highestGrade; }
+
+    public Double getLowestGrade() { return lowestGrade; }
+    public void setLowestGrade(Double lowestGrade) { this.lowestGrade = lowestGrade; }
+}
@@ -0,0 +1,50 @@
+package com.educagestor.dto.student;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a student transcript
+ * 
+ * This DTO represents the completed and withdrawn courses of a student with
+ * the resulting credits, average final grade and GPA on a 4.0 scale.
+ */
+public class TranscriptDto {
+
+    private Long studentId;
+    private String studentCode;
+    private String studentName;
+    private List<TranscriptEntryDto> courses;
+    private int totalCreditsEarned;
+    private Double averageGrade;
+    private Double gpa;
+    private LocalDateTime generatedAt;
+
+    // Constructors
+    public TranscriptDto() {}
+
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public String getStudentCode() { return studentCode; }
+    public void setStudentCode(String studentCode) { this.studentCode = studentCode; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public List<TranscriptEntryDto> getCourses() { return courses; }
+    public void setCourses(List<TranscriptEntryDto> courses) { this.courses = courses; }
+
+    public int getTotalCreditsEarned() { return totalCreditsEarned; }
+    public void setTotalCreditsEarned(int totalCreditsEarned) { this.totalCreditsEarned = totalCreditsEarned; }
+
+    public Double getAverageGrade() { return averageGrade; }
+    public void setAverageGrade(Double averageGrade) { this.averageGrade = averageGrade; }
+
+    public Double getGpa() { return gpa; }
+    public void setGpa(Double gpa) { this.gpa = gpa; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
@@ -0,0 +1,69 @@
+package com.educagestor.dto.student;
+
+import com.educagestor.entity.Enrollment;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for one course on a student transcript
+ * 
+ * This DTO represents a completed or withdrawn enrollment together with the
+ * course information shown on the transcript.
+ */
+public class TranscriptEntryDto {
+
+    private Long courseId;
+    private String courseCode;
+    private String courseName;
+    private Integer credits;
+    private Enrollment.EnrollmentStatus enrollmentStatus;
+    private LocalDate completionDate;
+    private Double finalGrade;
+    private String gradeLetter;
+    private Integer creditsEarned;
+
+    // Constructors
+    public TranscriptEntryDto() {}
+
+    public TranscriptEntryDto(Long courseId, String courseCode, String courseName, Integer credits,
+                              Enrollment.EnrollmentStatus enrollmentStatus, LocalDate completionDate,
+                              Double finalGrade, String gradeLetter, Integer creditsEarned) {
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.credits = credits;
+        this.enrollmentStatus = enrollmentStatus;
+        this.completionDate = completionDate;
+        this.finalGrade = finalGrade;
+        this.gradeLetter = gradeLetter;
+        this.creditsEarned = creditsEarned;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+
+    public String getCourseName() { return courseName; }
+    public void setCourseName(String courseName) { this.courseName = courseName; }
+
+    public Integer getCredits() { return credits; }
+    public void setCredits(Integer credits) { this.credits = credits; }
+
+    public Enrollment.EnrollmentStatus getEnrollmentStatus() { return enrollmentStatus; }
+    public void setEnrollmentStatus(Enrollment.EnrollmentStatus enrollmentStatus) { this.enrollmentStatus = enrollmentStatus; }
+
+    public LocalDate getCompletionDate() { return completionDate; }
+    public void setCompletionDate(LocalDate completionDate) { this.completionDate = completionDate; }
+
+    public Double getFinalGrade() { return finalGrade; }
+    public void setFinalGrade(Double finalGrade) { this.finalGrade = finalGrade; }
+
+    public String getGradeLetter() { return gradeLetter; }
+    public void setGradeLetter(String gradeLetter) { this.gradeLetter = gradeLetter; }
+
+    public Integer getCreditsEarned() { return creditsEarned; }
+    public void setCreditsEarned(Integer creditsEarned) { this.creditsEarned = creditsEarned; }
+}
@@ -1,7 +1,11 @@
 package com.educagestor.entity;
 
+import com.educagestor.persistence.CourseSeatsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,9 +25,11 @@ import java.util.List;
 @Table(name = "courses", indexes = {
     @Index(name = "idx_course_code", columnList = "course_code"),
     @Index(name = "idx_course_teacher", columnList = "teacher_id"),
-    @Index(name = "idx_course_status", columnList = "course_status")
+    @Index(name = "idx_course_status", columnList = "course_status"),
+    @Index(name = "idx_course_updated_at", columnList = "updated_at")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CourseSeatsListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 public class Course {
 
     @Id
@@ -80,6 +86,12 @@ public class Course {
     @Column(name = "course_status", nullable = false)
     private CourseStatus courseStatus = CourseStatus.ACTIVE;
 
+    // Enrolled count in its own uncached table, so seat updates leave the course cache region alone
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private CourseSeats seats;
+
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Enrollment> enrollments = new ArrayList<>();
 
@@ -94,6 +106,11 @@ public class Course {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Course() {}
 
@@ -148,17 +165,22 @@ public class Course {
     public List<Grade> getGrades() { return grades; }
     public void setGrades(List<Grade> grades) { this.grades = grades; }
 
+    public CourseSeats getSeats() { return seats; }
+    public void setSeats(CourseSeats seats) { this.seats = seats; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Utility methods
     public int getCurrentEnrollmentCount() {
-        return (int) enrollments.stream()
-                .filter(enrollment -> enrollment.getEnrollmentStatus() == Enrollment.EnrollmentStatus.ENROLLED)
-                .count();
+        // Not yet attached to a course saved in this session, whose count starts at zero
+        return seats != null ? seats.getEnrolledCount() : 0;
     }
 
     public boolean hasAvailableSpots() {
@@ -0,0 +1,40 @@
+package com.educagestor.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
+/**
+ * CourseSeats entity holding the enrolled count of a course
+ *
+ * The count changes with every enrollment through conditional bulk updates. It is
+ * kept out of the cached Course entity so those updates only invalidate this
+ * uncached table, not the course cache region and the cached course queries.
+ * The row shares the ID of its course and is created with it by CourseSeatsListener.
+ */
+@Entity
+@Table(name = "course_seats")
+@BatchSize(size = 100)
+public class CourseSeats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "enrolled_count", nullable = false)
+    private Integer enrolledCount = 0;
+
+    // Constructors
+    public CourseSeats() {}
+
+    public CourseSeats(Long courseId, Integer enrolledCount) {
+        this.courseId = courseId;
+        this.enrolledCount = enrolledCount;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public Integer getEnrolledCount() { return enrolledCount; }
+    public void setEnrolledCount(Integer enrolledCount) { this.enrolledCount = enrolledCount; }
+}
@@ -2,6 +2,7 @@ package com.educagestor.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,7 +22,8 @@ import java.time.LocalDateTime;
        indexes = {
            @Index(name = "idx_enrollment_student", columnList = "student_id"),
            @Index(name = "idx_enrollment_course", columnList = "course_id"),
-           @Index(name = "idx_enrollment_status", columnList = "enrollment_status")
+           @Index(name = "idx_enrollment_status", columnList = "enrollment_status"),
+           @Index(name = "idx_enrollment_date", columnList = "enrollment_date DESC, id DESC")
        })
 @EntityListeners(AuditingEntityListener.class)
 public class Enrollment {
@@ -69,6 +71,11 @@ public class Enrollment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Enrollment() {
         this.enrollmentDate = LocalDate.now();
@@ -117,6 +124,9 @@ public class Enrollment {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Utility methods
     public boolean isActive() {
         return enrollmentStatus == EnrollmentStatus.ENROLLED;
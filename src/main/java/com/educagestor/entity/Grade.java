@@ -2,6 +2,7 @@ package com.educagestor.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,7 +21,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_grade_student", columnList = "student_id"),
     @Index(name = "idx_grade_course", columnList = "course_id"),
     @Index(name = "idx_grade_type", columnList = "grade_type"),
-    @Index(name = "idx_grade_date", columnList = "grade_date")
+    @Index(name = "idx_grade_date", columnList = "grade_date DESC, id DESC")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Grade {
@@ -84,6 +85,11 @@ public class Grade {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Grade() {
         this.gradeDate = LocalDate.now();
@@ -141,6 +147,9 @@ public class Grade {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     // Utility methods
     public Double getPercentage() {
         if (maxPoints == null || maxPoints == 0) return 0.0;
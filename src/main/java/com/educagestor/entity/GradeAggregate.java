@@ -0,0 +1,110 @@
+package com.educagestor.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * GradeAggregate entity holding precomputed grade statistics per student and course
+ *
+ * The running count, sums, minimum and maximum of the non-dropped grades of a
+ * student in a course are maintained by GradeAggregateService on every grade
+ * write, so averages and extremes are served without scanning the grades table.
+ */
+@Entity
+@Table(name = "grade_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_grade_aggregate_student_course", columnNames = {"student_id", "course_id"})
+}, indexes = {
+    @Index(name = "idx_grade_aggregate_course", columnList = "course_id")
+})
+public class GradeAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "grade_count", nullable = false)
+    private Long gradeCount = 0L;
+
+    @Column(name = "grade_sum", nullable = false)
+    private Double gradeSum = 0.0;
+
+    @Column(name = "weighted_sum", nullable = false)
+    private Double weightedSum = 0.0;
+
+    @Column(name = "weight_total", nullable = false)
+    private Double weightTotal = 0.0;
+
+    @Column(name = "min_grade")
+    private Double minGrade;
+
+    @Column(name = "max_grade")
+    private Double maxGrade;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public GradeAggregate() {}
+
+    public GradeAggregate(Long studentId, Long courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public Long getGradeCount() { return gradeCount; }
+    public void setGradeCount(Long gradeCount) { this.gradeCount = gradeCount; }
+
+    public Double getGradeSum() { return gradeSum; }
+    public void setGradeSum(Double gradeSum) { this.gradeSum = gradeSum; }
+
+    public Double getWeightedSum() { return weightedSum; }
+    public void setWeightedSum(Double weightedSum) { this.weightedSum = weightedSum; }
+
+    public Double getWeightTotal() { return weightTotal; }
+    public void setWeightTotal(Double weightTotal) { this.weightTotal = weightTotal; }
+
+    public Double getMinGrade() { return minGrade; }
+    public void setMinGrade(Double minGrade) { this.minGrade = minGrade; }
+
+    public Double getMaxGrade() { return maxGrade; }
+    public void setMaxGrade(Double maxGrade) { this.maxGrade = maxGrade; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    // Helper methods
+    public Double getAverage() {
+        return gradeCount > 0 ? gradeSum / gradeCount : null;
+    }
+
+    public Double getWeightedAverage() {
+        return weightTotal > 0 ? weightedSum / weightTotal : null;
+    }
+
+    @Override
+    public String toString() {
+        return "GradeAggregate{" +
+                "studentId=" + studentId +
+                ", courseId=" + courseId +
+                ", gradeCount=" + gradeCount +
+                ", gradeSum=" + gradeSum +
+                '}';
+    }
+}
@@ -0,0 +1,125 @@
+package com.educagestor.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * RefreshToken entity recording every refresh token issued
+ *
+ * Each login starts a token family. Every refresh rotates the presented token,
+ * marking it as used, and issues the next token of the same family, so a refresh
+ * token can be used only once. Presenting a used token again means it leaked, and
+ * the whole family is revoked. Each row also records the access token issued with
+ * it, so revoking a family can deny its access tokens until they expire.
+ */
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_refresh_token_token_id", columnNames = "token_id")
+}, indexes = {
+    @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_token_revoked_at", columnList = "revoked_at"),
+    @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_id", nullable = false, length = 36)
+    private String tokenId;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "access_token_id", nullable = false, length = 36)
+    private String accessTokenId;
+
+    @Column(name = "access_expires_at", nullable = false)
+    private LocalDateTime accessExpiresAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // Constructors
+    public RefreshToken() {}
+
+    public RefreshToken(String tokenId, String familyId, Long userId, String username, String accessTokenId,
+                        LocalDateTime accessExpiresAt, LocalDateTime expiresAt, LocalDateTime createdAt) {
+        this.tokenId = tokenId;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.username = username;
+        this.accessTokenId = accessTokenId;
+        this.accessExpiresAt = accessExpiresAt;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTokenId() { return tokenId; }
+    public void setTokenId(String tokenId) { this.tokenId = tokenId; }
+
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getAccessTokenId() { return accessTokenId; }
+    public void setAccessTokenId(String accessTokenId) { this.accessTokenId = accessTokenId; }
+
+    public LocalDateTime getAccessExpiresAt() { return accessExpiresAt; }
+    public void setAccessExpiresAt(LocalDateTime accessExpiresAt) { this.accessExpiresAt = accessExpiresAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getRotatedAt() { return rotatedAt; }
+    public void setRotatedAt(LocalDateTime rotatedAt) { this.rotatedAt = rotatedAt; }
+
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(LocalDateTime revokedAt) { this.revokedAt = revokedAt; }
+
+    // Helper methods
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshToken{" +
+                "tokenId='" + tokenId + '\'' +
+                ", familyId='" + familyId + '\'' +
+                ", username='" + username + '\'' +
+                ", expiresAt=" + expiresAt +
+                ", rotatedAt=" + rotatedAt +
+                ", revokedAt=" + revokedAt +
+                '}';
+    }
+}
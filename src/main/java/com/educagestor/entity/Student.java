@@ -23,7 +23,8 @@ import java.util.List;
 @Entity
 @Table(name = "students", indexes = {
     @Index(name = "idx_student_student_id", columnList = "student_id"),
-    @Index(name = "idx_student_user_id", columnList = "user_id")
+    @Index(name = "idx_student_user_id", columnList = "user_id"),
+    @Index(name = "idx_student_updated_at", columnList = "updated_at")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Student {
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,9 +25,11 @@ import java.util.List;
 @Table(name = "teachers", indexes = {
     @Index(name = "idx_teacher_employee_id", columnList = "employee_id"),
     @Index(name = "idx_teacher_user_id", columnList = "user_id"),
-    @Index(name = "idx_teacher_department", columnList = "department")
+    @Index(name = "idx_teacher_department", columnList = "department"),
+    @Index(name = "idx_teacher_updated_at", columnList = "updated_at")
 })
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher")
 public class Teacher {
 
     @Id
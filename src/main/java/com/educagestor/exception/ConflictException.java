@@ -0,0 +1,29 @@
+package com.educagestor.exception;
+
+/**
+ * Exception thrown when a request conflicts with a concurrent change of a resource
+ * 
+ * This exception is used by optimistic locking when a resource was modified by
+ * another request since it was read, signalling the client to reload and retry.
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructor with message only
+     * 
+     * @param message the exception message
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor with message and cause
+     * 
+     * @param message the exception message
+     * @param cause the underlying cause
+     */
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.educagestor.exception;
+
+/**
+ * Exception thrown when a request prepares more JDBC statements than its budget allows
+ * 
+ * This exception is raised by the query budget guard after the request completed,
+ * so integration tests fail on N+1 regressions instead of passing silently.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    /**
+     * Constructor with message only
+     * 
+     * @param message the exception message
+     */
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.educagestor.exception;
+
+/**
+ * Exception thrown when a request is rejected because the server is saturated
+ * 
+ * This exception is used by admission control to shed load before it reaches
+ * the database, signalling the client to retry later.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Constructor with message only
+     * 
+     * @param message the exception message
+     */
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor with message and cause
+     * 
+     * @param message the exception message
+     * @param cause the underlying cause
+     */
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,40 @@
+package com.educagestor.export;
+
+import com.educagestor.exception.BadRequestException;
+
+/**
+ * Response formats of the streamed exports
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() { return contentType; }
+
+    public String getExtension() { return extension; }
+
+    /**
+     * Resolves an export format from its request parameter value
+     *
+     * @param name format name, case insensitive
+     * @return matching export format
+     * @throws BadRequestException if the format is not supported
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported export format: " + name);
+    }
+}
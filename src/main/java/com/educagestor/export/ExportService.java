@@ -0,0 +1,243 @@
+package com.educagestor.export;
+
+import com.educagestor.entity.Enrollment;
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Service streaming grade and enrollment exports
+ *
+ * Exports read a flat projection of the rows with plain JDBC on a forward-only,
+ * read-only cursor with a bounded fetch size and write each row to the response as
+ * it is read, so neither the result set nor a persistence context is held in memory.
+ * A client reading slowly blocks the writes and with them the cursor, which keeps
+ * the server from running ahead of the client.
+ *
+ * Each export runs in one read-only transaction, giving a consistent snapshot on
+ * databases that support it, and the number of exports running at once is bounded
+ * because each one holds a connection for its whole duration. Exports replace the
+ * async request timeout of their request with their own, so long exports are not
+ * cut off by the default timeout of the other async requests.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private static final String GRADE_EXPORT_SQL =
+            "SELECT g.id, s.id, CONCAT(u.first_name, ' ', u.last_name), s.student_id, " +
+            "c.id, c.course_name, c.course_code, g.assignment_name, g.grade_type, g.grade_value, " +
+            "g.max_points, g.weight, g.grade_date, g.comments, g.is_extra_credit, g.is_dropped, " +
+            "g.created_at, g.updated_at " +
+            "FROM grades g JOIN students s ON s.id = g.student_id JOIN users u ON u.id = s.user_id " +
+            "JOIN courses c ON c.id = g.course_id";
+
+    private static final List<String> GRADE_COLUMNS = List.of(
+            "id", "studentId", "studentName", "studentCode",
+            "courseId", "courseName", "courseCode", "assignmentName", "gradeType", "gradeValue",
+            "maxPoints", "weight", "gradeDate", "comments", "isExtraCredit", "isDropped",
+            "createdAt", "updatedAt");
+
+    private static final String ENROLLMENT_EXPORT_SQL =
+            "SELECT e.id, s.id, CONCAT(u.first_name, ' ', u.last_name), s.student_id, " +
+            "c.id, c.course_name, c.course_code, e.enrollment_date, e.enrollment_status, " +
+            "e.completion_date, e.final_grade, e.grade_letter, e.credits_earned, e.notes, " +
+            "e.created_at, e.updated_at " +
+            "FROM enrollments e JOIN students s ON s.id = e.student_id JOIN users u ON u.id = s.user_id " +
+            "JOIN courses c ON c.id = e.course_id";
+
+    private static final List<String> ENROLLMENT_COLUMNS = List.of(
+            "id", "studentId", "studentName", "studentCode",
+            "courseId", "courseName", "courseCode", "enrollmentDate", "enrollmentStatus",
+            "completionDate", "finalGrade", "gradeLetter", "creditsEarned", "notes",
+            "createdAt", "updatedAt");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${export.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${export.request-timeout-ms:-1}")
+    private long requestTimeoutMs;
+
+    private Semaphore permits;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        this.permits = new Semaphore(maxConcurrent);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Creates a streamed export of grades
+     *
+     * @param format export format
+     * @param courseId course to export, all courses if null
+     * @param studentId student to export, all students if null
+     * @return response body writing the grades in ID order
+     * @throws TooManyRequestsException if the maximum number of exports is already running
+     */
+    public StreamingResponseBody exportGrades(ExportFormat format, Long courseId, Long studentId) {
+        logger.debug("Exporting grades as {} - course: {}, student: {}", format, courseId, studentId);
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(GRADE_EXPORT_SQL);
+        appendFilters(sql, params, "g", courseId, studentId);
+        sql.append(" ORDER BY g.id");
+
+        return stream("grades", format, sql.toString(), params, GRADE_COLUMNS);
+    }
+
+    /**
+     * Creates a streamed export of enrollments
+     *
+     * @param format export format
+     * @param courseId course to export, all courses if null
+     * @param studentId student to export, all students if null
+     * @param status enrollment status to export, all statuses if null
+     * @return response body writing the enrollments in ID order
+     * @throws BadRequestException if the status is not an enrollment status
+     * @throws TooManyRequestsException if the maximum number of exports is already running
+     */
+    public StreamingResponseBody exportEnrollments(ExportFormat format, Long courseId, Long studentId, String status) {
+        logger.debug("Exporting enrollments as {} - course: {}, student: {}, status: {}", format, courseId, studentId, status);
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(ENROLLMENT_EXPORT_SQL);
+        appendFilters(sql, params, "e", courseId, studentId);
+        if (status != null) {
+            sql.append(params.isEmpty() ? " WHERE " : " AND ").append("e.enrollment_status = ?");
+            params.add(enrollmentStatus(status).name());
+        }
+        sql.append(" ORDER BY e.id");
+
+        return stream("enrollments", format, sql.toString(), params, ENROLLMENT_COLUMNS);
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> params, String alias, Long courseId, Long studentId) {
+        if (courseId != null) {
+            sql.append(" WHERE ").append(alias).append(".course_id = ?");
+            params.add(courseId);
+        }
+        if (studentId != null) {
+            sql.append(params.isEmpty() ? " WHERE " : " AND ").append(alias).append(".student_id = ?");
+            params.add(studentId);
+        }
+    }
+
+    private Enrollment.EnrollmentStatus enrollmentStatus(String status) {
+        try {
+            return Enrollment.EnrollmentStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid enrollment status: " + status);
+        }
+    }
+
+    private StreamingResponseBody stream(String name, ExportFormat format, String sql, List<Object> params,
+                                         List<String> columns) {
+        if (!permits.tryAcquire()) {
+            throw new TooManyRequestsException("Too many exports are running, please retry later");
+        }
+        applyRequestTimeout();
+
+        return out -> {
+            try {
+                long rows = write(format, sql, params, columns, out);
+                logger.info("Exported {} {} as {}", rows, name, format);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * Sets the export timeout on the async processing of the current request, once it starts
+     */
+    private void applyRequestTimeout() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+
+        WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(ExportService.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest asyncRequest) {
+                            asyncRequest.setTimeout(requestTimeoutMs);
+                        }
+                    }
+                });
+    }
+
+    private long write(ExportFormat format, String sql, List<Object> params, List<String> columns,
+                       OutputStream out) throws IOException {
+        try (ExportWriter writer = ExportWriter.open(format, columns, out, objectMapper)) {
+            long[] rows = new long[1];
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(cursor(sql, params), rs -> {
+                try {
+                    writer.writeRow(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }));
+            return rows[0];
+        } catch (UncheckedIOException e) {
+            // The client went away: the query has been closed, report the write failure
+            throw e.getCause();
+        }
+    }
+
+    private PreparedStatementCreator cursor(String sql, List<Object> params) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.educagestor.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Writes the rows of an export result set one at a time
+ *
+ * Rows are encoded straight from the current result set row into a fixed size
+ * buffer, so memory use does not depend on the number of rows exported. The
+ * column values are read by position and written under the given field names.
+ */
+abstract class ExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    protected final List<String> columns;
+
+    private ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Opens a writer for a format
+     *
+     * @param format export format
+     * @param columns field names of the result set columns, in select order
+     * @param out response body
+     * @param objectMapper mapper supplying the JSON generator
+     * @return writer positioned before the first row
+     * @throws IOException if the header cannot be written
+     */
+    static ExportWriter open(ExportFormat format, List<String> columns, OutputStream out,
+                             ObjectMapper objectMapper) throws IOException {
+        return format == ExportFormat.CSV
+                ? new CsvWriter(columns, out)
+                : new NdjsonWriter(columns, out, objectMapper);
+    }
+
+    /**
+     * Writes the current row of a result set
+     *
+     * @param rs result set positioned on the row
+     * @throws SQLException if a column cannot be read
+     * @throws IOException if the client cannot be written to
+     */
+    abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+    /**
+     * Reads a column as a value with a stable text form
+     */
+    protected static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
+    /**
+     * One JSON object per line
+     */
+    private static final class NdjsonWriter extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(List<String> columns, OutputStream out, ObjectMapper objectMapper) throws IOException {
+            super(columns);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = value(rs, i + 1);
+                generator.writeFieldName(columns.get(i));
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Double || value instanceof Float) {
+                    generator.writeNumber(((Number) value).doubleValue());
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row
+     */
+    private static final class CsvWriter extends ExportWriter {
+
+        private final Writer writer;
+
+        CsvWriter(List<String> columns, OutputStream out) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns.get(i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = value(rs, i + 1);
+                if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String field) throws IOException {
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0
+                    && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+                writer.write(field);
+                return;
+            }
+            writer.write('"');
+            writer.write(field.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.educagestor.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Session factory interceptor counting the entities Hibernate loads during a request
+ */
+public class EntityLoadCountingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestQueryCounts.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.educagestor.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public service method and every repository query
+ *
+ * Service calls are recorded as educagestor.service.calls tagged with the service
+ * class and method, repository calls as educagestor.repository.queries tagged with
+ * the repository interface and method; both carry an outcome tag telling successful
+ * calls from failed ones. The aspect runs outside the transaction advice, so service
+ * timings include the commit. Timers are resolved once per method and outcome.
+ */
+@Aspect
+public class HotPathTimingAspect implements Ordered {
+
+    public static final String SERVICE_METRIC = "educagestor.service.calls";
+
+    public static final String REPOSITORY_METRIC = "educagestor.repository.queries";
+
+    private static final String REPOSITORY_PACKAGE = "com.educagestor.repository.";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public HotPathTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.educagestor.service..*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE_METRIC, "service", joinPoint.getTarget().getClass().getSimpleName());
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetType = joinPoint.getTarget().getClass();
+        String repository = repositoryNames.computeIfAbsent(targetType, HotPathTimingAspect::repositoryName);
+        return time(joinPoint, REPOSITORY_METRIC, "repository", repository);
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String metric, String typeTag, String type) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        String outcome = "ERROR";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "SUCCESS";
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timers.computeIfAbsent(new TimerKey(metric, type, method, outcome),
+                    key -> Timer.builder(metric)
+                            .tags(typeTag, type, "method", method, "outcome", key.outcome())
+                            .register(meterRegistry))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Names a repository proxy after the application interface it implements
+     */
+    private static String repositoryName(Class<?> proxyType) {
+        for (Class<?> type : proxyType.getInterfaces()) {
+            if (type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyType.getSimpleName();
+    }
+
+    private record TimerKey(String metric, String type, String method, String outcome) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.educagestor.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of JDBC statements a controller route may prepare per request
+ *
+ * On a controller class the budget applies to every route of the controller; on a
+ * handler method it overrides the class budget for that route. The count covers the
+ * whole request, including the principal lookup of the security filters.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    /**
+     * Budget of routes whose statement count grows with the request input, such as imports
+     */
+    int UNBOUNDED = Integer.MAX_VALUE;
+
+    /**
+     * @return maximum statements per request
+     */
+    int value();
+}
@@ -0,0 +1,83 @@
+package com.educagestor.metrics;
+
+import com.educagestor.exception.QueryBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks each controller request against its JDBC statement budget
+ *
+ * The budget of a route comes from the QueryBudget annotation of its handler method
+ * or controller class, falling back to the configured default. Requests handled
+ * outside the application controllers, such as actuator endpoints, are not checked.
+ * An exceeded budget is logged as a warning or, in FAIL mode, raised as a
+ * QueryBudgetExceededException once the request has completed.
+ */
+public class QueryBudgetGuard implements RequestQueryCountsListener, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetGuard.class);
+
+    private static final String CONTROLLER_PACKAGE = "com.educagestor.controller.";
+
+    /**
+     * What to do when a request exceeds its budget
+     */
+    public enum Action {
+        LOG, FAIL
+    }
+
+    private final int defaultBudget;
+
+    private final Action action;
+
+    private final Map<Method, Integer> budgets = new ConcurrentHashMap<>();
+
+    public QueryBudgetGuard(int defaultBudget, Action action) {
+        this.defaultBudget = defaultBudget;
+        this.action = action;
+    }
+
+    @Override
+    public void requestCompleted(HttpServletRequest request, HttpServletResponse response, RequestQueryCounts counts) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)
+                || !handler.getBeanType().getName().startsWith(CONTROLLER_PACKAGE)) {
+            return;
+        }
+
+        int budget = budgets.computeIfAbsent(handler.getMethod(), method -> budgetOf(handler));
+        if (counts.getStatements() <= budget) {
+            return;
+        }
+
+        String message = String.format("%s %s prepared %d JDBC statements, budget is %d (%s.%s)",
+                request.getMethod(), request.getRequestURI(), counts.getStatements(), budget,
+                handler.getBeanType().getSimpleName(), handler.getMethod().getName());
+        if (action == Action.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        logger.warn("Query budget exceeded: {}", message);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private int budgetOf(HandlerMethod handler) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+}
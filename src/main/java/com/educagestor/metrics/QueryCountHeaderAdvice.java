@@ -0,0 +1,40 @@
+package com.educagestor.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Exposes the statement count of a request in the X-Query-Count response header
+ *
+ * The header is written just before the response body, so it holds the statements
+ * prepared up to that point. Meant for development, where the query budget is
+ * enabled with query-budget.expose-header.
+ */
+@ControllerAdvice
+@ConditionalOnExpression("${query-budget.enabled:false} and ${query-budget.expose-header:false}")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Query-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryCounts counts = RequestQueryCounts.current();
+        if (counts != null) {
+            response.getHeaders().set(HEADER, Long.toString(counts.getStatements()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,39 @@
+package com.educagestor.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Counts the JDBC statements and entity loads of each request
+ *
+ * Counting wraps the rest of the filter chain on the request thread. When the
+ * request completes the counts are handed to every listener in order.
+ */
+public class RequestQueryCountingFilter extends OncePerRequestFilter {
+
+    private final List<RequestQueryCountsListener> listeners;
+
+    public RequestQueryCountingFilter(List<RequestQueryCountsListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryCounts.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryCounts counts = RequestQueryCounts.stop();
+            for (RequestQueryCountsListener listener : listeners) {
+                listener.requestCompleted(request, response, counts);
+            }
+        }
+    }
+}
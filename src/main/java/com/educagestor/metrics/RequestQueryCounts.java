@@ -0,0 +1,73 @@
+package com.educagestor.metrics;
+
+/**
+ * Per-request counters of JDBC statements and Hibernate entity loads
+ *
+ * RequestQueryCountingFilter starts counting on the request thread and hands the
+ * totals to its listeners when the request completes. Work done on other threads, such as scheduled
+ * jobs or streamed exports, is not counted, and the hooks do nothing there.
+ */
+public final class RequestQueryCounts {
+
+    private static final ThreadLocal<RequestQueryCounts> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long entityLoads;
+
+    private RequestQueryCounts() {}
+
+    /**
+     * Starts counting on the current thread
+     */
+    static void start() {
+        CURRENT.set(new RequestQueryCounts());
+    }
+
+    /**
+     * Stops counting on the current thread
+     *
+     * @return the counts of the finished request, or null if counting was not started
+     */
+    static RequestQueryCounts stop() {
+        RequestQueryCounts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    /**
+     * Checks if the current thread is counting
+     *
+     * @return true while a counted request runs on this thread
+     */
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Gets the counts of the request running on the current thread
+     *
+     * @return counts so far, or null if the current thread is not counting
+     */
+    static RequestQueryCounts current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared() {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    public long getStatements() { return statements; }
+
+    public long getEntityLoads() { return entityLoads; }
+}
@@ -0,0 +1,19 @@
+package com.educagestor.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Callback receiving the query counts of each completed request
+ */
+public interface RequestQueryCountsListener {
+
+    /**
+     * Handles the counts of a completed request
+     *
+     * @param request the completed request
+     * @param response the response sent for it
+     * @param counts statements and entity loads of the request
+     */
+    void requestCompleted(HttpServletRequest request, HttpServletResponse response, RequestQueryCounts counts);
+}
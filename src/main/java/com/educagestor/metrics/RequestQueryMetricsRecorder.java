@@ -0,0 +1,51 @@
+package com.educagestor.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the JDBC statements and entity loads of each request per route
+ *
+ * Counting wraps the whole filter chain, so the principal lookups of the security
+ * filters are included. Requests that reached no controller are tagged UNKNOWN.
+ */
+public class RequestQueryMetricsRecorder implements RequestQueryCountsListener, Ordered {
+
+    public static final String STATEMENTS_METRIC = "educagestor.request.jdbc.statements";
+
+    public static final String ENTITY_LOADS_METRIC = "educagestor.request.entity.loads";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestQueryMetricsRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void requestCompleted(HttpServletRequest request, HttpServletResponse response, RequestQueryCounts counts) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        String status = Integer.toString(response.getStatus());
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("JDBC statements prepared per request")
+                .tags("method", method, "uri", uri, "status", status)
+                .register(meterRegistry)
+                .record(counts.getStatements());
+        DistributionSummary.builder(ENTITY_LOADS_METRIC)
+                .description("Hibernate entity loads per request")
+                .tags("method", method, "uri", uri, "status", status)
+                .register(meterRegistry)
+                .record(counts.getEntityLoads());
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
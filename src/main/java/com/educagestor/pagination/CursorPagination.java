@@ -0,0 +1,213 @@
+package com.educagestor.pagination;
+
+import com.educagestor.dto.common.CursorPageDto;
+import com.educagestor.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination support shared by the cursor mode of the list endpoints
+ *
+ * A cursor is the Base64 encoded JSON of the sort it was issued for and the sort key
+ * values of the last row of a page. The next page is read with a keyset predicate on
+ * those values (rows strictly after them in sort order), so its cost does not grow
+ * with the page depth and no count query is needed. The entity ID is appended to
+ * every sort as a tie-breaker, in the direction of the last sort field, so that an
+ * index on (sort column, id) serves the query. Only non-nullable fields can be sorted
+ * on, as a null sort key can neither be carried by a cursor nor compared by the
+ * keyset predicate.
+ *
+ * Spring Data renders the keyset predicate as "a < ? OR (a = ? AND id < ?)", which
+ * some databases cannot turn into an index range, so the redundant bound "a <= ?" on
+ * the first sort field is added to let the index seek to the cursor.
+ */
+@Component
+public class CursorPagination {
+
+    private static final String ID = "id";
+
+    private static final TypeReference<Map<String, Object>> CURSOR_TYPE = new TypeReference<>() { };
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Reads the page of entities after a cursor
+     *
+     * @param repository the repository of the entity
+     * @param entityType the paginated entity
+     * @param after the cursor of the previous page, empty for the first page
+     * @param size the requested page size
+     * @param sort the requested sort
+     * @param mapper converts an entity into its DTO
+     * @param fetchPaths associations fetched with the page
+     * @return cursor page holding the next cursor when more rows follow
+     * @throws BadRequestException if the cursor or sort cannot be used for keyset pagination
+     */
+    public <T, R> CursorPageDto<R> page(JpaSpecificationExecutor<T> repository, Class<T> entityType, String after,
+                                        int size, Sort sort, Function<T, R> mapper, String... fetchPaths) {
+        Sort keysetSort = keysetSort(entityType, sort);
+        KeysetScrollPosition position = decode(after, entityType, keysetSort);
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+
+        Specification<T> specification = this.<T>fetching(fetchPaths).and(seekBound(keysetSort, position));
+        Window<T> window = repository.findBy(specification,
+                query -> query.sortBy(keysetSort).limit(limit).scroll(position));
+        return toPage(window, keysetSort, mapper);
+    }
+
+    private Sort keysetSort(Class<?> entityType, Sort sort) {
+        EntityType<?> entity = entityManagerFactory.getMetamodel().entity(entityType);
+        Sort.Direction direction = Sort.Direction.ASC;
+        for (Sort.Order order : sort) {
+            attribute(entity, order.getProperty());
+            direction = order.getDirection();
+        }
+        return sort.getOrderFor(ID) != null ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    private KeysetScrollPosition decode(String cursor, Class<?> entityType, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> decoded;
+        try {
+            decoded = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CURSOR_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+
+        if (!signature(sort).equals(decoded.get("sort")) || !(decoded.get("keys") instanceof Map<?, ?> rawKeys)) {
+            throw new BadRequestException("Pagination cursor does not match the requested sort");
+        }
+
+        EntityType<?> entity = entityManagerFactory.getMetamodel().entity(entityType);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            Object value = rawKeys.get(order.getProperty());
+            if (value == null) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            Class<?> javaType = attribute(entity, order.getProperty()).getJavaType();
+            try {
+                keys.put(order.getProperty(), objectMapper.convertValue(value, javaType));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Fetch joins the to-one associations converted with the page, as scrolling ignores projections
+     */
+    private <T> Specification<T> fetching(String... fetchPaths) {
+        return (root, query, cb) -> {
+            for (String path : fetchPaths) {
+                FetchParent<?, ?> parent = root;
+                for (String attribute : path.split("\\.")) {
+                    parent = fetch(parent, attribute);
+                }
+            }
+            return cb.conjunction();
+        };
+    }
+
+    private FetchParent<?, ?> fetch(FetchParent<?, ?> parent, String attribute) {
+        for (Fetch<?, ?> fetch : parent.getFetches()) {
+            if (fetch.getAttribute().getName().equals(attribute)) {
+                return fetch;
+            }
+        }
+        return parent.fetch(attribute, JoinType.LEFT);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Specification<T> seekBound(Sort sort, KeysetScrollPosition position) {
+        Sort.Order first = sort.iterator().next();
+        Comparable value = (Comparable) position.getKeys().get(first.getProperty());
+        if (value == null) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+        return (root, query, cb) -> first.isDescending()
+                ? cb.lessThanOrEqualTo(root.get(first.getProperty()), value)
+                : cb.greaterThanOrEqualTo(root.get(first.getProperty()), value);
+    }
+
+    private <T, R> CursorPageDto<R> toPage(Window<T> window, Sort sort, Function<T, R> mapper) {
+        List<R> content = window.getContent().stream().map(mapper).collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(sort, last.getKeys());
+        }
+        return new CursorPageDto<>(content, content.size(), window.hasNext(), nextCursor);
+    }
+
+    private String encode(Sort sort, Map<String, ?> keys) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("sort", signature(sort));
+        cursor.put("keys", keys);
+        try {
+            byte[] json = objectMapper.writeValueAsString(cursor).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode pagination cursor", e);
+        }
+    }
+
+    private String signature(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+
+    private Attribute<?, ?> attribute(EntityType<?> entity, String property) {
+        try {
+            Attribute<?, ?> attribute = entity.getAttribute(property);
+            if (attribute instanceof SingularAttribute<?, ?> singular && !attribute.isAssociation()) {
+                if (singular.isOptional()) {
+                    throw new BadRequestException("Cannot paginate by cursor on nullable field: " + property);
+                }
+                return attribute;
+            }
+        } catch (IllegalArgumentException e) {
+            // Unknown attribute, rejected below
+        }
+        throw new BadRequestException("Cannot paginate by cursor on field: " + property);
+    }
+}
@@ -0,0 +1,40 @@
+package com.educagestor.persistence;
+
+import com.educagestor.entity.Course;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener creating and deleting the seat counter row of a course
+ *
+ * Every course gets its course_seats row in the transaction that inserts it,
+ * whichever code path saves it, so seat reservations never find it missing. The
+ * row is written with JDBC on the transaction's connection, as entity callbacks
+ * must not use the entity manager.
+ */
+@Component
+public class CourseSeatsListener {
+
+    private static final String INSERT_SEATS_SQL =
+            "INSERT INTO course_seats (course_id, enrolled_count) VALUES (?, 0)";
+
+    private static final String DELETE_SEATS_SQL = "DELETE FROM course_seats WHERE course_id = ?";
+
+    // Resolved on first use, the JDBC template depends on the entity manager factory creating this listener
+    @Autowired
+    private ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    @PostPersist
+    public void courseCreated(Course course) {
+        jdbcTemplate.getObject().update(INSERT_SEATS_SQL, course.getId());
+    }
+
+    @PostRemove
+    public void courseDeleted(Course course) {
+        jdbcTemplate.getObject().update(DELETE_SEATS_SQL, course.getId());
+    }
+}
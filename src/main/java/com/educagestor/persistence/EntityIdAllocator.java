@@ -0,0 +1,63 @@
+package com.educagestor.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocates entity IDs for rows inserted with plain JDBC
+ *
+ * With the default mapping the database assigns IDs on insert (IDENTITY) and JDBC
+ * inserts simply omit the column. Under the write-batching profile IDs come from
+ * per-table sequences allocated in blocks by Hibernate, so rows inserted with JDBC
+ * must take their IDs from the same generator, otherwise they could reuse IDs of a
+ * block Hibernate has already handed out.
+ */
+@Component
+public class EntityIdAllocator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Checks whether the application assigns the IDs of an entity before insert
+     *
+     * @param entityType entity class
+     * @return true if inserts must carry an ID from nextId, false if the database assigns it
+     */
+    public boolean assignsIds(Class<?> entityType) {
+        return generator(entityType) instanceof BeforeExecutionGenerator;
+    }
+
+    /**
+     * Allocates the next ID of an entity, in the current transaction
+     *
+     * @param entityType entity class whose IDs are assigned before insert
+     * @return allocated ID
+     * @throws IllegalStateException if the database assigns the IDs of the entity
+     */
+    public Long nextId(Class<?> entityType) {
+        if (!(generator(entityType) instanceof BeforeExecutionGenerator generator)) {
+            throw new IllegalStateException("IDs of " + entityType.getSimpleName() + " are assigned by the database");
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        return ((Number) generator.generate(session, null, null, EventType.INSERT)).longValue();
+    }
+
+    private Generator generator(Class<?> entityType) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityType)
+                .getGenerator();
+    }
+}
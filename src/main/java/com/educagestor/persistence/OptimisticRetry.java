@@ -0,0 +1,90 @@
+package com.educagestor.persistence;
+
+import com.educagestor.exception.ConflictException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write operations on versioned entities, retrying on conflicts
+ *
+ * Each attempt runs in its own transaction: it reads the entity, applies the change
+ * and commits, and the version check of the update fails if another request changed
+ * the row in the meantime. The attempt is then rolled back, which also clears the
+ * persistence context, and the operation is run again on fresh state after a short
+ * jittered backoff. When the attempts are exhausted a ConflictException is thrown.
+ *
+ * The operation must be safe to run again: it is re-evaluated against the new state,
+ * so its own validation decides whether the change still applies.
+ */
+@Component
+public class OptimisticRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${persistence.optimistic-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${persistence.optimistic-retry.backoff-ms:20}")
+    private long backoffMs;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs an operation in a transaction, retrying it when a concurrent update conflicts
+     *
+     * Within an existing transaction the operation runs once, as that transaction
+     * cannot be restarted, and a conflict is reported when it commits.
+     *
+     * @param resource name of the updated resource, for the conflict message
+     * @param id ID of the updated resource
+     * @param operation operation reading and updating the resource
+     * @return result of the successful attempt
+     * @throws ConflictException if every attempt conflicted with a concurrent update
+     */
+    public <T> T execute(String resource, Object id, Supplier<T> operation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operation.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> operation.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ConflictException(resource + " " + id +
+                            " is being modified by other requests, please retry", e);
+                }
+                logger.debug("{} {} changed concurrently, retrying (attempt {} of {})", resource, id, attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying a conflicting update", e);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.educagestor.repository;
 
 import com.educagestor.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +25,7 @@ import java.util.Optional;
  * including custom queries for course management and enrollment tracking.
  */
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
 
     /**
      * Finds course by course code
@@ -27,6 +33,7 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * @param courseCode the course code to search for
      * @return Optional containing the course if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Course> findByCourseCode(String courseCode);
 
     /**
@@ -37,14 +44,38 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      */
     Boolean existsByCourseCode(String courseCode);
 
+    /**
+     * Finds all courses with teacher and teacher user fetched in the same query
+     * 
+     * The count query skips the joins, which are all to-one and cannot change the row count.
+     * 
+     * @param pageable pagination information
+     * @return Page of courses with their teacher initialized
+     */
+    @Query(value = "SELECT c FROM Course c LEFT JOIN FETCH c.teacher t LEFT JOIN FETCH t.user",
+           countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<Course> findAllWithTeacher(Pageable pageable);
+
+    /**
+     * Finds courses by ID with teacher and teacher user fetched in the same query
+     * 
+     * @param ids the course IDs to load
+     * @return courses with their teacher initialized, in no particular order
+     */
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.teacher t LEFT JOIN FETCH t.user WHERE c.id IN :ids")
+    List<Course> findAllWithTeacherByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Finds courses by status
      * 
      * @param courseStatus the course status to search for
      * @param pageable pagination information
-     * @return Page of courses with the specified status
+     * @return Page of courses with the specified status, teacher and teacher user fetched
      */
-    Page<Course> findByCourseStatus(Course.CourseStatus courseStatus, Pageable pageable);
+    @Query(value = "SELECT c FROM Course c LEFT JOIN FETCH c.teacher t LEFT JOIN FETCH t.user " +
+                   "WHERE c.courseStatus = :courseStatus",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.courseStatus = :courseStatus")
+    Page<Course> findByCourseStatus(@Param("courseStatus") Course.CourseStatus courseStatus, Pageable pageable);
 
     /**
      * Finds courses by teacher ID
@@ -71,10 +102,14 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * @param pageable pagination information
      * @return Page of courses matching the search criteria
      */
-    @Query("SELECT c FROM Course c WHERE " +
-           "LOWER(c.courseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query(value = "SELECT c FROM Course c LEFT JOIN FETCH c.teacher t LEFT JOIN FETCH t.user WHERE " +
+                   "LOWER(c.courseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE " +
+                        "LOWER(c.courseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<Course> findBySearchTerm(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     /**
@@ -91,11 +126,11 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * Finds courses with available spots
      * 
      * @param pageable pagination information
-     * @return Page of courses that have available enrollment spots
+     * @return Page of courses that have available enrollment spots, teacher and teacher user fetched
      */
-    @Query("SELECT c FROM Course c WHERE " +
-           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.enrollmentStatus = 'ENROLLED') < c.maxStudents " +
-           "AND c.courseStatus = 'ACTIVE'")
+    @Query(value = "SELECT c FROM Course c LEFT JOIN FETCH c.teacher t LEFT JOIN FETCH t.user " +
+                   "JOIN c.seats s WHERE s.enrolledCount < c.maxStudents AND c.courseStatus = 'ACTIVE'",
+           countQuery = "SELECT COUNT(c) FROM Course c JOIN c.seats s WHERE s.enrolledCount < c.maxStudents AND c.courseStatus = 'ACTIVE'")
     Page<Course> findCoursesWithAvailableSpots(Pageable pageable);
 
     /**
@@ -140,10 +175,61 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * @param courseId the course ID
      * @return array containing [enrolled_count, max_students, available_spots]
      */
-    @Query("SELECT " +
-           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.enrollmentStatus = 'ENROLLED'), " +
-           "c.maxStudents, " +
-           "(c.maxStudents - (SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.enrollmentStatus = 'ENROLLED')) " +
-           "FROM Course c WHERE c.id = :courseId")
+    @Query("SELECT s.enrolledCount, c.maxStudents, (c.maxStudents - s.enrolledCount) FROM Course c JOIN c.seats s WHERE c.id = :courseId")
     Object[] getCourseEnrollmentStats(@Param("courseId") Long courseId);
+
+    /**
+     * Finds which of the given course IDs exist
+     * 
+     * @param ids the course IDs to check
+     * @return List of existing course IDs
+     */
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Resolves course codes to course IDs
+     * 
+     * @param courseCodes the course codes to resolve
+     * @return List of [course_code, id] pairs for the codes that exist
+     */
+    @Query("SELECT c.courseCode, c.id FROM Course c WHERE c.courseCode IN :courseCodes")
+    List<Object[]> findIdsByCourseCodes(@Param("courseCodes") Collection<String> courseCodes);
+
+    /**
+     * Gets the searchable columns of courses after an ID, in ID order
+     * 
+     * @param afterId the last ID already read
+     * @param pageable page size of the read
+     * @return List of [id, course_code, course_name, description]
+     */
+    @Query("SELECT c.id, c.courseCode, c.courseName, c.description FROM Course c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Gets the searchable columns of courses by ID
+     * 
+     * @param ids the IDs to read
+     * @return List of [id, course_code, course_name, description]
+     */
+    @Query("SELECT c.id, c.courseCode, c.courseName, c.description FROM Course c WHERE c.id IN :ids")
+    List<Object[]> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the IDs of the courses taught by teachers of a department
+     * 
+     * @param department the department name
+     * @return List of course IDs
+     */
+    @Query("SELECT c.id FROM Course c WHERE c.teacher.department = :department")
+    List<Long> findIdsByTeacherDepartment(@Param("department") String department);
+
+    /**
+     * Gets the IDs of the courses changed since a given time
+     * 
+     * @param since lower bound of the update time
+     * @return IDs of the changed courses
+     */
+    @Query("SELECT c.id FROM Course c WHERE c.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
 }
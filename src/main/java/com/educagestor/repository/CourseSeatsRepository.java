@@ -0,0 +1,85 @@
+package com.educagestor.repository;
+
+import com.educagestor.entity.CourseSeats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for CourseSeats entity operations
+ *
+ * Enrolled counts are only modified through the conditional updates below. They
+ * read the capacity and status of the course without writing it, so reserving
+ * and releasing seats never invalidates the cached courses.
+ */
+@Repository
+public interface CourseSeatsRepository extends JpaRepository<CourseSeats, Long> {
+
+    /**
+     * Atomically reserves a seat in an active course that still has capacity
+     *
+     * @param courseId the course ID
+     * @return 1 if a seat was reserved, 0 if the course is full or not active
+     */
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.enrolledCount = s.enrolledCount + 1 " +
+           "WHERE s.courseId = :courseId AND s.enrolledCount < " +
+           "(SELECT c.maxStudents FROM Course c WHERE c.id = :courseId AND c.courseStatus = 'ACTIVE')")
+    int reserveSeat(@Param("courseId") Long courseId);
+
+    /**
+     * Atomically reserves several seats in an active course that has room for all of them
+     *
+     * @param courseId the course ID
+     * @param seats the number of seats to reserve
+     * @return 1 if the seats were reserved, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.enrolledCount = s.enrolledCount + :seats " +
+           "WHERE s.courseId = :courseId AND s.enrolledCount + :seats <= " +
+           "(SELECT c.maxStudents FROM Course c WHERE c.id = :courseId AND c.courseStatus = 'ACTIVE')")
+    int reserveSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    /**
+     * Atomically decrements the enrolled count of a course, never below zero
+     *
+     * @param courseId the course ID
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.enrolledCount = s.enrolledCount - 1 WHERE s.courseId = :courseId AND s.enrolledCount > 0")
+    int decrementEnrolledCount(@Param("courseId") Long courseId);
+
+    /**
+     * Gets the number of seats still available in a course
+     *
+     * @param courseId the course ID
+     * @return available seats, or null if the course does not exist
+     */
+    @Query("SELECT c.maxStudents - s.enrolledCount FROM Course c JOIN c.seats s WHERE c.id = :courseId")
+    Integer getAvailableSeats(@Param("courseId") Long courseId);
+
+    /**
+     * Creates the missing seat counters of courses inserted without them
+     *
+     * @return number of created counters
+     */
+    @Modifying
+    @Query("INSERT INTO CourseSeats (courseId, enrolledCount) SELECT c.id, 0 FROM Course c " +
+           "WHERE NOT EXISTS (SELECT 1 FROM CourseSeats s WHERE s.courseId = c.id)")
+    int insertMissingSeats();
+
+    /**
+     * Recomputes enrolled counts that drifted from the actual number of active enrollments
+     *
+     * @return number of repaired courses
+     */
+    @Modifying
+    @Query("UPDATE CourseSeats s SET s.enrolledCount = " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = s.courseId AND e.enrollmentStatus = 'ENROLLED') " +
+           "WHERE s.enrolledCount <> " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = s.courseId AND e.enrollmentStatus = 'ENROLLED')")
+    int reconcileEnrolledCounts();
+}
@@ -1,14 +1,18 @@
 package com.educagestor.repository;
 
+import com.educagestor.dto.enrollment.EnrollmentDto;
+import com.educagestor.dto.student.TranscriptEntryDto;
 import com.educagestor.entity.Enrollment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +23,17 @@ import java.util.Optional;
  * including custom queries for enrollment management and academic tracking.
  */
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, JpaSpecificationExecutor<Enrollment> {
+
+    /**
+     * Constructor expression selecting exactly the columns of EnrollmentDto
+     */
+    String ENROLLMENT_DTO_SELECT = "SELECT new com.educagestor.dto.enrollment.EnrollmentDto(" +
+            "e.id, s.id, CONCAT(u.firstName, ' ', u.lastName), s.studentId, " +
+            "c.id, c.courseName, c.courseCode, " +
+            "e.enrollmentDate, e.enrollmentStatus, e.completionDate, e.finalGrade, e.gradeLetter, " +
+            "e.creditsEarned, e.notes, e.createdAt, e.updatedAt) " +
+            "FROM Enrollment e JOIN e.student s JOIN s.user u JOIN e.course c";
 
     /**
      * Finds enrollment by student and course
@@ -152,4 +166,74 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
      */
     @Query("SELECT COALESCE(SUM(e.creditsEarned), 0) FROM Enrollment e WHERE e.student.id = :studentId AND e.enrollmentStatus = 'COMPLETED'")
     Integer getTotalCreditsEarned(@Param("studentId") Long studentId);
+
+    /**
+     * Finds all enrollments as DTOs without loading any entity
+     * 
+     * @param pageable pagination information
+     * @return Page of enrollment DTOs
+     */
+    @Query(value = ENROLLMENT_DTO_SELECT,
+           countQuery = "SELECT COUNT(e) FROM Enrollment e")
+    Page<EnrollmentDto> findAllDtos(Pageable pageable);
+
+    /**
+     * Finds enrollments by student ID as DTOs without loading any entity
+     * 
+     * @param studentId the student ID
+     * @param pageable pagination information
+     * @return Page of enrollment DTOs for the specified student
+     */
+    @Query(value = ENROLLMENT_DTO_SELECT + " WHERE s.id = :studentId",
+           countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.student.id = :studentId")
+    Page<EnrollmentDto> findDtosByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    /**
+     * Finds enrollments by course ID as DTOs without loading any entity
+     * 
+     * @param courseId the course ID
+     * @param pageable pagination information
+     * @return Page of enrollment DTOs for the specified course
+     */
+    @Query(value = ENROLLMENT_DTO_SELECT + " WHERE c.id = :courseId",
+           countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
+    Page<EnrollmentDto> findDtosByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    /**
+     * Finds enrollments by status as DTOs without loading any entity
+     * 
+     * @param enrollmentStatus the enrollment status
+     * @param pageable pagination information
+     * @return Page of enrollment DTOs with the specified status
+     */
+    @Query(value = ENROLLMENT_DTO_SELECT + " WHERE e.enrollmentStatus = :enrollmentStatus",
+           countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.enrollmentStatus = :enrollmentStatus")
+    Page<EnrollmentDto> findDtosByEnrollmentStatus(@Param("enrollmentStatus") Enrollment.EnrollmentStatus enrollmentStatus,
+                                                   Pageable pageable);
+
+    /**
+     * Gets the enrollment status of students that already have an enrollment in a course
+     * 
+     * @param courseId the course ID
+     * @param studentIds the student IDs to check
+     * @return List of [student_id, enrollment_status] for the students with an enrollment
+     */
+    @Query("SELECT e.student.id, e.enrollmentStatus FROM Enrollment e " +
+           "WHERE e.course.id = :courseId AND e.student.id IN :studentIds")
+    List<Object[]> findStatusesByCourseIdAndStudentIds(@Param("courseId") Long courseId,
+                                                      @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Finds the transcript entries of a student, oldest completion first
+     * 
+     * @param studentId the student ID
+     * @return List of transcript entry DTOs for the enrollments that are no longer active
+     */
+    @Query("SELECT new com.educagestor.dto.student.TranscriptEntryDto(" +
+           "c.id, c.courseCode, c.courseName, c.credits, e.enrollmentStatus, e.completionDate, " +
+           "e.finalGrade, e.gradeLetter, e.creditsEarned) " +
+           "FROM Enrollment e JOIN e.course c " +
+           "WHERE e.student.id = :studentId AND e.enrollmentStatus <> 'ENROLLED' " +
+           "ORDER BY e.completionDate, c.courseCode")
+    List<TranscriptEntryDto> findTranscriptEntriesByStudentId(@Param("studentId") Long studentId);
 }
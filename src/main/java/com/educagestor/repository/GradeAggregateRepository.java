@@ -0,0 +1,124 @@
+package com.educagestor.repository;
+
+import com.educagestor.entity.GradeAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for GradeAggregate entity operations
+ *
+ * Aggregates are only modified through the atomic update queries below, so
+ * concurrent grade writes on the same student and course never lose an update.
+ * Double parameters used in arithmetic are cast explicitly so every dialect
+ * renders a complete cast type.
+ */
+@Repository
+public interface GradeAggregateRepository extends JpaRepository<GradeAggregate, Long> {
+
+    /**
+     * Finds the aggregate of a student in a course
+     *
+     * @param studentId the student ID
+     * @param courseId the course ID
+     * @return Optional containing the aggregate if the student has grades in the course
+     */
+    Optional<GradeAggregate> findByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    /**
+     * Adds grades to an existing aggregate
+     *
+     * @param studentId the student ID
+     * @param courseId the course ID
+     * @param count number of grades added
+     * @param sum sum of the added grade values
+     * @param weightedSum sum of the added grade values times their weights
+     * @param weightTotal sum of the added weights
+     * @param min lowest added grade value
+     * @param max highest added grade value
+     * @return number of updated aggregates, 0 if the aggregate does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE GradeAggregate a SET a.gradeCount = a.gradeCount + :count, a.gradeSum = a.gradeSum + CAST(:sum AS Double), " +
+           "a.weightedSum = a.weightedSum + CAST(:weightedSum AS Double), a.weightTotal = a.weightTotal + CAST(:weightTotal AS Double), " +
+           "a.minGrade = CASE WHEN a.minGrade IS NULL OR :min < a.minGrade THEN :min ELSE a.minGrade END, " +
+           "a.maxGrade = CASE WHEN a.maxGrade IS NULL OR :max > a.maxGrade THEN :max ELSE a.maxGrade END, " +
+           "a.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE a.studentId = :studentId AND a.courseId = :courseId")
+    int addGrades(@Param("studentId") Long studentId, @Param("courseId") Long courseId,
+                  @Param("count") long count, @Param("sum") double sum,
+                  @Param("weightedSum") double weightedSum, @Param("weightTotal") double weightTotal,
+                  @Param("min") double min, @Param("max") double max);
+
+    /**
+     * Removes a grade from an aggregate, leaving the minimum and maximum untouched
+     *
+     * @param studentId the student ID
+     * @param courseId the course ID
+     * @param value the removed grade value
+     * @param weight the removed grade weight
+     * @return number of updated aggregates
+     */
+    @Modifying
+    @Query("UPDATE GradeAggregate a SET a.gradeCount = a.gradeCount - 1, a.gradeSum = a.gradeSum - CAST(:value AS Double), " +
+           "a.weightedSum = a.weightedSum - CAST(:value AS Double) * CAST(:weight AS Double), a.weightTotal = a.weightTotal - CAST(:weight AS Double), " +
+           "a.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE a.studentId = :studentId AND a.courseId = :courseId")
+    int removeGrade(@Param("studentId") Long studentId, @Param("courseId") Long courseId,
+                    @Param("value") double value, @Param("weight") double weight);
+
+    /**
+     * Recomputes the minimum and maximum of an aggregate from its grades when a removed
+     * value was one of them
+     *
+     * @param studentId the student ID
+     * @param courseId the course ID
+     * @param value the removed grade value
+     * @return number of updated aggregates, 0 if the extremes were not affected
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE GradeAggregate a SET " +
+           "a.minGrade = (SELECT MIN(g.gradeValue) FROM Grade g WHERE g.student.id = a.studentId AND g.course.id = a.courseId AND g.isDropped = false), " +
+           "a.maxGrade = (SELECT MAX(g.gradeValue) FROM Grade g WHERE g.student.id = a.studentId AND g.course.id = a.courseId AND g.isDropped = false) " +
+           "WHERE a.studentId = :studentId AND a.courseId = :courseId AND (a.minGrade >= :value OR a.maxGrade <= :value)")
+    int recomputeExtremesIfBoundary(@Param("studentId") Long studentId, @Param("courseId") Long courseId,
+                                    @Param("value") double value);
+
+    /**
+     * Deletes an aggregate left without grades
+     *
+     * @param studentId the student ID
+     * @param courseId the course ID
+     * @return number of deleted aggregates
+     */
+    @Modifying
+    @Query("DELETE FROM GradeAggregate a WHERE a.studentId = :studentId AND a.courseId = :courseId AND a.gradeCount <= 0")
+    int deleteIfEmpty(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    /**
+     * Deletes every aggregate
+     *
+     * @return number of deleted aggregates
+     */
+    @Modifying
+    @Query("DELETE FROM GradeAggregate a")
+    int deleteAllAggregates();
+
+    /**
+     * Recreates the aggregates of every student and course from the grades table
+     *
+     * @return number of created aggregates
+     */
+    @Modifying
+    @Query("INSERT INTO GradeAggregate (studentId, courseId, gradeCount, gradeSum, weightedSum, weightTotal, " +
+           "minGrade, maxGrade, updatedAt) " +
+           "SELECT g.student.id, g.course.id, COUNT(g), SUM(g.gradeValue), " +
+           "SUM(g.gradeValue * COALESCE(g.weight, 1.0)), SUM(COALESCE(g.weight, 1.0)), " +
+           "MIN(g.gradeValue), MAX(g.gradeValue), CURRENT_TIMESTAMP " +
+           "FROM Grade g WHERE g.isDropped = false GROUP BY g.student.id, g.course.id")
+    int insertAggregatesFromGrades();
+}
@@ -4,12 +4,14 @@ import com.educagestor.entity.Grade;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Grade entity operations
@@ -18,7 +20,7 @@ import java.util.List;
  * including custom queries for grade management and academic analytics.
  */
 @Repository
-public interface GradeRepository extends JpaRepository<Grade, Long> {
+public interface GradeRepository extends JpaRepository<Grade, Long>, JpaSpecificationExecutor<Grade> {
 
     /**
      * Finds grades by student ID
@@ -48,6 +50,66 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
      */
     Page<Grade> findByStudentIdAndCourseId(Long studentId, Long courseId, Pageable pageable);
 
+    /**
+     * Finds all grades with student, user and course fetched in the same query
+     * 
+     * The count query skips the joins, which are all to-one and cannot change the row count.
+     * 
+     * @param pageable pagination information
+     * @return Page of grades with their associations initialized
+     */
+    @Query(value = "SELECT g FROM Grade g JOIN FETCH g.student s JOIN FETCH s.user JOIN FETCH g.course",
+           countQuery = "SELECT COUNT(g) FROM Grade g")
+    Page<Grade> findAllWithStudentAndCourse(Pageable pageable);
+
+    /**
+     * Finds grades by student ID with student, user and course fetched in the same query
+     * 
+     * @param studentId the student ID
+     * @param pageable pagination information
+     * @return Page of grades for the specified student
+     */
+    @Query(value = "SELECT g FROM Grade g JOIN FETCH g.student s JOIN FETCH s.user JOIN FETCH g.course " +
+                   "WHERE g.student.id = :studentId",
+           countQuery = "SELECT COUNT(g) FROM Grade g WHERE g.student.id = :studentId")
+    Page<Grade> findByStudentIdWithStudentAndCourse(@Param("studentId") Long studentId, Pageable pageable);
+
+    /**
+     * Finds grades by course ID with student, user and course fetched in the same query
+     * 
+     * @param courseId the course ID
+     * @param pageable pagination information
+     * @return Page of grades for the specified course
+     */
+    @Query(value = "SELECT g FROM Grade g JOIN FETCH g.student s JOIN FETCH s.user JOIN FETCH g.course " +
+                   "WHERE g.course.id = :courseId",
+           countQuery = "SELECT COUNT(g) FROM Grade g WHERE g.course.id = :courseId")
+    Page<Grade> findByCourseIdWithStudentAndCourse(@Param("courseId") Long courseId, Pageable pageable);
+
+    /**
+     * Finds grades by student and course with student, user and course fetched in the same query
+     * 
+     * @param studentId the student ID
+     * @param courseId the course ID
+     * @param pageable pagination information
+     * @return Page of grades for the specified student and course
+     */
+    @Query(value = "SELECT g FROM Grade g JOIN FETCH g.student s JOIN FETCH s.user JOIN FETCH g.course " +
+                   "WHERE g.student.id = :studentId AND g.course.id = :courseId",
+           countQuery = "SELECT COUNT(g) FROM Grade g WHERE g.student.id = :studentId AND g.course.id = :courseId")
+    Page<Grade> findByStudentIdAndCourseIdWithStudentAndCourse(@Param("studentId") Long studentId,
+                                                               @Param("courseId") Long courseId,
+                                                               Pageable pageable);
+
+    /**
+     * Finds a grade by ID with student, user and course fetched in the same query
+     * 
+     * @param id the grade ID
+     * @return Optional containing the grade if found
+     */
+    @Query("SELECT g FROM Grade g JOIN FETCH g.student s JOIN FETCH s.user JOIN FETCH g.course WHERE g.id = :id")
+    Optional<Grade> findByIdWithStudentAndCourse(@Param("id") Long id);
+
     /**
      * Finds grades by grade type
      * 
@@ -182,4 +244,14 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
            "ELSE 'F' " +
            "END")
     List<Object[]> getGradeDistribution(@Param("courseId") Long courseId);
+
+    /**
+     * Counts the non-dropped grades of a course per distinct grade value
+     * 
+     * @param courseId the course ID
+     * @return List of [grade_value, count] pairs
+     */
+    @Query("SELECT g.gradeValue, COUNT(g) FROM Grade g WHERE g.course.id = :courseId AND g.isDropped = false " +
+           "GROUP BY g.gradeValue")
+    List<Object[]> countGradeValuesByCourseId(@Param("courseId") Long courseId);
 }
@@ -0,0 +1,82 @@
+package com.educagestor.repository;
+
+import com.educagestor.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for RefreshToken entity operations
+ *
+ * Rotation and revocation are conditional updates, so two requests presenting the
+ * same refresh token concurrently cannot both rotate it.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Finds a refresh token by its token ID
+     *
+     * @param tokenId the token ID (jti claim)
+     * @return Optional containing the refresh token if it was issued
+     */
+    Optional<RefreshToken> findByTokenId(String tokenId);
+
+    /**
+     * Marks a refresh token as used if it was neither used nor revoked yet
+     *
+     * @param tokenId the token ID
+     * @param rotatedAt rotation time
+     * @return 1 if the token was rotated, 0 if it had already been used or revoked
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.rotatedAt = :rotatedAt " +
+           "WHERE t.tokenId = :tokenId AND t.rotatedAt IS NULL AND t.revokedAt IS NULL")
+    int markRotated(@Param("tokenId") String tokenId, @Param("rotatedAt") LocalDateTime rotatedAt);
+
+    /**
+     * Revokes every token of a family that is not revoked yet
+     *
+     * @param familyId the family ID
+     * @param revokedAt revocation time
+     * @return number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :revokedAt WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Finds the tokens of a family whose access token has not expired yet
+     *
+     * @param familyId the family ID
+     * @param now current time
+     * @return tokens whose access token may still be presented
+     */
+    List<RefreshToken> findByFamilyIdAndAccessExpiresAtAfter(String familyId, LocalDateTime now);
+
+    /**
+     * Finds the tokens revoked since a given time whose access token has not expired yet
+     *
+     * @param since lower bound of the revocation time
+     * @param now current time
+     * @return revoked tokens whose access token may still be presented
+     */
+    @Query("SELECT t FROM RefreshToken t WHERE t.revokedAt >= :since AND t.accessExpiresAt > :now")
+    List<RefreshToken> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes the tokens whose refresh and access tokens have both expired
+     *
+     * @param now current time
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now AND t.accessExpiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -4,11 +4,14 @@ import com.educagestor.entity.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +22,7 @@ import java.util.Optional;
  * including custom queries for student management and academic tracking.
  */
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
 
     /**
      * Finds student by student ID
@@ -37,6 +40,25 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     Optional<Student> findByUserId(Long userId);
 
+    /**
+     * Finds all students with their user fetched in the same query
+     * 
+     * @param pageable pagination information
+     * @return Page of students with their user initialized
+     */
+    @Query(value = "SELECT s FROM Student s JOIN FETCH s.user",
+           countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<Student> findAllWithUser(Pageable pageable);
+
+    /**
+     * Finds students by ID with their user fetched in the same query
+     * 
+     * @param ids the student IDs to load
+     * @return students with their user initialized, in no particular order
+     */
+    @Query("SELECT s FROM Student s JOIN FETCH s.user WHERE s.id IN :ids")
+    List<Student> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Checks if student ID exists
      * 
@@ -50,9 +72,11 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      * 
      * @param academicStatus the academic status to search for
      * @param pageable pagination information
-     * @return Page of students with the specified academic status
+     * @return Page of students with the specified academic status, user fetched
      */
-    Page<Student> findByAcademicStatus(Student.AcademicStatus academicStatus, Pageable pageable);
+    @Query(value = "SELECT s FROM Student s JOIN FETCH s.user WHERE s.academicStatus = :academicStatus",
+           countQuery = "SELECT COUNT(s) FROM Student s WHERE s.academicStatus = :academicStatus")
+    Page<Student> findByAcademicStatus(@Param("academicStatus") Student.AcademicStatus academicStatus, Pageable pageable);
 
     /**
      * Finds students enrolled between dates
@@ -71,10 +95,14 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      * @param pageable pagination information
      * @return Page of students matching the search criteria
      */
-    @Query("SELECT s FROM Student s JOIN s.user u WHERE " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(s.studentId) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query(value = "SELECT s FROM Student s JOIN FETCH s.user u WHERE " +
+                   "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(s.studentId) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+           countQuery = "SELECT COUNT(s) FROM Student s JOIN s.user u WHERE " +
+                        "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(s.studentId) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<Student> findBySearchTerm(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     /**
@@ -115,4 +143,95 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s WHERE " +
            "YEAR(CURRENT_DATE) - YEAR(s.dateOfBirth) BETWEEN :minAge AND :maxAge")
     Page<Student> findByAgeRange(@Param("minAge") int minAge, @Param("maxAge") int maxAge, Pageable pageable);
+
+    /**
+     * Finds which of the given student IDs exist
+     * 
+     * @param ids the student IDs to check
+     * @return List of existing student IDs
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Resolves student codes to student IDs
+     * 
+     * @param studentCodes the student codes to resolve
+     * @return List of [student_code, id] pairs for the codes that exist
+     */
+    @Query("SELECT s.studentId, s.id FROM Student s WHERE s.studentId IN :studentCodes")
+    List<Object[]> findIdsByStudentCodes(@Param("studentCodes") Collection<String> studentCodes);
+
+    /**
+     * Gets the enrollment-relevant columns of students by ID
+     * 
+     * @param ids the student IDs
+     * @return List of [id, student_code, academic_status] for the IDs that exist
+     */
+    @Query("SELECT s.id, s.studentId, s.academicStatus FROM Student s WHERE s.id IN :ids")
+    List<Object[]> findEnrollmentCandidatesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Gets the enrollment-relevant columns of students by student code
+     * 
+     * @param studentCodes the student codes
+     * @return List of [id, student_code, academic_status] for the codes that exist
+     */
+    @Query("SELECT s.id, s.studentId, s.academicStatus FROM Student s WHERE s.studentId IN :studentCodes")
+    List<Object[]> findEnrollmentCandidatesByStudentCodes(@Param("studentCodes") Collection<String> studentCodes);
+
+    /**
+     * Gets the searchable columns of students after an ID, in ID order
+     * 
+     * @param afterId the last ID already read
+     * @param pageable page size of the read
+     * @return List of [id, student_code, first_name, last_name]
+     */
+    @Query("SELECT s.id, s.studentId, u.firstName, u.lastName FROM Student s JOIN s.user u WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Gets the searchable columns of students by ID
+     * 
+     * @param ids the IDs to read
+     * @return List of [id, student_code, first_name, last_name]
+     */
+    @Query("SELECT s.id, s.studentId, u.firstName, u.lastName FROM Student s JOIN s.user u WHERE s.id IN :ids")
+    List<Object[]> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Gets the ID of the student linked to a user
+     * 
+     * @param userId the user ID
+     * @return Optional containing the student ID if the user is a student
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * Gets the student code and full name shown on a transcript
+     * 
+     * @param id the student entity ID
+     * @return List holding one [student_id, full_name] row, empty if the student does not exist
+     */
+    @Query("SELECT s.studentId, CONCAT(u.firstName, ' ', u.lastName) FROM Student s JOIN s.user u WHERE s.id = :id")
+    List<Object[]> findTranscriptHeaderById(@Param("id") Long id);
+
+    /**
+     * Gets the IDs of the students changed since a given time
+     * 
+     * @param since lower bound of the update time
+     * @return IDs of the changed students
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Gets the IDs of the students linked to users
+     * 
+     * @param userIds the user IDs
+     * @return IDs of the students linked to any of the users
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.user.id IN :userIds")
+    List<Long> findIdsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,14 +1,20 @@
 package com.educagestor.repository;
 
 import com.educagestor.entity.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +25,7 @@ import java.util.Optional;
  * including custom queries for teacher management and course assignments.
  */
 @Repository
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, JpaSpecificationExecutor<Teacher> {
 
     /**
      * Finds teacher by employee ID
@@ -37,6 +43,25 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
      */
     Optional<Teacher> findByUserId(Long userId);
 
+    /**
+     * Finds all teachers with their user fetched in the same query
+     * 
+     * @param pageable pagination information
+     * @return Page of teachers with their user initialized
+     */
+    @Query(value = "SELECT t FROM Teacher t JOIN FETCH t.user",
+           countQuery = "SELECT COUNT(t) FROM Teacher t")
+    Page<Teacher> findAllWithUser(Pageable pageable);
+
+    /**
+     * Finds teachers by ID with their user fetched in the same query
+     * 
+     * @param ids the teacher IDs to load
+     * @return teachers with their user initialized, in no particular order
+     */
+    @Query("SELECT t FROM Teacher t JOIN FETCH t.user WHERE t.id IN :ids")
+    List<Teacher> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Checks if employee ID exists
      * 
@@ -50,9 +75,11 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
      * 
      * @param department the department to search for
      * @param pageable pagination information
-     * @return Page of teachers in the specified department
+     * @return Page of teachers in the specified department, user fetched
      */
-    Page<Teacher> findByDepartment(String department, Pageable pageable);
+    @Query(value = "SELECT t FROM Teacher t JOIN FETCH t.user WHERE t.department = :department",
+           countQuery = "SELECT COUNT(t) FROM Teacher t WHERE t.department = :department")
+    Page<Teacher> findByDepartment(@Param("department") String department, Pageable pageable);
 
     /**
      * Finds teachers by employment status
@@ -79,11 +106,16 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
      * @param pageable pagination information
      * @return Page of teachers matching the search criteria
      */
-    @Query("SELECT t FROM Teacher t JOIN t.user u WHERE " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.employeeId) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.department) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query(value = "SELECT t FROM Teacher t JOIN FETCH t.user u WHERE " +
+                   "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(t.employeeId) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(t.department) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+           countQuery = "SELECT COUNT(t) FROM Teacher t JOIN t.user u WHERE " +
+                        "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(t.employeeId) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(t.department) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<Teacher> findBySearchTerm(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     /**
@@ -102,6 +134,7 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
      * @return List of distinct departments
      */
     @Query("SELECT DISTINCT t.department FROM Teacher t WHERE t.department IS NOT NULL ORDER BY t.department")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<String> findAllDepartments();
 
     /**
@@ -137,4 +170,50 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
      */
     @Query("SELECT COUNT(t) FROM Teacher t WHERE t.employmentStatus = 'ACTIVE'")
     Long countActiveTeachers();
+
+    /**
+     * Gets the searchable columns of teachers after an ID, in ID order
+     * 
+     * @param afterId the last ID already read
+     * @param pageable page size of the read
+     * @return List of [id, employee_id, first_name, last_name, department]
+     */
+    @Query("SELECT t.id, t.employeeId, u.firstName, u.lastName, t.department FROM Teacher t JOIN t.user u WHERE t.id > :afterId ORDER BY t.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Gets the searchable columns of teachers by ID
+     * 
+     * @param ids the IDs to read
+     * @return List of [id, employee_id, first_name, last_name, department]
+     */
+    @Query("SELECT t.id, t.employeeId, u.firstName, u.lastName, t.department FROM Teacher t JOIN t.user u WHERE t.id IN :ids")
+    List<Object[]> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Gets the ID of the teacher linked to a user
+     * 
+     * @param userId the user ID
+     * @return Optional containing the teacher ID if the user is a teacher
+     */
+    @Query("SELECT t.id FROM Teacher t WHERE t.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * Gets the IDs of the teachers changed since a given time
+     * 
+     * @param since lower bound of the update time
+     * @return IDs of the changed teachers
+     */
+    @Query("SELECT t.id FROM Teacher t WHERE t.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Gets the IDs of the teachers linked to users
+     * 
+     * @param userIds the user IDs
+     * @return IDs of the teachers linked to any of the users
+     */
+    @Query("SELECT t.id FROM Teacher t WHERE t.user.id IN :userIds")
+    List<Long> findIdsByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -5,10 +5,14 @@ import com.educagestor.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +23,7 @@ import java.util.Optional;
  * including custom queries for authentication and user management.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     /**
      * Finds user by username
@@ -114,4 +118,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT DISTINCT u FROM User u JOIN u.roles r WHERE r IN :roles")
     List<User> findByRolesIn(@Param("roles") List<Role> roles);
+
+    /**
+     * Gets the searchable columns of users after an ID, in ID order
+     * 
+     * @param afterId the last ID already read
+     * @param pageable page size of the read
+     * @return List of [id, username, first_name, last_name, email]
+     */
+    @Query("SELECT u.id, u.username, u.firstName, u.lastName, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Gets the searchable columns of users by ID
+     * 
+     * @param ids the IDs to read
+     * @return List of [id, username, first_name, last_name, email]
+     */
+    @Query("SELECT u.id, u.username, u.firstName, u.lastName, u.email FROM User u WHERE u.id IN :ids")
+    List<Object[]> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Replaces the password hash of a user
+     * 
+     * @param username the username
+     * @param password the new password hash
+     * @return number of updated users
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    /**
+     * Finds the usernames of the users changed since a given time
+     * 
+     * @param since lower bound of the update time
+     * @return username and update time of each changed user
+     */
+    @Query("SELECT u.username, u.updatedAt FROM User u WHERE u.updatedAt >= :since")
+    List<Object[]> findUsernamesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Gets the IDs of the users changed since a given time
+     * 
+     * @param since lower bound of the update time
+     * @return IDs of the changed users
+     */
+    @Query("SELECT u.id FROM User u WHERE u.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
 }
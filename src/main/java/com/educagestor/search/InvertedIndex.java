@@ -0,0 +1,328 @@
+package com.educagestor.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over weighted text fields
+ *
+ * Terms are kept in a sorted map so that prefixes can be expanded with a range scan,
+ * and each term maps to a postings list of document IDs sorted ascending with the
+ * field weight the term was found in. Queries match every query token (AND) by exact
+ * term, by prefix, or by a single edit when neither finds anything, and results are
+ * ranked by weight times inverse document frequency. Keyword fields, such as emails,
+ * are indexed whole as one term, and a query equal to an indexed keyword matches it alone.
+ *
+ * The index is safe for concurrent use: searches share a read lock and updates take
+ * the write lock.
+ */
+public class InvertedIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final float PREFIX_FACTOR = 0.7f;
+
+    private static final float FUZZY_FACTOR = 0.5f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    /**
+     * Adds or replaces a document
+     *
+     * @param id the document ID
+     * @param fields the weighted text fields of the document
+     */
+    public void put(long id, Field... fields) {
+        Map<String, Float> terms = new HashMap<>();
+        for (Field field : fields) {
+            if (!field.keyword()) {
+                for (String term : tokenize(field.text())) {
+                    terms.merge(term, field.weight(), Math::max);
+                }
+            } else if (field.text() != null && !field.text().isBlank()) {
+                terms.merge(normalize(field.text()).strip(), field.weight(), Math::max);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new Postings()).put(id, weight));
+            documents.put(id, terms.keySet().toArray(new String[0]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document
+     *
+     * @param id the document ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed documents
+     *
+     * @return document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index
+     *
+     * @param query free text query
+     * @param offset number of ranked hits to skip
+     * @param limit maximum number of hits to return
+     * @return ranked page of document IDs and the total number of hits
+     */
+    public SearchResult search(String query, long offset, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        Map<Long, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(documents.size(), 1);
+            // The tokens of a keyword, like the domain of an email, are not all indexed
+            Postings keyword = tokens.size() > 1 ? postings.get(normalize(query).strip()) : null;
+            if (keyword != null) {
+                scores = new HashMap<>();
+                keyword.addScores(scores, idf(keyword, documentCount));
+                tokens = List.of();
+            }
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = scoreToken(token, documentCount);
+                scores = scores == null ? tokenScores : intersect(scores, tokenScores);
+                if (scores.isEmpty()) {
+                    return new SearchResult(List.of(), 0);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (long i = offset; i < ranked.size() && ids.size() < limit; i++) {
+            ids.add(ranked.get((int) i).getKey());
+        }
+        return new SearchResult(ids, ranked.size());
+    }
+
+    /**
+     * Splits text into normalized terms: lower case, without diacritics, on non-alphanumerics
+     *
+     * @param text the text to split
+     * @return list of terms
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalize(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String normalize(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private Map<Long, Float> scoreToken(String token, int documentCount) {
+        Map<Long, Float> scores = new HashMap<>();
+
+        Postings exact = postings.get(token);
+        if (exact != null) {
+            exact.addScores(scores, idf(exact, documentCount));
+        }
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            // Every term with the prefix is expanded, a cap would silently drop matches and undercount the total
+            for (Map.Entry<String, Postings> entry : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                entry.getValue().addScores(scores, PREFIX_FACTOR * idf(entry.getValue(), documentCount));
+            }
+        }
+
+        if (scores.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            // Terms within one edit sharing the first character
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Postings> entry : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                if (withinOneEdit(token, entry.getKey())) {
+                    entry.getValue().addScores(scores, FUZZY_FACTOR * idf(entry.getValue(), documentCount));
+                }
+            }
+        }
+
+        return scores;
+    }
+
+    private Map<Long, Float> intersect(Map<Long, Float> left, Map<Long, Float> right) {
+        Map<Long, Float> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Float> larger = smaller == left ? right : left;
+
+        Map<Long, Float> result = new HashMap<>();
+        smaller.forEach((id, score) -> {
+            Float other = larger.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private float idf(Postings termPostings, int documentCount) {
+        return (float) Math.log(1.0 + (double) documentCount / termPostings.size);
+    }
+
+    private void removeInternal(long id) {
+        String[] terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null && termPostings.remove(id) && termPostings.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Checks if two terms differ by at most one insertion, deletion, substitution or transposition
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDifference > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDifference < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (i >= a.length() - 1) {
+            return true;
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    /**
+     * Document IDs containing a term, sorted ascending, with the term weight per document
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+
+        private float[] weights = new float[2];
+
+        private int size;
+
+        void put(long id, float weight) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(weights, index, weights, index + 1, size - index);
+            ids[index] = id;
+            weights[index] = weight;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void addScores(Map<Long, Float> scores, float factor) {
+            for (int i = 0; i < size; i++) {
+                scores.merge(ids[i], weights[i] * factor, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Weighted text field of a document
+     *
+     * @param text the field text
+     * @param weight the boost applied to terms found in this field
+     * @param keyword whether the whole text is indexed as one term instead of being tokenized
+     */
+    public record Field(String text, float weight, boolean keyword) {
+
+        public Field(String text, float weight) {
+            this(text, weight, false);
+        }
+    }
+
+    /**
+     * Ranked page of matching document IDs
+     *
+     * @param ids the document IDs of the requested page, best match first
+     * @param total the total number of matching documents
+     */
+    public record SearchResult(List<Long> ids, long total) { }
+}
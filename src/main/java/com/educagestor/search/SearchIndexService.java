@@ -0,0 +1,375 @@
+package com.educagestor.search;
+
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.TeacherRepository;
+import com.educagestor.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Service maintaining the in-memory search indexes of courses, students, teachers and users
+ *
+ * The indexes are built from the database when the application starts and refreshed
+ * after every committed write reported by the services, so they only ever reflect
+ * committed data. Until an index has been built, or when indexing is disabled,
+ * searches fall back to the repository LIKE queries.
+ *
+ * Rows changed since the previous sync are also re-read by their update time on a
+ * fixed schedule. This picks up writes made by other instances and repairs refreshes
+ * that failed after their transaction committed.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final float CODE_WEIGHT = 3.0f;
+
+    private static final float NAME_WEIGHT = 2.0f;
+
+    private static final float TEXT_WEIGHT = 1.0f;
+
+    // Update times are written with each instance's clock, the overlap absorbs clock skew
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    // Keeps the IN lists of the refresh queries under every database's parameter limit
+    private static final int SYNC_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.bootstrap-page-size:5000}")
+    private int bootstrapPageSize;
+
+    private final Map<IndexType, InvertedIndex> indexes = new EnumMap<>(IndexType.class);
+
+    private final Set<IndexKey> changedDuringBootstrap = Collections.synchronizedSet(new HashSet<>());
+
+    private volatile boolean bootstrapping;
+
+    private volatile boolean ready;
+
+    private volatile LocalDateTime lastSync;
+
+    public SearchIndexService() {
+        for (IndexType type : IndexType.values()) {
+            indexes.put(type, new InvertedIndex());
+        }
+    }
+
+    /**
+     * Builds the indexes in the background once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrapOnStartup() {
+        if (!enabled) {
+            logger.info("Search index disabled - searches use database LIKE queries");
+            return;
+        }
+
+        Thread bootstrap = new Thread(this::rebuild, "search-index-bootstrap");
+        bootstrap.setDaemon(true);
+        bootstrap.start();
+    }
+
+    /**
+     * Rebuilds every index from the database
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        bootstrapping = true;
+        try {
+            for (IndexType type : IndexType.values()) {
+                Long afterId = 0L;
+                List<Object[]> rows;
+                do {
+                    rows = loadAfter(type, afterId);
+                    for (Object[] row : rows) {
+                        put(type, row);
+                        afterId = (Long) row[0];
+                    }
+                } while (rows.size() == bootstrapPageSize);
+            }
+
+            // Documents committed while their page was being read may have been indexed stale
+            List<IndexKey> changed;
+            synchronized (changedDuringBootstrap) {
+                changed = new ArrayList<>(changedDuringBootstrap);
+                changedDuringBootstrap.clear();
+            }
+            changed.forEach(key -> refresh(key.type(), key.id()));
+
+            lastSync = startedAt;
+            ready = true;
+            logger.info("Search indexes built in {} ms - {} courses, {} students, {} teachers, {} users",
+                    System.currentTimeMillis() - start, indexes.get(IndexType.COURSE).size(),
+                    indexes.get(IndexType.STUDENT).size(), indexes.get(IndexType.TEACHER).size(),
+                    indexes.get(IndexType.USER).size());
+        } catch (RuntimeException e) {
+            logger.error("Search index bootstrap failed - searches keep using database LIKE queries", e);
+        } finally {
+            bootstrapping = false;
+        }
+    }
+
+    /**
+     * Re-reads the courses, students, teachers and users changed since the previous sync,
+     * including those changed by other instances
+     *
+     * @return number of refreshed documents
+     */
+    @Scheduled(fixedDelayString = "${search.index.sync-interval-ms:60000}")
+    public int syncChanges() {
+        if (!isAvailable()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync.minus(SYNC_OVERLAP);
+        int refreshed = 0;
+        try {
+            List<Long> userIds = userRepository.findIdsUpdatedSince(since);
+            Set<Long> studentIds = new HashSet<>(studentRepository.findIdsUpdatedSince(since));
+            Set<Long> teacherIds = new HashSet<>(teacherRepository.findIdsUpdatedSince(since));
+            // Student and teacher documents hold the names of their users
+            for (List<Long> chunk : chunks(userIds)) {
+                studentIds.addAll(studentRepository.findIdsByUserIds(chunk));
+                teacherIds.addAll(teacherRepository.findIdsByUserIds(chunk));
+            }
+
+            refreshed += refreshAll(IndexType.USER, userIds);
+            refreshed += refreshAll(IndexType.STUDENT, studentIds);
+            refreshed += refreshAll(IndexType.TEACHER, teacherIds);
+            refreshed += refreshAll(IndexType.COURSE, courseRepository.findIdsUpdatedSince(since));
+            lastSync = now;
+        } catch (RuntimeException e) {
+            // The next sync reads the same changes again
+            logger.error("Search index sync failed", e);
+        }
+
+        logger.debug("Search index sync refreshed {} document(s)", refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Checks if searches can be served from the index
+     *
+     * @return true if indexing is enabled and the indexes are built
+     */
+    public boolean isAvailable() {
+        return enabled && ready;
+    }
+
+    /**
+     * Searches an index
+     *
+     * @param type the index to search
+     * @param searchTerm free text query
+     * @param pageable pagination information, sorting is replaced by relevance
+     * @return ranked page of entity IDs
+     */
+    public Page<Long> search(IndexType type, String searchTerm, Pageable pageable) {
+        InvertedIndex.SearchResult result = indexes.get(type).search(searchTerm, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(result.ids(), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), result.total());
+    }
+
+    /**
+     * Loads the entities of a page of IDs, keeping the ranking order
+     *
+     * @param ids ranked page of entity IDs
+     * @param loader loads entities by ID in any order
+     * @param idOf extracts the ID of an entity
+     * @return page of entities in ranking order
+     */
+    public <T> Page<T> loadPage(Page<Long> ids, Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : loader.apply(ids.getContent())) {
+            byId.put(idOf.apply(entity), entity);
+        }
+
+        List<T> ordered = ids.getContent().stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Refreshes a course in the index once the current transaction commits
+     *
+     * @param courseId the course ID
+     */
+    public void courseChanged(Long courseId) {
+        afterCommit(() -> refresh(IndexType.COURSE, courseId));
+    }
+
+    /**
+     * Refreshes a user, and the student or teacher linked to it, once the current transaction commits
+     *
+     * @param userId the user ID
+     */
+    public void userChanged(Long userId) {
+        afterCommit(() -> {
+            refresh(IndexType.USER, userId);
+            studentRepository.findIdByUserId(userId).ifPresent(id -> refresh(IndexType.STUDENT, id));
+            teacherRepository.findIdByUserId(userId).ifPresent(id -> refresh(IndexType.TEACHER, id));
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runSafely(action);
+                }
+            });
+        } else {
+            runSafely(action);
+        }
+    }
+
+    private void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            // The committed write must not fail because of the index, the next sync repairs it
+            logger.error("Failed to refresh search index", e);
+        }
+    }
+
+    private void refresh(IndexType type, Long id) {
+        if (bootstrapping) {
+            changedDuringBootstrap.add(new IndexKey(type, id));
+        }
+
+        List<Object[]> rows = loadByIds(type, List.of(id));
+        if (rows.isEmpty()) {
+            indexes.get(type).remove(id);
+        } else {
+            put(type, rows.get(0));
+        }
+    }
+
+    private int refreshAll(IndexType type, Collection<Long> ids) {
+        for (List<Long> chunk : chunks(ids)) {
+            Set<Long> missing = new HashSet<>(chunk);
+            for (Object[] row : loadByIds(type, chunk)) {
+                put(type, row);
+                missing.remove((Long) row[0]);
+            }
+            missing.forEach(indexes.get(type)::remove);
+        }
+        return ids.size();
+    }
+
+    private List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += SYNC_CHUNK_SIZE) {
+            chunks.add(list.subList(i, Math.min(i + SYNC_CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    private List<Object[]> loadAfter(IndexType type, Long afterId) {
+        Pageable page = PageRequest.of(0, bootstrapPageSize);
+        return switch (type) {
+            case COURSE -> courseRepository.findSearchDocuments(afterId, page);
+            case STUDENT -> studentRepository.findSearchDocuments(afterId, page);
+            case TEACHER -> teacherRepository.findSearchDocuments(afterId, page);
+            case USER -> userRepository.findSearchDocuments(afterId, page);
+        };
+    }
+
+    private List<Object[]> loadByIds(IndexType type, List<Long> ids) {
+        return switch (type) {
+            case COURSE -> courseRepository.findSearchDocumentsByIds(ids);
+            case STUDENT -> studentRepository.findSearchDocumentsByIds(ids);
+            case TEACHER -> teacherRepository.findSearchDocumentsByIds(ids);
+            case USER -> userRepository.findSearchDocumentsByIds(ids);
+        };
+    }
+
+    /**
+     * Indexes a row read by the repository search document queries
+     */
+    private void put(IndexType type, Object[] row) {
+        long id = (Long) row[0];
+        InvertedIndex index = indexes.get(type);
+
+        switch (type) {
+            case COURSE -> index.put(id,
+                    field(row[1], CODE_WEIGHT), field(row[2], NAME_WEIGHT), field(row[3], TEXT_WEIGHT));
+            case STUDENT -> index.put(id,
+                    field(row[1], CODE_WEIGHT), field(row[2], NAME_WEIGHT), field(row[3], NAME_WEIGHT));
+            case TEACHER -> index.put(id,
+                    field(row[1], CODE_WEIGHT), field(row[2], NAME_WEIGHT), field(row[3], NAME_WEIGHT),
+                    field(row[4], TEXT_WEIGHT));
+            case USER -> index.put(id,
+                    field(row[1], CODE_WEIGHT), field(row[2], NAME_WEIGHT), field(row[3], NAME_WEIGHT),
+                    field(emailLocalPart((String) row[4]), TEXT_WEIGHT),
+                    new InvertedIndex.Field((String) row[4], CODE_WEIGHT, true));
+        }
+    }
+
+    private InvertedIndex.Field field(Object value, float weight) {
+        return new InvertedIndex.Field((String) value, weight);
+    }
+
+    /**
+     * Only the local part of an email is tokenized, a shared domain would match every user.
+     * The full email is indexed as a keyword.
+     */
+    private String emailLocalPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at >= 0 ? email.substring(0, at) : email;
+    }
+
+    /**
+     * Searchable entity types
+     */
+    public enum IndexType {
+        COURSE,
+        STUDENT,
+        TEACHER,
+        USER
+    }
+
+    private record IndexKey(IndexType type, Long id) { }
+}
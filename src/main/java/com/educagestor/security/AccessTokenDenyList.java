@@ -0,0 +1,131 @@
+package com.educagestor.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory deny-list of revoked access token IDs
+ *
+ * Revoked tokens are grouped in buckets by expiration time, each bucket spanning a
+ * fraction of the access token lifetime. A bucket is dropped as a whole once every
+ * token it holds has expired, as expired tokens are rejected by their signature check
+ * anyway, so the list only ever holds tokens that could still be presented.
+ *
+ * Each bucket has a Bloom filter in front of its exact set of token IDs: the common
+ * case, a token that was never revoked, is answered from a few bit reads, and the
+ * exact set rules out the filter's false positives. Lookups never touch the database.
+ */
+@Component
+public class AccessTokenDenyList {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenDenyList.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    @Value("${jwt.deny-list.buckets:24}")
+    private int bucketCount;
+
+    @Value("${jwt.deny-list.expected-per-bucket:10000}")
+    private int expectedPerBucket;
+
+    @Value("${jwt.deny-list.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private long bucketMillis;
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        this.bucketMillis = Math.max(1000, jwtExpirationMs / Math.max(1, bucketCount));
+        Gauge.builder("educagestor.auth.denied-tokens", this, AccessTokenDenyList::size)
+                .description("Revoked access tokens held in the deny-list until they expire")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Denies an access token until it expires
+     *
+     * @param tokenId the token ID (jti claim)
+     * @param expiresAt the token expiration date
+     */
+    public void deny(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        Bucket bucket = buckets.computeIfAbsent(bucketKey(expiresAt), key -> new Bucket(expectedPerBucket, falsePositiveRate));
+        // The exact set is written first, so a Bloom filter hit always finds the ID in the set
+        if (bucket.tokenIds.add(tokenId)) {
+            bucket.filter.put(tokenId);
+        }
+    }
+
+    /**
+     * Checks if an access token was revoked
+     *
+     * @param tokenId the token ID (jti claim), tokens without one cannot be revoked
+     * @param expiresAt the token expiration date
+     * @return true if the token must be rejected
+     */
+    public boolean isDenied(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+
+        Bucket bucket = buckets.get(bucketKey(expiresAt));
+        return bucket != null && bucket.filter.mightContain(tokenId) && bucket.tokenIds.contains(tokenId);
+    }
+
+    /**
+     * Drops the buckets whose tokens have all expired
+     */
+    @Scheduled(fixedDelayString = "${jwt.deny-list.sweep-interval-ms:60000}")
+    public void sweep() {
+        long currentKey = Math.floorDiv(System.currentTimeMillis(), bucketMillis);
+        if (buckets.keySet().removeIf(key -> key < currentKey)) {
+            logger.debug("Dropped expired deny-list buckets, {} revoked tokens remain", size());
+        }
+    }
+
+    /**
+     * Gets the number of revoked tokens held
+     *
+     * @return number of token IDs in all buckets
+     */
+    public long size() {
+        return buckets.values().stream().mapToLong(bucket -> bucket.tokenIds.size()).sum();
+    }
+
+    // JWT expirations have second precision, so IDs denied from stored dates land in the same bucket
+    private long bucketKey(Date expiresAt) {
+        return Math.floorDiv(expiresAt.getTime() / 1000 * 1000, bucketMillis);
+    }
+
+    private static final class Bucket {
+
+        private final BloomFilter filter;
+
+        private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+
+        private Bucket(int expectedTokens, double falsePositiveRate) {
+            this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+        }
+    }
+}
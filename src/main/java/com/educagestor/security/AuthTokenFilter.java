@@ -1,5 +1,6 @@
 package com.educagestor.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +24,15 @@ import java.io.IOException;
  * 
  * This filter intercepts HTTP requests to extract and validate JWT tokens,
  * setting up the security context for authenticated users.
+ * 
+ * The principal is resolved according to {@code jwt.principal-source}:
+ * - DATABASE: loaded from the database on every request
+ * - CACHE: served from the bounded principal cache, loaded on a miss
+ * - CLAIMS: rebuilt from the token claims, falling back to the cache for
+ *   tokens without principal claims or issued before the user was invalidated
+ * 
+ * Refresh tokens and access tokens revoked on logout or refresh token reuse are
+ * rejected using the in-memory deny-list, without a database lookup.
  */
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -31,6 +42,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private AccessTokenDenyList accessTokenDenyList;
+
+    @Value("${jwt.principal-source:cache}")
+    private PrincipalSource principalSource;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     /**
@@ -47,10 +67,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                    FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseAndValidateJwtToken(jwt) : null;
+            if (claims != null && isRejected(claims)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            if (claims != null) {
+                UserDetails userDetails = resolvePrincipal(claims);
+                if (!userDetails.isEnabled()) {
+                    logger.warn("Rejected token for inactive user: {}", userDetails.getUsername());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -64,6 +93,55 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Checks if a verified token must not authenticate the request
+     * 
+     * @param claims verified token claims
+     * @return true for refresh tokens and revoked access tokens
+     */
+    private boolean isRejected(Claims claims) {
+        if (jwtUtils.isRefreshToken(claims)) {
+            logger.warn("Rejected refresh token used as access token for user: {}", claims.getSubject());
+            return true;
+        }
+        if (accessTokenDenyList.isDenied(claims.getId(), claims.getExpiration())) {
+            logger.warn("Rejected revoked token for user: {}", claims.getSubject());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the authenticated principal for verified token claims
+     * 
+     * @param claims verified token claims
+     * @return user details for the token subject
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+
+        switch (principalSource) {
+            case DATABASE:
+                return userDetailsService.loadUserByUsername(username);
+            case CLAIMS:
+                if (!userPrincipalCache.isInvalidatedSince(username, claims.getIssuedAt())) {
+                    UserPrincipal principal = jwtUtils.getUserPrincipalFromClaims(claims);
+                    if (principal != null) {
+                        return principal;
+                    }
+                }
+                return loadCachedPrincipal(username);
+            case CACHE:
+            default:
+                return loadCachedPrincipal(username);
+        }
+    }
+
+    private UserPrincipal loadCachedPrincipal(String username) {
+        return userPrincipalCache.get(username,
+                key -> (UserPrincipal) userDetailsService.loadUserByUsername(key));
+    }
+
     /**
      * Extracts JWT token from Authorization header
      * 
@@ -79,4 +157,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         return null;
     }
+
+    /**
+     * Sources the filter can resolve the authenticated principal from
+     */
+    public enum PrincipalSource {
+        DATABASE,
+        CACHE,
+        CLAIMS
+    }
 }
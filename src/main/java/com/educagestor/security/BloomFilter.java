@@ -0,0 +1,85 @@
+package com.educagestor.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over string keys
+ *
+ * The filter answers "definitely absent" or "possibly present". It is sized for an
+ * expected number of keys and false positive rate; inserting more keys only raises
+ * the false positive rate. Bits are set with atomic updates, so keys can be added
+ * while other threads query the filter.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final int bitCount;
+
+    private final int hashCount;
+
+    BloomFilter(int expectedKeys, double falsePositiveRate) {
+        int keys = Math.max(1, expectedKeys);
+        double optimalBits = -keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / keys * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    /**
+     * Adds a key to the filter
+     *
+     * @param key the key to add
+     */
+    void put(String key) {
+        long hash = hash(key);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = index(hash1 + i * hash2);
+            long mask = 1L << index;
+            bits.getAndAccumulate(index >>> 6, mask, (word, bit) -> word | bit);
+        }
+    }
+
+    /**
+     * Checks if a key may have been added to the filter
+     *
+     * @param key the key to look up
+     * @return false if the key was never added, true if it possibly was
+     */
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = index(hash1 + i * hash2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int combinedHash) {
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the key, finished with the MurmurHash3 mixer so both halves
+     * are usable as independent hashes
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,15 +1,22 @@
 package com.educagestor.security;
 
+import com.educagestor.entity.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for JWT token operations
@@ -22,6 +29,18 @@ public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_FIRST_NAME = "given_name";
+    static final String CLAIM_LAST_NAME = "family_name";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_ACTIVE = "active";
+    static final String CLAIM_STUDENT_ID = "sid";
+    static final String CLAIM_FAMILY = "fam";
+    static final String CLAIM_TOKEN_TYPE = "typ";
+
+    static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -31,6 +50,24 @@ public class JwtUtils {
     @Value("${jwt.refresh-expiration}")
     private int jwtRefreshExpirationMs;
 
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    /**
+     * Derives the signing key and builds the token parser once at startup
+     * 
+     * JwtParser instances are immutable and thread-safe, so a single parser
+     * is shared by all requests.
+     */
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     /**
      * Generates JWT token for authenticated user
      * 
@@ -39,7 +76,54 @@ public class JwtUtils {
      */
     public String generateJwtToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+        return generateTokenFromPrincipal(userPrincipal);
+    }
+
+    /**
+     * Generates JWT token carrying the principal's profile and roles as claims
+     * 
+     * These claims allow the authentication filter to rebuild the principal
+     * without a database lookup.
+     * 
+     * @param userPrincipal the principal to generate token for
+     * @return JWT token string
+     */
+    public String generateTokenFromPrincipal(UserPrincipal userPrincipal) {
+        return generateAccessToken(userPrincipal, null, null, new Date());
+    }
+
+    /**
+     * Generates an access token identified by its token ID and bound to a session
+     * 
+     * The token ID lets the token be revoked before it expires, the family ID ties it
+     * to the refresh token family it was issued with, so revoking the session revokes it too.
+     * 
+     * @param userPrincipal the principal to generate token for
+     * @param tokenId unique token ID (jti claim), may be null
+     * @param familyId refresh token family ID, may be null
+     * @param issuedAt issue date, the expiration is derived from it
+     * @return JWT token string
+     */
+    public String generateAccessToken(UserPrincipal userPrincipal, String tokenId, String familyId, Date issuedAt) {
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        return Jwts.builder()
+                .setId(tokenId)
+                .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_FIRST_NAME, userPrincipal.getFirstName())
+                .claim(CLAIM_LAST_NAME, userPrincipal.getLastName())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_ACTIVE, userPrincipal.isActive())
+                .claim(CLAIM_STUDENT_ID, userPrincipal.getStudentId())
+                .claim(CLAIM_FAMILY, familyId)
+                .setIssuedAt(issuedAt)
+                .setExpiration(getAccessTokenExpiration(issuedAt))
+                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
     }
 
     /**
@@ -64,14 +148,70 @@ public class JwtUtils {
      * @return refresh token string
      */
     public String generateRefreshToken(String username) {
+        return generateRefreshToken(username, null, null, new Date());
+    }
+
+    /**
+     * Generates a refresh token belonging to a refresh token family
+     * 
+     * @param username the username to generate refresh token for
+     * @param tokenId unique token ID (jti claim) stored in the refresh token store
+     * @param familyId refresh token family ID, shared by all tokens rotated from the same login
+     * @param issuedAt issue date, the expiration is derived from it
+     * @return refresh token string
+     */
+    public String generateRefreshToken(String username, String tokenId, String familyId, Date issuedAt) {
         return Jwts.builder()
+                .setId(tokenId)
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtRefreshExpirationMs))
+                .claim(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH)
+                .claim(CLAIM_FAMILY, familyId)
+                .setIssuedAt(issuedAt)
+                .setExpiration(getRefreshTokenExpiration(issuedAt))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Gets the expiration date of an access token issued at the given date
+     * 
+     * @param issuedAt issue date
+     * @return expiration date
+     */
+    public Date getAccessTokenExpiration(Date issuedAt) {
+        return new Date(issuedAt.getTime() + jwtExpirationMs);
+    }
+
+    /**
+     * Gets the expiration date of a refresh token issued at the given date
+     * 
+     * @param issuedAt issue date
+     * @return expiration date
+     */
+    public Date getRefreshTokenExpiration(Date issuedAt) {
+        return new Date(issuedAt.getTime() + jwtRefreshExpirationMs);
+    }
+
+    /**
+     * Checks if verified claims belong to a refresh token
+     * 
+     * @param claims verified token claims
+     * @return true for refresh tokens, which must not authenticate API requests
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return TOKEN_TYPE_REFRESH.equals(claims.get(CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    /**
+     * Gets the refresh token family a token was issued with
+     * 
+     * @param claims verified token claims
+     * @return family ID, or null for tokens issued outside the refresh token store
+     */
+    public String getTokenFamily(Claims claims) {
+        return claims.get(CLAIM_FAMILY, String.class);
+    }
+
     /**
      * Extracts username from JWT token
      * 
@@ -79,27 +219,28 @@ public class JwtUtils {
      * @return username
      */
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return getClaimsFromJwtToken(token).getSubject();
     }
 
     /**
-     * Validates JWT token
+     * Extracts all claims from JWT token
+     * 
+     * @param token JWT token
+     * @return verified token claims
+     */
+    public Claims getClaimsFromJwtToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Validates JWT token and returns its verified claims in a single parse
      * 
      * @param authToken JWT token to validate
-     * @return true if token is valid, false otherwise
+     * @return verified claims (subject, expiration, roles...), or null if the token is invalid
      */
-    public boolean validateJwtToken(String authToken) {
+    public Claims parseAndValidateJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            return getClaimsFromJwtToken(authToken);
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -108,8 +249,55 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT token verification failed: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Rebuilds a user principal from the claims embedded in a token
+     * 
+     * @param claims verified token claims
+     * @return UserPrincipal instance, or null if the token does not carry principal claims
+     */
+    public UserPrincipal getUserPrincipalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Collection<?> roles = claims.get(CLAIM_ROLES, Collection.class);
+        if (userId == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(Role.fromString(role.toString()).getAuthority()))
+                .collect(Collectors.toList());
+
+        UserPrincipal principal = new UserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class),
+                null,
+                claims.get(CLAIM_FIRST_NAME, String.class),
+                claims.get(CLAIM_LAST_NAME, String.class),
+                Boolean.TRUE.equals(claims.get(CLAIM_ACTIVE, Boolean.class)),
+                authorities
+        );
+
+        Number studentId = claims.get(CLAIM_STUDENT_ID, Number.class);
+        if (studentId != null) {
+            principal.setStudentId(studentId.longValue());
+        }
+        return principal;
+    }
+
+    /**
+     * Validates JWT token
+     * 
+     * @param authToken JWT token to validate
+     * @return true if token is valid, false otherwise
+     */
+    public boolean validateJwtToken(String authToken) {
+        return parseAndValidateJwtToken(authToken) != null;
     }
 
     /**
@@ -118,7 +306,7 @@ public class JwtUtils {
      * @return SecretKey for signing
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     /**
@@ -128,12 +316,7 @@ public class JwtUtils {
      * @return expiration date
      */
     public Date getExpirationDateFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+        return getClaimsFromJwtToken(token).getExpiration();
     }
 
     /**
@@ -0,0 +1,171 @@
+package com.educagestor.security;
+
+import com.educagestor.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Password encoder running the hashing on a dedicated, bounded thread pool
+ *
+ * Password hashes are deliberately CPU-bound. Running them on a pool sized to the
+ * CPUs keeps a burst of logins from taking every request thread's CPU time, and the
+ * bounded queue turns a burst beyond what the pool can absorb into an immediate
+ * 429 instead of an ever-growing backlog. Callers wait for their hash without using
+ * CPU, and virtual-thread callers do not pin a carrier thread while hashing.
+ *
+ * The time spent hashing and waiting in the queue is recorded per operation in the
+ * educagestor.password.hash and educagestor.password.hash.wait timers.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    public static final String HASH_METRIC = "educagestor.password.hash";
+
+    public static final String WAIT_METRIC = "educagestor.password.hash.wait";
+
+    public static final String REJECTED_METRIC = "educagestor.password.hash.rejected";
+
+    private static final Logger logger = LoggerFactory.getLogger(OffloadedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMs;
+
+    private final Operation encode;
+
+    private final Operation matches;
+
+    private final Counter rejected;
+
+    /**
+     * Creates an encoder hashing on its own thread pool
+     *
+     * @param delegate encoder computing the hashes
+     * @param threads number of hashing threads
+     * @param queueCapacity number of hashes allowed to wait for a thread
+     * @param timeoutMs maximum time a caller waits for its hash, queueing included
+     * @param meterRegistry registry of the hashing metrics
+     */
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMs,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "password-hashing", Collections.emptyList()).bindTo(meterRegistry);
+        this.encode = new Operation("encode", meterRegistry);
+        this.matches = new Operation("matches", meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .description("Password hashes rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(encode, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(matches, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing threads
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T offload(Operation operation, Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                operation.wait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.get();
+                } finally {
+                    operation.hash.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.debug("Password hashing queue full, rejected {}", operation.name);
+            throw new TooManyRequestsException("Too many logins in progress, please retry", e);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many logins in progress, please retry", e);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Password check interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Operation {
+
+        private final String name;
+
+        private final Timer hash;
+
+        private final Timer wait;
+
+        private Operation(String name, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.hash = Timer.builder(HASH_METRIC)
+                    .description("Time spent computing password hashes")
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            this.wait = Timer.builder(WAIT_METRIC)
+                    .description("Time password hashes waited for a hashing thread")
+                    .tag("operation", name)
+                    .register(meterRegistry);
+        }
+    }
+}
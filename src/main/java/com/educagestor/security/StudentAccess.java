@@ -0,0 +1,86 @@
+package com.educagestor.security;
+
+import com.educagestor.cache.CacheLoading;
+import com.educagestor.entity.Role;
+import com.educagestor.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Authorization checks for student self-access
+ *
+ * Used from method security expressions as {@code @studentAccess.isSelf(authentication, #studentId)}.
+ * The student ID of a principal comes from the principal itself (set when it is loaded,
+ * or from the token claims), falling back to a bounded cache of the user to student
+ * mapping, so authorized calls do not query the database on the hot path. A student
+ * profile is bound to its user for life, so the mapping never needs invalidation.
+ */
+@Component("studentAccess")
+public class StudentAccess {
+
+    private static final Long NOT_A_STUDENT = -1L;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Value("${jwt.student-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${jwt.student-cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    private AsyncCache<Long, Long> studentIdsByUserId;
+
+    /**
+     * Builds the user to student cache once the configuration has been injected
+     */
+    @PostConstruct
+    public void init() {
+        this.studentIdsByUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+    }
+
+    /**
+     * Checks if the authenticated user is the given student
+     *
+     * @param authentication the current authentication
+     * @param studentId the student ID from the request
+     * @return true if the student profile belongs to the authenticated user
+     */
+    public boolean isSelf(Authentication authentication, Long studentId) {
+        if (studentId == null || authentication == null
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return false;
+        }
+
+        return studentId.equals(resolveStudentId(principal));
+    }
+
+    /**
+     * Resolves the student ID of a principal
+     *
+     * @param principal the user principal
+     * @return student ID, or null if the user has no student profile
+     */
+    public Long resolveStudentId(UserPrincipal principal) {
+        if (principal.getStudentId() != null) {
+            return principal.getStudentId();
+        }
+        if (principal.getId() == null || !principal.hasRole(Role.STUDENT)) {
+            return null;
+        }
+
+        Long studentId = CacheLoading.get(studentIdsByUserId, principal.getId(),
+                userId -> studentRepository.findIdByUserId(userId).orElse(NOT_A_STUDENT));
+        return NOT_A_STUDENT.equals(studentId) ? null : studentId;
+    }
+}
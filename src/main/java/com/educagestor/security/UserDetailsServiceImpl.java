@@ -4,6 +4,7 @@ import com.educagestor.entity.User;
 import com.educagestor.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,14 +14,18 @@ import org.springframework.transaction.annotation.Transactional;
  * Custom UserDetailsService implementation
  * 
  * This service loads user details from the database for Spring Security authentication.
- * It integrates with the User entity and UserRepository.
+ * It integrates with the User entity and UserRepository, and stores the new hash when
+ * a password hashed with an outdated algorithm or cost is upgraded on login.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StudentAccess studentAccess;
+
     /**
      * Loads user details by username for authentication
      * 
@@ -34,7 +39,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
 
-        return UserPrincipal.create(user);
+        return createPrincipal(user);
     }
 
     /**
@@ -49,6 +54,26 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with id: " + id));
 
-        return UserPrincipal.create(user);
+        return createPrincipal(user);
+    }
+
+    /**
+     * Stores a password hash upgraded after a successful login
+     * 
+     * @param user the authenticated user
+     * @param newPassword the new password hash
+     * @return the authenticated user, its credentials are erased after authentication
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        return user;
+    }
+
+    private UserPrincipal createPrincipal(User user) {
+        UserPrincipal principal = UserPrincipal.create(user);
+        principal.setStudentId(studentAccess.resolveStudentId(principal));
+        return principal;
     }
 }
@@ -9,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +28,7 @@ public class UserPrincipal implements UserDetails {
     private String lastName;
     private boolean active;
     private Collection<? extends GrantedAuthority> authorities;
+    private Long studentId;
 
     /**
      * Constructor for UserPrincipal
@@ -137,6 +139,14 @@ public class UserPrincipal implements UserDetails {
         return active;
     }
 
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
     /**
      * Checks if user has specific role
      * 
@@ -148,6 +158,17 @@ public class UserPrincipal implements UserDetails {
                 .anyMatch(authority -> authority.getAuthority().equals(role.getAuthority()));
     }
 
+    /**
+     * Gets the roles granted to the user
+     * 
+     * @return roles matching the user's authorities
+     */
+    public Set<Role> getRoles() {
+        return authorities.stream()
+                .map(authority -> Role.fromString(authority.getAuthority()))
+                .collect(Collectors.toSet());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
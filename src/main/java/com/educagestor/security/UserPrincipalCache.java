@@ -0,0 +1,190 @@
+package com.educagestor.security;
+
+import com.educagestor.cache.CacheLoading;
+import com.educagestor.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicted cache of authenticated user principals
+ *
+ * This cache lets the JWT filter authenticate requests without loading the user
+ * and its roles from the database on every call. Entries are invalidated whenever
+ * a user's profile or active flag changes, and the invalidation time is remembered
+ * so that principals rebuilt from older token claims can be rejected as well.
+ *
+ * Users changed on other instances are picked up from the users' update time on a
+ * fixed schedule, so a change reaches every instance within the sync interval.
+ * Invalidation markers are bounded: when one is evicted for space, every token issued
+ * before it is treated as invalidated, so a lost marker never lets stale claims through.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPrincipalCache.class);
+
+    // Update times are written with each instance's clock, the margin absorbs clock skew
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${jwt.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    private AsyncCache<String, UserPrincipal> principals;
+
+    private Cache<String, Long> invalidations;
+
+    // Latest invalidation time of the markers evicted for space
+    private final AtomicLong evictedUpTo = new AtomicLong(Long.MIN_VALUE);
+
+    private volatile LocalDateTime lastSync;
+
+    /**
+     * Builds the underlying caches once the configuration has been injected
+     */
+    @PostConstruct
+    public void init() {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+
+        // Invalidation markers must outlive every access token issued before them
+        this.invalidations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .evictionListener((String username, Long invalidatedAt, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && invalidatedAt != null) {
+                        evictedUpTo.accumulateAndGet(invalidatedAt, Math::max);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Gets the cached principal for a username, loading it on a miss
+     *
+     * The principal is loaded in the calling thread, concurrent misses for the
+     * same username wait for that load.
+     *
+     * @param username the username to look up
+     * @param loader function loading the principal from the database
+     * @return the cached or freshly loaded principal
+     */
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        return CacheLoading.get(principals, username, loader);
+    }
+
+    /**
+     * Invalidates the cached principal for a username
+     *
+     * The entry is evicted immediately and again after the surrounding transaction
+     * commits, so that a concurrent request cannot re-cache the pre-commit state.
+     *
+     * @param username the username whose principal changed
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+
+        evict(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks if a user was invalidated after a token was issued
+     *
+     * @param username the token subject
+     * @param issuedAt the token issue date
+     * @return true if the token claims may no longer reflect the user
+     */
+    public boolean isInvalidatedSince(String username, Date issuedAt) {
+        if (issuedAt == null || issuedAt.getTime() <= evictedUpTo.get()) {
+            return true;
+        }
+        Long invalidatedAt = invalidations.getIfPresent(username);
+        return invalidatedAt != null && issuedAt.getTime() <= invalidatedAt;
+    }
+
+    /**
+     * Loads the users changed during the access token lifetime once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInvalidationsOnStartup() {
+        int changed = syncInvalidations();
+        logger.info("Principal invalidations loaded for {} recently changed user(s)", changed);
+    }
+
+    /**
+     * Invalidates the users changed since the previous sync, including those changed
+     * by other instances
+     *
+     * @return number of changed users read from the database
+     */
+    @Scheduled(fixedDelayString = "${jwt.principal-cache.sync-interval-ms:30000}")
+    public int syncInvalidations() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync == null ? now.minus(Duration.ofMillis(jwtExpirationMs)).minus(CLOCK_SKEW)
+                : lastSync.minus(CLOCK_SKEW);
+
+        List<Object[]> changed = userRepository.findUsernamesUpdatedSince(since);
+        for (Object[] row : changed) {
+            long updatedAt = ((LocalDateTime) row[1]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            markInvalidated((String) row[0], updatedAt + CLOCK_SKEW.toMillis());
+        }
+        lastSync = now;
+        return changed.size();
+    }
+
+    private void evict(String username) {
+        principals.synchronous().invalidate(username);
+        invalidations.asMap().merge(username, System.currentTimeMillis(), Math::max);
+        logger.debug("Invalidated cached principal for user: {}", username);
+    }
+
+    private void markInvalidated(String username, long invalidatedAt) {
+        Long previous = invalidations.getIfPresent(username);
+        if (previous == null || previous < invalidatedAt) {
+            invalidations.asMap().merge(username, invalidatedAt, Math::max);
+            principals.synchronous().invalidate(username);
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.educagestor.service;
 
+import com.educagestor.audit.AuditAction;
+import com.educagestor.audit.AuditService;
 import com.educagestor.dto.auth.JwtResponse;
 import com.educagestor.dto.auth.LoginRequest;
 import com.educagestor.dto.auth.RefreshTokenRequest;
 import com.educagestor.dto.auth.RegisterRequest;
+import com.educagestor.entity.RefreshToken;
 import com.educagestor.entity.Role;
 import com.educagestor.entity.User;
 import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.TooManyRequestsException;
 import com.educagestor.repository.UserRepository;
+import com.educagestor.search.SearchIndexService;
 import com.educagestor.security.JwtUtils;
+import com.educagestor.security.StudentAccess;
 import com.educagestor.security.UserPrincipal;
+import com.educagestor.service.RefreshTokenService.TokenPair;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,15 +53,28 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private StudentAccess studentAccess;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     /**
      * Authenticates user and returns JWT tokens
      * 
      * @param loginRequest login credentials
      * @return JWT response with tokens and user info
      * @throws BadRequestException if credentials are invalid
+     * @throws TooManyRequestsException if the password hashing pool is saturated
      */
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
-        logger.info("Attempting to authenticate user: {}", loginRequest.getUsername());
+        logger.debug("Attempting to authenticate user: {}", loginRequest.getUsername());
 
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -66,26 +87,27 @@ public class AuthService {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-            String jwt = jwtUtils.generateJwtToken(authentication);
-            String refreshToken = jwtUtils.generateRefreshToken(userPrincipal.getUsername());
+            TokenPair tokens = refreshTokenService.issue(userPrincipal, null);
 
-            logger.info("User authenticated successfully: {}", userPrincipal.getUsername());
+            logger.debug("User authenticated successfully: {}", userPrincipal.getUsername());
+            auditService.record(userPrincipal.getUsername(), AuditAction.LOGIN, "user:" + userPrincipal.getId(), null);
 
             return new JwtResponse(
-                jwt,
-                refreshToken,
+                tokens.accessToken(),
+                tokens.refreshToken(),
                 userPrincipal.getId(),
                 userPrincipal.getUsername(),
                 userPrincipal.getEmail(),
                 userPrincipal.getFirstName(),
                 userPrincipal.getLastName(),
-                userRepository.findByUsername(userPrincipal.getUsername())
-                    .orElseThrow(() -> new BadRequestException("User not found"))
-                    .getRoles()
+                userPrincipal.getRoles()
             );
 
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Authentication failed for user: {}", loginRequest.getUsername(), e);
+            auditService.recordNow(loginRequest.getUsername(), AuditAction.LOGIN_FAILED, null, e.getClass().getSimpleName());
             throw new BadRequestException("Invalid username or password");
         }
     }
@@ -96,9 +118,10 @@ public class AuthService {
      * @param registerRequest user registration data
      * @return JWT response with tokens and user info
      * @throws BadRequestException if registration data is invalid
+     * @throws TooManyRequestsException if the password hashing pool is saturated
      */
     public JwtResponse registerUser(RegisterRequest registerRequest) {
-        logger.info("Attempting to register new user: {}", registerRequest.getUsername());
+        logger.debug("Attempting to register new user: {}", registerRequest.getUsername());
 
         // Check if username already exists
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
@@ -132,7 +155,10 @@ public class AuthService {
 
         try {
             User savedUser = userRepository.save(user);
-            logger.info("User registered successfully: {}", savedUser.getUsername());
+            searchIndexService.userChanged(savedUser.getId());
+            logger.debug("User registered successfully: {}", savedUser.getUsername());
+            auditService.record(savedUser.getUsername(), AuditAction.USER_REGISTERED, "user:" + savedUser.getId(),
+                    "roles=" + savedUser.getRoles());
 
             // Authenticate the newly registered user
             Authentication authentication = authenticationManager.authenticate(
@@ -144,12 +170,11 @@ public class AuthService {
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
-            String jwt = jwtUtils.generateJwtToken(authentication);
-            String refreshToken = jwtUtils.generateRefreshToken(savedUser.getUsername());
+            TokenPair tokens = refreshTokenService.issue((UserPrincipal) authentication.getPrincipal(), null);
 
             return new JwtResponse(
-                jwt,
-                refreshToken,
+                tokens.accessToken(),
+                tokens.refreshToken(),
                 savedUser.getId(),
                 savedUser.getUsername(),
                 savedUser.getEmail(),
@@ -158,6 +183,8 @@ public class AuthService {
                 savedUser.getRoles()
             );
 
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Registration failed for user: {}", registerRequest.getUsername(), e);
             throw new BadRequestException("Registration failed: " + e.getMessage());
@@ -167,46 +194,75 @@ public class AuthService {
     /**
      * Refreshes JWT token using refresh token
      * 
+     * The presented refresh token is rotated: it cannot be used again, and a second
+     * use revokes every token issued since the login it comes from.
+     * 
      * @param refreshTokenRequest refresh token request
      * @return new JWT response with refreshed tokens
-     * @throws BadRequestException if refresh token is invalid
+     * @throws BadRequestException if refresh token is invalid, revoked or already used
      */
     public JwtResponse refreshToken(RefreshTokenRequest refreshTokenRequest) {
-        String refreshToken = refreshTokenRequest.getRefreshToken();
-        
-        logger.info("Attempting to refresh token");
+        logger.debug("Attempting to refresh token");
 
         try {
-            if (jwtUtils.validateJwtToken(refreshToken)) {
-                String username = jwtUtils.getUserNameFromJwtToken(refreshToken);
-                User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new BadRequestException("User not found"));
-
-                String newJwt = jwtUtils.generateTokenFromUsername(username);
-                String newRefreshToken = jwtUtils.generateRefreshToken(username);
-
-                logger.info("Token refreshed successfully for user: {}", username);
-
-                return new JwtResponse(
-                    newJwt,
-                    newRefreshToken,
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    user.getRoles()
-                );
-            } else {
-                logger.warn("Invalid refresh token provided");
-                throw new BadRequestException("Invalid refresh token");
-            }
+            RefreshToken consumed = refreshTokenService.consume(refreshTokenRequest.getRefreshToken());
+            User user = userRepository.findByUsername(consumed.getUsername())
+                .orElseThrow(() -> new BadRequestException("User not found"));
+
+            UserPrincipal userPrincipal = UserPrincipal.create(user);
+            userPrincipal.setStudentId(studentAccess.resolveStudentId(userPrincipal));
+
+            TokenPair tokens = refreshTokenService.issue(userPrincipal, consumed.getFamilyId());
+
+            logger.debug("Token refreshed successfully for user: {}", user.getUsername());
+            auditService.record(user.getUsername(), AuditAction.TOKEN_REFRESHED, "user:" + user.getId(), null);
+
+            return new JwtResponse(
+                tokens.accessToken(),
+                tokens.refreshToken(),
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRoles()
+            );
         } catch (Exception e) {
             logger.error("Token refresh failed", e);
             throw new BadRequestException("Token refresh failed: " + e.getMessage());
         }
     }
 
+    /**
+     * Logs out the session a token belongs to
+     * 
+     * The refresh token family of the session is revoked, and its access tokens are
+     * denied until they expire. Logging out an unknown or already revoked session
+     * succeeds without effect.
+     * 
+     * @param accessToken access token of the session, may be null
+     * @param refreshToken refresh token of the session, may be null
+     */
+    public void logout(String accessToken, String refreshToken) {
+        Claims claims = accessToken != null ? jwtUtils.parseAndValidateJwtToken(accessToken) : null;
+        if (claims == null && refreshToken != null) {
+            claims = jwtUtils.parseAndValidateJwtToken(refreshToken);
+        }
+        if (claims == null) {
+            logger.debug("Logout without a valid token");
+            return;
+        }
+
+        // Tokens issued before the refresh token store have no family and cannot be revoked
+        String familyId = jwtUtils.getTokenFamily(claims);
+        if (familyId != null) {
+            refreshTokenService.revokeFamily(familyId);
+        }
+
+        logger.debug("User logged out: {}", claims.getSubject());
+        auditService.record(claims.getSubject(), AuditAction.LOGOUT, null, familyId != null ? "family=" + familyId : null);
+    }
+
     /**
      * Validates if a role can be assigned during registration
      * 
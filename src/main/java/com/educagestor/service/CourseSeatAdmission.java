@@ -0,0 +1,141 @@
+package com.educagestor.service;
+
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional in-memory admission control for course seat reservations
+ *
+ * Each course maps to one of a fixed number of semaphore stripes, bounding how many
+ * enrollment requests per course can reach the database at once. Courses found full
+ * are remembered for a short time so that bursts against a hot course fail fast.
+ * The database conditional update remains the source of truth for capacity.
+ */
+@Component
+public class CourseSeatAdmission {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSeatAdmission.class);
+
+    private static final Permit NO_OP_PERMIT = () -> { };
+
+    @Value("${enrollment.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${enrollment.admission.stripes:64}")
+    private int stripes;
+
+    @Value("${enrollment.admission.permits-per-stripe:8}")
+    private int permitsPerStripe;
+
+    @Value("${enrollment.admission.acquire-timeout-ms:50}")
+    private long acquireTimeoutMs;
+
+    @Value("${enrollment.admission.full-marker-ttl-ms:2000}")
+    private long fullMarkerTtlMs;
+
+    private Semaphore[] semaphores;
+
+    private Cache<Long, Boolean> fullCourses;
+
+    /**
+     * Builds the semaphore stripes and the full-course markers
+     */
+    @PostConstruct
+    public void init() {
+        this.semaphores = new Semaphore[stripes];
+        for (int i = 0; i < stripes; i++) {
+            semaphores[i] = new Semaphore(permitsPerStripe);
+        }
+
+        this.fullCourses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(fullMarkerTtlMs))
+                .build();
+    }
+
+    /**
+     * Admits an enrollment request for a course
+     *
+     * @param courseId the course ID
+     * @return permit to close once the reservation attempt finished
+     * @throws BadRequestException if the course was recently found full
+     * @throws TooManyRequestsException if no permit became available in time
+     */
+    public Permit admit(Long courseId) {
+        if (!enabled) {
+            return NO_OP_PERMIT;
+        }
+
+        if (fullCourses.getIfPresent(courseId) != null) {
+            throw new BadRequestException("Course is full - no available spots");
+        }
+
+        Semaphore semaphore = semaphores[Math.floorMod(courseId.hashCode(), stripes)];
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.debug("Admission rejected for course {}", courseId);
+                throw new TooManyRequestsException("Too many concurrent enrollment requests, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Enrollment request interrupted", e);
+        }
+
+        return semaphore::release;
+    }
+
+    /**
+     * Remembers that a course has no seat left
+     *
+     * @param courseId the course ID
+     */
+    public void markFull(Long courseId) {
+        if (enabled) {
+            fullCourses.put(courseId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Forgets the full marker of a course once a released seat is committed
+     *
+     * @param courseId the course ID
+     */
+    public void seatReleased(Long courseId) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fullCourses.invalidate(courseId);
+                }
+            });
+        } else {
+            fullCourses.invalidate(courseId);
+        }
+    }
+
+    /**
+     * Admission permit released when the reservation attempt ends
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
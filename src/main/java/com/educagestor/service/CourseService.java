@@ -1,18 +1,27 @@
 package com.educagestor.service;
 
+import com.educagestor.analytics.GradeDistributionService;
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.course.CourseDto;
+import com.educagestor.dto.grade.GradeDistributionDto;
 import com.educagestor.entity.Course;
 import com.educagestor.entity.Teacher;
 import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.ConflictException;
 import com.educagestor.exception.ResourceNotFoundException;
+import com.educagestor.pagination.CursorPagination;
+import com.educagestor.persistence.OptimisticRetry;
 import com.educagestor.repository.CourseRepository;
 import com.educagestor.repository.TeacherRepository;
+import com.educagestor.search.SearchIndexService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -30,9 +39,21 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CursorPagination cursorPagination;
+
     @Autowired
     private TeacherRepository teacherRepository;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private GradeDistributionService gradeDistributionService;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
     /**
      * Creates a new course
      * 
@@ -41,7 +62,7 @@ public class CourseService {
      * @throws BadRequestException if course data is invalid
      */
     public CourseDto createCourse(CourseDto courseDto) {
-        logger.info("Creating new course with code: {}", courseDto.getCourseCode());
+        logger.debug("Creating new course with code: {}", courseDto.getCourseCode());
 
         // Validate course code uniqueness
         if (courseRepository.existsByCourseCode(courseDto.getCourseCode())) {
@@ -77,6 +98,7 @@ public class CourseService {
         }
 
         Course savedCourse = courseRepository.save(course);
+        searchIndexService.courseChanged(savedCourse.getId());
         logger.info("Course created successfully: {}", savedCourse.getCourseCode());
 
         return convertToCourseDto(savedCourse);
@@ -91,7 +113,7 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public CourseDto getCourseById(Long courseId) {
-        logger.info("Fetching course by ID: {}", courseId);
+        logger.debug("Fetching course by ID: {}", courseId);
 
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
@@ -99,6 +121,33 @@ public class CourseService {
         return convertToCourseDto(course);
     }
 
+    /**
+     * Gets the grade distribution of a course
+     * 
+     * @param courseId course ID
+     * @return grade distribution DTO
+     * @throws ResourceNotFoundException if course not found
+     */
+    @Transactional(readOnly = true)
+    public GradeDistributionDto getCourseGradeDistribution(Long courseId) {
+        if (courseRepository.findById(courseId).isEmpty()) {
+            throw new ResourceNotFoundException("Course", "id", courseId);
+        }
+
+        return gradeDistributionService.getCourseDistribution(courseId);
+    }
+
+    /**
+     * Gets the grade distribution of the courses taught in a department
+     * 
+     * @param department department name
+     * @return grade distribution DTO
+     */
+    @Transactional(readOnly = true)
+    public GradeDistributionDto getDepartmentGradeDistribution(String department) {
+        return gradeDistributionService.getDepartmentDistribution(department);
+    }
+
     /**
      * Gets course by course code
      * 
@@ -108,7 +157,7 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public CourseDto getCourseByCourseCode(String courseCode) {
-        logger.info("Fetching course by course code: {}", courseCode);
+        logger.debug("Fetching course by course code: {}", courseCode);
 
         Course course = courseRepository.findByCourseCode(courseCode)
             .orElseThrow(() -> new ResourceNotFoundException("Course", "courseCode", courseCode));
@@ -124,12 +173,29 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public Page<CourseDto> getAllCourses(Pageable pageable) {
-        logger.info("Fetching all courses with pagination");
+        logger.debug("Fetching all courses with pagination");
 
-        Page<Course> courses = courseRepository.findAll(pageable);
+        Page<Course> courses = courseRepository.findAllWithTeacher(pageable);
         return courses.map(this::convertToCourseDto);
     }
 
+    /**
+     * Gets courses after a pagination cursor, using keyset pagination without a count query
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sort requested sort
+     * @return cursor page of course DTOs
+     * @throws BadRequestException if the cursor or sort cannot be used for keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<CourseDto> getAllCourses(String after, int size, Sort sort) {
+        logger.debug("Fetching courses after cursor");
+
+        return cursorPagination.page(courseRepository, Course.class, after, size, sort,
+                this::convertToCourseDto, "teacher", "teacher.user");
+    }
+
     /**
      * Updates course information
      * 
@@ -137,12 +203,21 @@ public class CourseService {
      * @param courseDto updated course data
      * @return updated course DTO
      * @throws ResourceNotFoundException if course not found
+     * @throws ConflictException if the course changed since the given version or keeps changing concurrently
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CourseDto updateCourse(Long courseId, CourseDto courseDto) {
-        logger.info("Updating course with ID: {}", courseId);
+        logger.debug("Updating course with ID: {}", courseId);
+
+        return optimisticRetry.execute("Course", courseId, () -> applyCourseUpdate(courseId, courseDto));
+    }
 
+    private CourseDto applyCourseUpdate(Long courseId, CourseDto courseDto) {
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
+        if (courseDto.getVersion() != null && !courseDto.getVersion().equals(course.getVersion())) {
+            throw new ConflictException("Course " + courseId + " was modified since version " + courseDto.getVersion());
+        }
 
         // Update course fields
         if (courseDto.getCourseName() != null) {
@@ -180,7 +255,8 @@ public class CourseService {
             }
         }
 
-        Course updatedCourse = courseRepository.save(course);
+        Course updatedCourse = courseRepository.saveAndFlush(course);
+        searchIndexService.courseChanged(updatedCourse.getId());
         logger.info("Course updated successfully: {}", updatedCourse.getCourseCode());
 
         return convertToCourseDto(updatedCourse);
@@ -195,7 +271,7 @@ public class CourseService {
      * @throws ResourceNotFoundException if course or teacher not found
      */
     public CourseDto assignTeacherToCourse(Long courseId, Long teacherId) {
-        logger.info("Assigning teacher {} to course {}", teacherId, courseId);
+        logger.debug("Assigning teacher {} to course {}", teacherId, courseId);
 
         Course course = courseRepository.findById(courseId)
             .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
@@ -219,7 +295,7 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public Page<CourseDto> getCoursesByTeacherId(Long teacherId, Pageable pageable) {
-        logger.info("Fetching courses by teacher ID: {}", teacherId);
+        logger.debug("Fetching courses by teacher ID: {}", teacherId);
 
         Page<Course> courses = courseRepository.findByTeacherId(teacherId, pageable);
         return courses.map(this::convertToCourseDto);
@@ -234,7 +310,7 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public Page<CourseDto> getCoursesByStatus(Course.CourseStatus courseStatus, Pageable pageable) {
-        logger.info("Fetching courses by status: {}", courseStatus);
+        logger.debug("Fetching courses by status: {}", courseStatus);
 
         Page<Course> courses = courseRepository.findByCourseStatus(courseStatus, pageable);
         return courses.map(this::convertToCourseDto);
@@ -249,7 +325,12 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public Page<CourseDto> searchCourses(String searchTerm, Pageable pageable) {
-        logger.info("Searching courses with term: {}", searchTerm);
+        logger.debug("Searching courses with term: {}", searchTerm);
+
+        if (searchIndexService.isAvailable()) {
+            Page<Long> ids = searchIndexService.search(SearchIndexService.IndexType.COURSE, searchTerm, pageable);
+            return searchIndexService.loadPage(ids, courseRepository::findAllWithTeacherByIdIn, Course::getId).map(this::convertToCourseDto);
+        }
 
         Page<Course> courses = courseRepository.findBySearchTerm(searchTerm, pageable);
         return courses.map(this::convertToCourseDto);
@@ -263,7 +344,7 @@ public class CourseService {
      */
     @Transactional(readOnly = true)
     public Page<CourseDto> getCoursesWithAvailableSpots(Pageable pageable) {
-        logger.info("Fetching courses with available spots");
+        logger.debug("Fetching courses with available spots");
 
         Page<Course> courses = courseRepository.findCoursesWithAvailableSpots(pageable);
         return courses.map(this::convertToCourseDto);
@@ -293,6 +374,7 @@ public class CourseService {
         dto.setCourseStatus(course.getCourseStatus());
         dto.setCreatedAt(course.getCreatedAt());
         dto.setUpdatedAt(course.getUpdatedAt());
+        dto.setVersion(course.getVersion());
 
         return dto;
     }
@@ -0,0 +1,61 @@
+package com.educagestor.service;
+
+import com.educagestor.repository.CourseSeatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service repairing drift in the denormalized course enrolled counts
+ *
+ * The counts are maintained by EnrollmentService, but rows written outside the
+ * application (seed scripts, manual fixes, imports) bypass it. This service
+ * recomputes them at startup and on a configurable schedule, creating first the
+ * counters of courses inserted without one, such as courses that predate the
+ * course_seats table.
+ */
+@Service
+@Transactional
+public class EnrollmentCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentCountReconciler.class);
+
+    @Autowired
+    private CourseSeatsRepository courseSeatsRepository;
+
+    /**
+     * Reconciles enrolled counts once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcileEnrolledCounts();
+    }
+
+    /**
+     * Recomputes every course enrolled count that differs from its active enrollments
+     *
+     * @return number of repaired courses
+     */
+    @Scheduled(cron = "${course.enrolled-count.reconcile-cron:0 0 3 * * *}")
+    public int reconcileEnrolledCounts() {
+        int created = courseSeatsRepository.insertMissingSeats();
+        if (created > 0) {
+            logger.warn("Created missing seat counters for {} course(s)", created);
+        }
+
+        int repaired = courseSeatsRepository.reconcileEnrolledCounts();
+
+        if (repaired > 0) {
+            logger.warn("Repaired enrolled count drift on {} course(s)", repaired);
+        } else {
+            logger.info("Enrolled counts are consistent with active enrollments");
+        }
+
+        return repaired;
+    }
+}
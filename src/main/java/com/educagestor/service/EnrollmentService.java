@@ -1,23 +1,43 @@
 package com.educagestor.service;
 
+import com.educagestor.audit.AuditAction;
+import com.educagestor.audit.AuditService;
+import com.educagestor.dto.common.CursorPageDto;
+import com.educagestor.dto.enrollment.BulkEnrollmentRequest;
+import com.educagestor.dto.enrollment.BulkEnrollmentResultDto;
 import com.educagestor.dto.enrollment.EnrollmentDto;
 import com.educagestor.entity.Course;
 import com.educagestor.entity.Enrollment;
 import com.educagestor.entity.Student;
 import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.ConflictException;
 import com.educagestor.exception.ResourceNotFoundException;
+import com.educagestor.exception.TooManyRequestsException;
+import com.educagestor.pagination.CursorPagination;
+import com.educagestor.persistence.EntityIdAllocator;
+import com.educagestor.persistence.OptimisticRetry;
 import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.CourseSeatsRepository;
 import com.educagestor.repository.EnrollmentRepository;
 import com.educagestor.repository.StudentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
 
 /**
  * Service class for enrollment management operations
@@ -31,26 +51,71 @@ public class EnrollmentService {
 
     private static final Logger logger = LoggerFactory.getLogger(EnrollmentService.class);
 
+    private static final String INSERT_ENROLLMENT_SQL =
+        "INSERT INTO enrollments (student_id, course_id, enrollment_date, enrollment_status, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ENROLLMENT_WITH_ID_SQL =
+        "INSERT INTO enrollments (student_id, course_id, enrollment_date, enrollment_status, created_at, updated_at, id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int SEAT_RESERVATION_ATTEMPTS = 5;
+
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private CursorPagination cursorPagination;
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Autowired
+    private CourseSeatAdmission courseSeatAdmission;
+
+    @Autowired
+    private TranscriptService transcriptService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityIdAllocator entityIdAllocator;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Value("${enrollment.batch.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${enrollment.batch.max-students:10000}")
+    private int bulkMaxStudents;
+
     /**
      * Enrolls a student in a course
      *
+     * The seat is reserved with a conditional update on the course enrolled count,
+     * so concurrent requests can never oversubscribe a course. Duplicate enrollments
+     * are rejected by the unique constraint on student and course.
+     *
      * @param studentId student ID
      * @param courseId course ID
      * @return enrollment DTO
      * @throws BadRequestException if enrollment is not allowed
      * @throws ResourceNotFoundException if student or course not found
+     * @throws TooManyRequestsException if admission control rejected the request
      */
     public EnrollmentDto enrollStudent(Long studentId, Long courseId) {
-        logger.info("Enrolling student {} in course {}", studentId, courseId);
+        logger.debug("Enrolling student {} in course {}", studentId, courseId);
 
         // Validate student exists
         Student student = studentRepository.findById(studentId)
@@ -65,11 +130,6 @@ public class EnrollmentService {
             throw new BadRequestException("Student is already enrolled in this course");
         }
 
-        // Check if course has available spots
-        if (!course.hasAvailableSpots()) {
-            throw new BadRequestException("Course is full - no available spots");
-        }
-
         // Check if course is active
         if (!course.isActive()) {
             throw new BadRequestException("Cannot enroll in inactive course");
@@ -80,15 +140,133 @@ public class EnrollmentService {
             throw new BadRequestException("Cannot enroll inactive student");
         }
 
-        // Create enrollment
-        Enrollment enrollment = new Enrollment(student, course);
-        enrollment.setEnrollmentDate(LocalDate.now());
-        enrollment.setEnrollmentStatus(Enrollment.EnrollmentStatus.ENROLLED);
+        try (CourseSeatAdmission.Permit permit = courseSeatAdmission.admit(courseId)) {
+            // Reserve a seat atomically, failing if the course is full
+            if (courseSeatsRepository.reserveSeat(courseId) == 0) {
+                courseSeatAdmission.markFull(courseId);
+                throw new BadRequestException("Course is full - no available spots");
+            }
+
+            // Create enrollment
+            Enrollment enrollment = new Enrollment(student, course);
+            enrollment.setEnrollmentDate(LocalDate.now());
+            enrollment.setEnrollmentStatus(Enrollment.EnrollmentStatus.ENROLLED);
+
+            Enrollment savedEnrollment;
+            try {
+                savedEnrollment = enrollmentRepository.saveAndFlush(enrollment);
+            } catch (DataIntegrityViolationException e) {
+                throw new BadRequestException("Student is already enrolled in this course", e);
+            }
+            logger.debug("Student {} enrolled successfully in course {}", studentId, courseId);
+            auditService.record(AuditAction.ENROLLMENT_CREATED, "enrollment:" + savedEnrollment.getId(),
+                    "student=" + studentId + ", course=" + courseId);
+
+            return convertToEnrollmentDto(savedEnrollment);
+        }
+    }
+
+    /**
+     * Enrolls a cohort of students in a course
+     *
+     * Students are validated with set-based queries, the seats for the whole batch are
+     * reserved with one conditional update and the enrollments are inserted with JDBC
+     * batches. Students that cannot be enrolled are reported instead of failing the batch.
+     *
+     * @param request course and students to enroll
+     * @return per-student enrollment results in request order
+     * @throws BadRequestException if the request is empty, too large or the course is inactive
+     * @throws ResourceNotFoundException if the course is not found
+     */
+    public BulkEnrollmentResultDto enrollStudentsInBulk(BulkEnrollmentRequest request) {
+        Long courseId = request.getCourseId();
+        logger.debug("Bulk enrolling students in course {}", courseId);
+
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
+
+        if (!course.isActive()) {
+            throw new BadRequestException("Cannot enroll in inactive course");
+        }
+
+        // One result per distinct requested student, in request order
+        List<BulkEnrollmentResultDto.StudentResult> results = new ArrayList<>();
+        Map<Long, BulkEnrollmentResultDto.StudentResult> resultsById = new LinkedHashMap<>();
+        Map<String, BulkEnrollmentResultDto.StudentResult> resultsByCode = new LinkedHashMap<>();
+        if (request.getStudentIds() != null) {
+            request.getStudentIds().stream().filter(Objects::nonNull).forEach(id ->
+                resultsById.computeIfAbsent(id, key -> addResult(results, key, null)));
+        }
+        if (request.getStudentCodes() != null) {
+            request.getStudentCodes().stream().filter(code -> code != null && !code.isBlank()).map(String::trim)
+                .forEach(code -> resultsByCode.computeIfAbsent(code, key -> addResult(results, null, key)));
+        }
+
+        if (results.isEmpty()) {
+            throw new BadRequestException("At least one student ID or student code is required");
+        }
+        if (results.size() > bulkMaxStudents) {
+            throw new BadRequestException("Bulk enrollment is limited to " + bulkMaxStudents + " students");
+        }
+
+        // Resolve students by ID and by code
+        Map<Long, Student.AcademicStatus> statuses = new HashMap<>();
+        for (List<Long> ids : chunks(resultsById.keySet())) {
+            for (Object[] row : studentRepository.findEnrollmentCandidatesByIds(ids)) {
+                resultsById.get((Long) row[0]).setStudentCode((String) row[1]);
+                statuses.put((Long) row[0], (Student.AcademicStatus) row[2]);
+            }
+        }
+        for (List<String> codes : chunks(resultsByCode.keySet())) {
+            for (Object[] row : studentRepository.findEnrollmentCandidatesByStudentCodes(codes)) {
+                resultsByCode.get((String) row[1]).setStudentId((Long) row[0]);
+                statuses.put((Long) row[0], (Student.AcademicStatus) row[2]);
+            }
+        }
 
-        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
-        logger.info("Student {} enrolled successfully in course {}", studentId, courseId);
+        Map<Long, BulkEnrollmentResultDto.StudentResult> candidates = new LinkedHashMap<>();
+        for (BulkEnrollmentResultDto.StudentResult result : results) {
+            if (result.getStudentId() == null || !statuses.containsKey(result.getStudentId())) {
+                fail(result, "Student not found");
+            } else if (statuses.get(result.getStudentId()) != Student.AcademicStatus.ACTIVE) {
+                fail(result, "Cannot enroll inactive student");
+            } else if (candidates.putIfAbsent(result.getStudentId(), result) != null) {
+                fail(result, "Student is listed more than once");
+            }
+        }
+
+        // Exclude students that already have an enrollment in this course
+        for (List<Long> ids : chunks(new ArrayList<>(candidates.keySet()))) {
+            for (Object[] row : enrollmentRepository.findStatusesByCourseIdAndStudentIds(courseId, ids)) {
+                fail(candidates.remove((Long) row[0]), row[1] == Enrollment.EnrollmentStatus.ENROLLED ?
+                    "Student is already enrolled in this course" :
+                    "Student already has an enrollment record for this course");
+            }
+        }
+
+        // Reserve the seats for the whole batch, first come first served
+        List<BulkEnrollmentResultDto.StudentResult> toEnroll = new ArrayList<>(candidates.values());
+        int seats = reserveSeats(courseId, toEnroll.size());
+        if (seats < toEnroll.size()) {
+            courseSeatAdmission.markFull(courseId);
+            toEnroll.subList(seats, toEnroll.size()).forEach(result -> fail(result, "Course is full - no available spots"));
+            toEnroll = toEnroll.subList(0, seats);
+        }
 
-        return convertToEnrollmentDto(savedEnrollment);
+        insertEnrollments(courseId, toEnroll);
+        toEnroll.forEach(result -> result.setStatus(BulkEnrollmentResultDto.ResultStatus.ENROLLED));
+
+        BulkEnrollmentResultDto response = new BulkEnrollmentResultDto(courseId);
+        response.setResults(results);
+        response.setRequested(results.size());
+        response.setEnrolled(toEnroll.size());
+        response.setFailed(results.size() - toEnroll.size());
+        logger.debug("Bulk enrollment in course {} finished - {} requested, {} enrolled",
+            courseId, response.getRequested(), response.getEnrolled());
+        auditService.record(AuditAction.ENROLLMENTS_BULK_CREATED, "course:" + courseId,
+                "requested=" + response.getRequested() + ", enrolled=" + response.getEnrolled());
+
+        return response;
     }
 
     /**
@@ -99,10 +277,26 @@ public class EnrollmentService {
      */
     @Transactional(readOnly = true)
     public Page<EnrollmentDto> getAllEnrollments(Pageable pageable) {
-        logger.info("Fetching all enrollments with pagination");
+        logger.debug("Fetching all enrollments with pagination");
+
+        return enrollmentRepository.findAllDtos(pageable);
+    }
+
+    /**
+     * Gets enrollments after a pagination cursor, using keyset pagination without a count query
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sort requested sort
+     * @return cursor page of enrollment DTOs
+     * @throws BadRequestException if the cursor or sort cannot be used for keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<EnrollmentDto> getAllEnrollments(String after, int size, Sort sort) {
+        logger.debug("Fetching enrollments after cursor");
 
-        Page<Enrollment> enrollments = enrollmentRepository.findAll(pageable);
-        return enrollments.map(this::convertToEnrollmentDto);
+        return cursorPagination.page(enrollmentRepository, Enrollment.class, after, size, sort,
+                this::convertToEnrollmentDto, "student", "student.user", "course");
     }
 
     /**
@@ -114,7 +308,7 @@ public class EnrollmentService {
      */
     @Transactional(readOnly = true)
     public EnrollmentDto getEnrollmentById(Long enrollmentId) {
-        logger.info("Fetching enrollment by ID: {}", enrollmentId);
+        logger.debug("Fetching enrollment by ID: {}", enrollmentId);
 
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
             .orElseThrow(() -> new ResourceNotFoundException("Enrollment", "id", enrollmentId));
@@ -131,10 +325,9 @@ public class EnrollmentService {
      */
     @Transactional(readOnly = true)
     public Page<EnrollmentDto> getEnrollmentsByStudentId(Long studentId, Pageable pageable) {
-        logger.info("Fetching enrollments for student: {}", studentId);
+        logger.debug("Fetching enrollments for student: {}", studentId);
 
-        Page<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId, pageable);
-        return enrollments.map(this::convertToEnrollmentDto);
+        return enrollmentRepository.findDtosByStudentId(studentId, pageable);
     }
 
     /**
@@ -146,10 +339,9 @@ public class EnrollmentService {
      */
     @Transactional(readOnly = true)
     public Page<EnrollmentDto> getEnrollmentsByCourseId(Long courseId, Pageable pageable) {
-        logger.info("Fetching enrollments for course: {}", courseId);
+        logger.debug("Fetching enrollments for course: {}", courseId);
 
-        Page<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId, pageable);
-        return enrollments.map(this::convertToEnrollmentDto);
+        return enrollmentRepository.findDtosByCourseId(courseId, pageable);
     }
 
     /**
@@ -158,10 +350,19 @@ public class EnrollmentService {
      * @param enrollmentId enrollment ID
      * @throws ResourceNotFoundException if enrollment not found
      * @throws BadRequestException if enrollment cannot be cancelled
+     * @throws ConflictException if the enrollment keeps changing concurrently
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void cancelEnrollment(Long enrollmentId) {
-        logger.info("Cancelling enrollment: {}", enrollmentId);
+        logger.debug("Cancelling enrollment: {}", enrollmentId);
 
+        optimisticRetry.execute("Enrollment", enrollmentId, () -> {
+            applyCancellation(enrollmentId);
+            return null;
+        });
+    }
+
+    private void applyCancellation(Long enrollmentId) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
             .orElseThrow(() -> new ResourceNotFoundException("Enrollment", "id", enrollmentId));
 
@@ -174,8 +375,12 @@ public class EnrollmentService {
         enrollment.setEnrollmentStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
         enrollment.setCompletionDate(LocalDate.now());
 
-        enrollmentRepository.save(enrollment);
-        logger.info("Enrollment cancelled successfully: {}", enrollmentId);
+        enrollmentRepository.saveAndFlush(enrollment);
+        courseSeatsRepository.decrementEnrolledCount(enrollment.getCourse().getId());
+        courseSeatAdmission.seatReleased(enrollment.getCourse().getId());
+        transcriptService.studentChanged(enrollment.getStudent().getId());
+        logger.debug("Enrollment cancelled successfully: {}", enrollmentId);
+        auditService.record(AuditAction.ENROLLMENT_CANCELLED, "enrollment:" + enrollmentId, null);
     }
 
     /**
@@ -186,10 +391,16 @@ public class EnrollmentService {
      * @return updated enrollment DTO
      * @throws ResourceNotFoundException if enrollment not found
      * @throws BadRequestException if enrollment cannot be completed
+     * @throws ConflictException if the enrollment keeps changing concurrently
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EnrollmentDto completeEnrollment(Long enrollmentId, Double finalGrade) {
-        logger.info("Completing enrollment {} with grade {}", enrollmentId, finalGrade);
+        logger.debug("Completing enrollment {} with grade {}", enrollmentId, finalGrade);
+
+        return optimisticRetry.execute("Enrollment", enrollmentId, () -> applyCompletion(enrollmentId, finalGrade));
+    }
 
+    private EnrollmentDto applyCompletion(Long enrollmentId, Double finalGrade) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
             .orElseThrow(() -> new ResourceNotFoundException("Enrollment", "id", enrollmentId));
 
@@ -206,8 +417,12 @@ public class EnrollmentService {
         // Complete enrollment
         enrollment.complete(finalGrade);
 
-        Enrollment updatedEnrollment = enrollmentRepository.save(enrollment);
-        logger.info("Enrollment completed successfully: {}", enrollmentId);
+        Enrollment updatedEnrollment = enrollmentRepository.saveAndFlush(enrollment);
+        courseSeatsRepository.decrementEnrolledCount(enrollment.getCourse().getId());
+        courseSeatAdmission.seatReleased(enrollment.getCourse().getId());
+        transcriptService.studentChanged(enrollment.getStudent().getId());
+        logger.debug("Enrollment completed successfully: {}", enrollmentId);
+        auditService.record(AuditAction.ENROLLMENT_COMPLETED, "enrollment:" + enrollmentId, "finalGrade=" + finalGrade);
 
         return convertToEnrollmentDto(updatedEnrollment);
     }
@@ -221,10 +436,72 @@ public class EnrollmentService {
      */
     @Transactional(readOnly = true)
     public Page<EnrollmentDto> getEnrollmentsByStatus(Enrollment.EnrollmentStatus status, Pageable pageable) {
-        logger.info("Fetching enrollments by status: {}", status);
+        logger.debug("Fetching enrollments by status: {}", status);
+
+        return enrollmentRepository.findDtosByEnrollmentStatus(status, pageable);
+    }
+
+    /**
+     * Reserves up to the requested number of seats, shrinking to the seats left when short
+     */
+    private int reserveSeats(Long courseId, int requested) {
+        int seats = requested;
+        for (int attempt = 0; attempt < SEAT_RESERVATION_ATTEMPTS && seats > 0; attempt++) {
+            if (courseSeatsRepository.reserveSeats(courseId, seats) == 1) {
+                return seats;
+            }
+
+            Integer available = courseSeatsRepository.getAvailableSeats(courseId);
+            seats = available != null ? Math.min(requested, Math.max(available, 0)) : 0;
+        }
+        return 0;
+    }
+
+    private void insertEnrollments(Long courseId, List<BulkEnrollmentResultDto.StudentResult> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+
+        Date enrollmentDate = Date.valueOf(LocalDate.now());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean assignIds = entityIdAllocator.assignsIds(Enrollment.class);
+        String sql = assignIds ? INSERT_ENROLLMENT_WITH_ID_SQL : INSERT_ENROLLMENT_SQL;
+        try {
+            jdbcTemplate.batchUpdate(sql, students, bulkChunkSize, (ps, student) -> {
+                ps.setLong(1, student.getStudentId());
+                ps.setLong(2, courseId);
+                ps.setDate(3, enrollmentDate);
+                ps.setString(4, Enrollment.EnrollmentStatus.ENROLLED.name());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+                if (assignIds) {
+                    ps.setLong(7, entityIdAllocator.nextId(Enrollment.class));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("Enrollments in this course changed concurrently, please retry", e);
+        }
+    }
+
+    private <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += bulkChunkSize) {
+            chunks.add(list.subList(i, Math.min(i + bulkChunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    private BulkEnrollmentResultDto.StudentResult addResult(List<BulkEnrollmentResultDto.StudentResult> results,
+                                                            Long studentId, String studentCode) {
+        BulkEnrollmentResultDto.StudentResult result = new BulkEnrollmentResultDto.StudentResult(studentId, studentCode);
+        results.add(result);
+        return result;
+    }
 
-        Page<Enrollment> enrollments = enrollmentRepository.findByEnrollmentStatus(status, pageable);
-        return enrollments.map(this::convertToEnrollmentDto);
+    private void fail(BulkEnrollmentResultDto.StudentResult result, String message) {
+        result.setStatus(BulkEnrollmentResultDto.ResultStatus.FAILED);
+        result.setMessage(message);
     }
 
     /**
@@ -0,0 +1,284 @@
+package com.educagestor.service;
+
+import com.educagestor.analytics.GradeDistributionService;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.GradeAggregate;
+import com.educagestor.repository.GradeAggregateRepository;
+import com.educagestor.repository.GradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service maintaining the precomputed grade aggregates per student and course
+ *
+ * Every grade write goes through this service so that the aggregate of the affected
+ * student and course is adjusted in the same transaction, and the change is passed on
+ * to the course grade histograms. Minimum and maximum are
+ * only recomputed from the grades when a removed value was one of them. Aggregates
+ * can be rebuilt from the grades table for backfill, which also happens at startup
+ * when the table is empty but grades exist.
+ *
+ * The first grade of a student in a course inserts the aggregate row. That insert runs
+ * in a savepoint, so a concurrent transaction inserting the same row first only rolls
+ * back the insert, and the grades are then added to the row it created.
+ */
+@Service
+@Transactional
+public class GradeAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeAggregateService.class);
+
+    private static final String INSERT_AGGREGATE_SQL =
+        "INSERT INTO grade_aggregates (student_id, course_id, grade_count, grade_sum, weighted_sum, weight_total, " +
+        "min_grade, max_grade, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GradeDistributionService gradeDistributionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Backfills the aggregates once the application has started, if they were never built
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (gradeAggregateRepository.count() == 0 && gradeRepository.count() > 0) {
+            logger.info("Grade aggregates are empty - backfilling from grades");
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds every aggregate from the grades table
+     *
+     * @return number of student-course aggregates
+     */
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+
+        gradeAggregateRepository.deleteAllAggregates();
+        int aggregates = gradeAggregateRepository.insertAggregatesFromGrades();
+        gradeDistributionService.invalidateAll();
+
+        logger.info("Rebuilt {} grade aggregates in {} ms", aggregates, System.currentTimeMillis() - start);
+        return aggregates;
+    }
+
+    /**
+     * Gets the aggregate of a student in a course
+     *
+     * @param studentId student ID
+     * @param courseId course ID
+     * @return Optional containing the aggregate if the student has non-dropped grades in the course
+     */
+    @Transactional(readOnly = true)
+    public Optional<GradeAggregate> getAggregate(Long studentId, Long courseId) {
+        return gradeAggregateRepository.findByStudentIdAndCourseId(studentId, courseId);
+    }
+
+    /**
+     * Adds a newly recorded grade to its aggregate
+     *
+     * @param grade the saved grade
+     */
+    public void gradeAdded(Grade grade) {
+        GradeContribution contribution = GradeContribution.of(grade);
+        if (contribution != null) {
+            addAll(List.of(contribution));
+        }
+    }
+
+    /**
+     * Adds grades to their aggregates, one update per student and course
+     *
+     * @param contributions the contributions of the added grades
+     */
+    public void addAll(Collection<GradeContribution> contributions) {
+        Map<AggregateKey, Delta> deltas = new LinkedHashMap<>();
+        for (GradeContribution contribution : contributions) {
+            deltas.computeIfAbsent(new AggregateKey(contribution.studentId(), contribution.courseId()), key -> new Delta())
+                    .add(contribution);
+        }
+
+        deltas.forEach(this::apply);
+        gradeDistributionService.gradesChanged(contributions, List.of());
+    }
+
+    /**
+     * Removes a deleted grade from its aggregate
+     *
+     * @param contribution the contribution of the grade before it was deleted, null if it did not count
+     */
+    public void gradeRemoved(GradeContribution contribution) {
+        if (contribution == null) {
+            return;
+        }
+
+        gradeAggregateRepository.removeGrade(contribution.studentId(), contribution.courseId(),
+                contribution.value(), contribution.weight());
+        if (gradeAggregateRepository.deleteIfEmpty(contribution.studentId(), contribution.courseId()) == 0) {
+            gradeAggregateRepository.recomputeExtremesIfBoundary(contribution.studentId(), contribution.courseId(),
+                    contribution.value());
+        }
+        gradeDistributionService.gradesChanged(List.of(), List.of(contribution));
+    }
+
+    /**
+     * Replaces the contribution of an updated grade in its aggregate
+     *
+     * @param before the contribution before the update, null if it did not count
+     * @param after the contribution after the update, null if it no longer counts
+     */
+    public void gradeReplaced(GradeContribution before, GradeContribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+
+        gradeRemoved(before);
+        if (after != null) {
+            addAll(List.of(after));
+        }
+    }
+
+    private void apply(AggregateKey key, Delta delta) {
+        if (addGrades(key, delta) > 0 || insertAggregate(key, delta)) {
+            return;
+        }
+
+        // Another transaction inserted the aggregate between the update and the insert
+        if (addGrades(key, delta) == 0) {
+            throw new IllegalStateException("Grade aggregate of student " + key.studentId() + " in course "
+                + key.courseId() + " could neither be inserted nor updated");
+        }
+    }
+
+    private int addGrades(AggregateKey key, Delta delta) {
+        return gradeAggregateRepository.addGrades(key.studentId(), key.courseId(), delta.count, delta.sum,
+                delta.weightedSum, delta.weightTotal, delta.min, delta.max);
+    }
+
+    /**
+     * Inserts a new aggregate in a savepoint of the current transaction
+     *
+     * @return true if the aggregate was inserted, false if it already exists
+     */
+    private boolean insertAggregate(AggregateKey key, Delta delta) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_AGGREGATE_SQL)) {
+                ps.setLong(1, key.studentId());
+                ps.setLong(2, key.courseId());
+                ps.setLong(3, delta.count);
+                ps.setDouble(4, delta.sum);
+                ps.setDouble(5, delta.weightedSum);
+                ps.setDouble(6, delta.weightTotal);
+                ps.setDouble(7, delta.min);
+                ps.setDouble(8, delta.max);
+                ps.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                DataAccessException translated = jdbcTemplate.getExceptionTranslator()
+                        .translate("Insert grade aggregate", INSERT_AGGREGATE_SQL, e);
+                if (translated instanceof DuplicateKeyException) {
+                    logger.debug("Grade aggregate of student {} in course {} inserted concurrently",
+                            key.studentId(), key.courseId());
+                    return false;
+                }
+                throw e;
+            }
+        }));
+    }
+
+    /**
+     * What a grade adds to the aggregate of its student and course
+     *
+     * @param studentId the student ID
+     * @param courseId the course ID
+     * @param value the grade value
+     * @param weight the grade weight, 1.0 when unset
+     */
+    public record GradeContribution(Long studentId, Long courseId, double value, double weight) {
+
+        /**
+         * Gets the contribution of a grade
+         *
+         * @param grade the grade
+         * @return the contribution, or null if the grade does not count (dropped)
+         */
+        public static GradeContribution of(Grade grade) {
+            if (!Boolean.FALSE.equals(grade.getIsDropped())) {
+                return null;
+            }
+            return of(grade.getStudent().getId(), grade.getCourse().getId(), grade.getGradeValue(), grade.getWeight());
+        }
+
+        /**
+         * Gets the contribution of a non-dropped grade
+         *
+         * @param studentId the student ID
+         * @param courseId the course ID
+         * @param value the grade value
+         * @param weight the grade weight, may be null
+         * @return the contribution
+         */
+        public static GradeContribution of(Long studentId, Long courseId, double value, Double weight) {
+            return new GradeContribution(studentId, courseId, value, weight != null ? weight : 1.0);
+        }
+    }
+
+    private record AggregateKey(Long studentId, Long courseId) { }
+
+    private static final class Delta {
+
+        private long count;
+
+        private double sum;
+
+        private double weightedSum;
+
+        private double weightTotal;
+
+        private double min = Double.MAX_VALUE;
+
+        private double max = -Double.MAX_VALUE;
+
+        void add(GradeContribution contribution) {
+            count++;
+            sum += contribution.value();
+            weightedSum += contribution.value() * contribution.weight();
+            weightTotal += contribution.weight();
+            min = Math.min(min, contribution.value());
+            max = Math.max(max, contribution.value());
+        }
+    }
+}
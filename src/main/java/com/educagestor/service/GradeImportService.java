@@ -0,0 +1,433 @@
+package com.educagestor.service;
+
+import com.educagestor.audit.AuditAction;
+import com.educagestor.audit.AuditService;
+import com.educagestor.dto.grade.GradeImportResultDto;
+import com.educagestor.dto.grade.GradeImportRow;
+import com.educagestor.entity.Grade;
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.persistence.EntityIdAllocator;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk grade imports
+ *
+ * This service streams gradebooks uploaded as a JSON array or CSV, validates each
+ * row, resolves the referenced students and courses in bulk per chunk and inserts
+ * the valid rows with JDBC batches, bypassing the per-entity identity inserts.
+ */
+@Service
+@Transactional
+public class GradeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeImportService.class);
+
+    private static final String INSERT_GRADE_SQL =
+            "INSERT INTO grades (student_id, course_id, assignment_name, grade_type, grade_value, max_points, " +
+            "weight, grade_date, comments, is_extra_credit, is_dropped, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_GRADE_WITH_ID_SQL =
+            "INSERT INTO grades (student_id, course_id, assignment_name, grade_type, grade_value, max_points, " +
+            "weight, grade_date, comments, is_extra_credit, is_dropped, created_at, updated_at, id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final double DEFAULT_MAX_POINTS = 100.0;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private GradeAggregateService gradeAggregateService;
+
+    @Autowired
+    private EntityIdAllocator entityIdAllocator;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Value("${grade.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${grade.import.max-rows:50000}")
+    private int maxRows;
+
+    /**
+     * Imports grades from a JSON array of rows
+     *
+     * @param inputStream request body containing a JSON array
+     * @return per-row import report
+     * @throws BadRequestException if the body is not a well-formed JSON array or too large
+     */
+    public GradeImportResultDto importJson(InputStream inputStream) {
+        logger.debug("Importing grades from JSON");
+
+        GradeImportResultDto result = new GradeImportResultDto();
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Grade import must be a JSON array");
+            }
+
+            int rowNumber = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("Grade import JSON array is not terminated");
+                }
+                rowNumber = nextRowNumber(rowNumber);
+
+                JsonNode node = objectMapper.readTree(parser);
+                GradeImportRow row;
+                try {
+                    row = objectMapper.treeToValue(node, GradeImportRow.class);
+                } catch (JsonProcessingException e) {
+                    result.addFailed(rowNumber, "Unreadable row: " + e.getOriginalMessage());
+                    continue;
+                }
+                acceptRow(rowNumber, row, chunk, result);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Malformed JSON grade import: " + e.getMessage(), e);
+        }
+
+        flushChunk(chunk, result);
+        return finish(result);
+    }
+
+    /**
+     * Imports grades from CSV with a header row naming the columns
+     *
+     * @param inputStream request body containing CSV
+     * @return per-row import report
+     * @throws BadRequestException if the body is empty, unreadable or too large
+     */
+    public GradeImportResultDto importCsv(InputStream inputStream) {
+        logger.debug("Importing grades from CSV");
+
+        GradeImportResultDto result = new GradeImportResultDto();
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            CsvRecord headerRecord = readCsvRecord(reader);
+            if (headerRecord == null) {
+                throw new BadRequestException("CSV grade import is empty");
+            }
+            if (!headerRecord.terminated()) {
+                throw new BadRequestException("CSV grade import header has an unterminated quoted field");
+            }
+            List<String> header = headerRecord.values().stream().map(String::trim).collect(Collectors.toList());
+            if (header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+
+            int rowNumber = 0;
+            CsvRecord record;
+            while ((record = readCsvRecord(reader)) != null) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                rowNumber = nextRowNumber(rowNumber);
+
+                if (!record.terminated()) {
+                    result.addFailed(rowNumber, "Unterminated quoted field");
+                    break;
+                }
+
+                List<String> values = record.values();
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < Math.min(header.size(), values.size()); i++) {
+                    String value = values.get(i).trim();
+                    if (!value.isEmpty()) {
+                        fields.put(header.get(i), value);
+                    }
+                }
+
+                GradeImportRow row;
+                try {
+                    row = objectMapper.convertValue(fields, GradeImportRow.class);
+                } catch (IllegalArgumentException e) {
+                    String message = e.getCause() instanceof JsonProcessingException cause ?
+                            cause.getOriginalMessage() : e.getMessage();
+                    result.addFailed(rowNumber, "Unreadable row: " + message);
+                    continue;
+                }
+                acceptRow(rowNumber, row, chunk, result);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Unreadable CSV grade import: " + e.getMessage(), e);
+        }
+
+        flushChunk(chunk, result);
+        return finish(result);
+    }
+
+    private int nextRowNumber(int rowNumber) {
+        if (rowNumber >= maxRows) {
+            throw new BadRequestException("Grade import exceeds the maximum of " + maxRows + " rows");
+        }
+        return rowNumber + 1;
+    }
+
+    /**
+     * Validates a parsed row and queues it for insertion
+     */
+    private void acceptRow(int rowNumber, GradeImportRow row, List<PendingRow> chunk, GradeImportResultDto result) {
+        Set<ConstraintViolation<GradeImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            result.addFailed(rowNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+
+        if (row.getStudentId() == null && isBlank(row.getStudentCode())) {
+            result.addFailed(rowNumber, "Student ID or student code is required");
+            return;
+        }
+
+        if (row.getCourseId() == null && isBlank(row.getCourseCode())) {
+            result.addFailed(rowNumber, "Course ID or course code is required");
+            return;
+        }
+
+        double maxPoints = row.getMaxPoints() != null ? row.getMaxPoints() : DEFAULT_MAX_POINTS;
+        if (row.getGradeValue() > maxPoints) {
+            result.addFailed(rowNumber, "Grade value must be between 0 and maximum points");
+            return;
+        }
+
+        chunk.add(new PendingRow(rowNumber, row));
+        if (chunk.size() >= batchSize) {
+            flushChunk(chunk, result);
+        }
+    }
+
+    /**
+     * Resolves the students and courses of a chunk in bulk and batch-inserts its rows
+     */
+    private void flushChunk(List<PendingRow> chunk, GradeImportResultDto result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Set<Long> studentIds = new HashSet<>();
+        Set<String> studentCodes = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        Set<String> courseCodes = new HashSet<>();
+        for (PendingRow pending : chunk) {
+            if (pending.row().getStudentId() != null) {
+                studentIds.add(pending.row().getStudentId());
+            } else {
+                studentCodes.add(pending.row().getStudentCode().trim());
+            }
+            if (pending.row().getCourseId() != null) {
+                courseIds.add(pending.row().getCourseId());
+            } else {
+                courseCodes.add(pending.row().getCourseCode().trim());
+            }
+        }
+
+        Set<Long> existingStudentIds = studentIds.isEmpty() ?
+                Set.of() : new HashSet<>(studentRepository.findExistingIds(studentIds));
+        Map<String, Long> studentIdsByCode = studentCodes.isEmpty() ?
+                Map.of() : toIdMap(studentRepository.findIdsByStudentCodes(studentCodes));
+        Set<Long> existingCourseIds = courseIds.isEmpty() ?
+                Set.of() : new HashSet<>(courseRepository.findExistingIds(courseIds));
+        Map<String, Long> courseIdsByCode = courseCodes.isEmpty() ?
+                Map.of() : toIdMap(courseRepository.findIdsByCourseCodes(courseCodes));
+
+        List<ResolvedRow> resolved = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            GradeImportRow row = pending.row();
+
+            Long studentId = row.getStudentId() != null ?
+                    (existingStudentIds.contains(row.getStudentId()) ? row.getStudentId() : null) :
+                    studentIdsByCode.get(row.getStudentCode().trim());
+            if (studentId == null) {
+                result.addFailed(pending.rowNumber(), "Student not found");
+                continue;
+            }
+
+            Long courseId = row.getCourseId() != null ?
+                    (existingCourseIds.contains(row.getCourseId()) ? row.getCourseId() : null) :
+                    courseIdsByCode.get(row.getCourseCode().trim());
+            if (courseId == null) {
+                result.addFailed(pending.rowNumber(), "Course not found");
+                continue;
+            }
+
+            resolved.add(new ResolvedRow(pending.rowNumber(), studentId, courseId, row));
+        }
+
+        insertBatch(resolved);
+        resolved.forEach(row -> result.addImported(row.rowNumber()));
+        chunk.clear();
+    }
+
+    private void insertBatch(List<ResolvedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean assignIds = entityIdAllocator.assignsIds(Grade.class);
+        String sql = assignIds ? INSERT_GRADE_WITH_ID_SQL : INSERT_GRADE_SQL;
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, resolved) -> {
+            GradeImportRow row = resolved.row();
+            ps.setLong(1, resolved.studentId());
+            ps.setLong(2, resolved.courseId());
+            ps.setString(3, row.getAssignmentName());
+            ps.setString(4, row.getGradeType().name());
+            ps.setDouble(5, row.getGradeValue());
+            ps.setDouble(6, row.getMaxPoints() != null ? row.getMaxPoints() : DEFAULT_MAX_POINTS);
+            ps.setObject(7, row.getWeight(), Types.DOUBLE);
+            ps.setDate(8, Date.valueOf(row.getGradeDate() != null ? row.getGradeDate() : LocalDate.now()));
+            ps.setString(9, row.getComments());
+            ps.setBoolean(10, Boolean.TRUE.equals(row.getIsExtraCredit()));
+            ps.setBoolean(11, false);
+            ps.setTimestamp(12, now);
+            ps.setTimestamp(13, now);
+            if (assignIds) {
+                ps.setLong(14, entityIdAllocator.nextId(Grade.class));
+            }
+        });
+        gradeAggregateService.addAll(rows.stream()
+                .map(resolved -> GradeAggregateService.GradeContribution.of(resolved.studentId(), resolved.courseId(),
+                        resolved.row().getGradeValue(), resolved.row().getWeight()))
+                .toList());
+        logger.debug("Inserted batch of {} grades", rows.size());
+    }
+
+    private GradeImportResultDto finish(GradeImportResultDto result) {
+        result.getRows().sort(Comparator.comparingInt(GradeImportResultDto.RowResult::getRowNumber));
+        logger.info("Grade import finished - {} rows, {} imported, {} failed",
+                result.getTotalRows(), result.getImportedRows(), result.getFailedRows());
+        auditService.record(AuditAction.GRADES_IMPORTED, "grades",
+                "rows=" + result.getTotalRows() + ", imported=" + result.getImportedRows() + ", failed=" + result.getFailedRows());
+        return result;
+    }
+
+    private Map<String, Long> toIdMap(List<Object[]> pairs) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] pair : pairs) {
+            ids.put((String) pair[0], (Long) pair[1]);
+        }
+        return ids;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Reads the next CSV record, honouring double-quoted fields and escaped quotes
+     *
+     * A quoted field may span several lines, so the record ends at the first line
+     * break outside quotes rather than at the end of the line.
+     *
+     * @return the record, or null at the end of the input
+     */
+    private CsvRecord readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean sawQuote = false;
+
+        for (; c != -1; c = reader.read()) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        current.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    current.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                sawQuote = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                current.append((char) c);
+            }
+        }
+        values.add(current.toString());
+
+        return new CsvRecord(values, !quoted, sawQuote);
+    }
+
+    /**
+     * One CSV record, not terminated when the input ended inside a quoted field
+     */
+    private record CsvRecord(List<String> values, boolean terminated, boolean quoted) {
+
+        boolean isBlank() {
+            return !quoted && values.size() == 1 && values.get(0).isBlank();
+        }
+    }
+
+    private record PendingRow(int rowNumber, GradeImportRow row) { }
+
+    private record ResolvedRow(int rowNumber, Long studentId, Long courseId, GradeImportRow row) { }
+}
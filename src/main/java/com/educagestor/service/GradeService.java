@@ -1,20 +1,31 @@
 package com.educagestor.service;
 
+import com.educagestor.audit.AuditAction;
+import com.educagestor.audit.AuditService;
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.grade.GradeDto;
+import com.educagestor.dto.grade.GradeStatisticsDto;
 import com.educagestor.entity.Course;
 import com.educagestor.entity.Grade;
+import com.educagestor.entity.GradeAggregate;
 import com.educagestor.entity.Student;
 import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.ConflictException;
 import com.educagestor.exception.ResourceNotFoundException;
+import com.educagestor.pagination.CursorPagination;
+import com.educagestor.persistence.OptimisticRetry;
 import com.educagestor.repository.CourseRepository;
 import com.educagestor.repository.GradeRepository;
 import com.educagestor.repository.StudentRepository;
+import com.educagestor.service.GradeAggregateService.GradeContribution;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -34,12 +45,24 @@ public class GradeService {
     @Autowired
     private GradeRepository gradeRepository;
 
+    @Autowired
+    private CursorPagination cursorPagination;
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private GradeAggregateService gradeAggregateService;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    private AuditService auditService;
+
     /**
      * Records a new grade
      *
@@ -49,7 +72,7 @@ public class GradeService {
      * @throws ResourceNotFoundException if student or course not found
      */
     public GradeDto recordGrade(GradeDto gradeDto) {
-        logger.info("Recording grade for student {} in course {}", gradeDto.getStudentId(), gradeDto.getCourseId());
+        logger.debug("Recording grade for student {} in course {}", gradeDto.getStudentId(), gradeDto.getCourseId());
 
         // Validate student exists
         Student student = studentRepository.findById(gradeDto.getStudentId())
@@ -79,7 +102,10 @@ public class GradeService {
         grade.setIsDropped(false); // New grades are not dropped by default
 
         Grade savedGrade = gradeRepository.save(grade);
-        logger.info("Grade recorded successfully for student {} in course {}", gradeDto.getStudentId(), gradeDto.getCourseId());
+        gradeAggregateService.gradeAdded(savedGrade);
+        logger.debug("Grade recorded successfully for student {} in course {}", gradeDto.getStudentId(), gradeDto.getCourseId());
+        auditService.record(AuditAction.GRADE_RECORDED, "grade:" + savedGrade.getId(),
+                "student=" + gradeDto.getStudentId() + ", course=" + gradeDto.getCourseId() + ", value=" + savedGrade.getGradeValue());
 
         return convertToGradeDto(savedGrade);
     }
@@ -92,12 +118,29 @@ public class GradeService {
      */
     @Transactional(readOnly = true)
     public Page<GradeDto> getAllGrades(Pageable pageable) {
-        logger.info("Fetching all grades with pagination");
+        logger.debug("Fetching all grades with pagination");
 
-        Page<Grade> grades = gradeRepository.findAll(pageable);
+        Page<Grade> grades = gradeRepository.findAllWithStudentAndCourse(pageable);
         return grades.map(this::convertToGradeDto);
     }
 
+    /**
+     * Gets grades after a pagination cursor, using keyset pagination without a count query
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sort requested sort
+     * @return cursor page of grade DTOs
+     * @throws BadRequestException if the cursor or sort cannot be used for keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<GradeDto> getAllGrades(String after, int size, Sort sort) {
+        logger.debug("Fetching grades after cursor");
+
+        return cursorPagination.page(gradeRepository, Grade.class, after, size, sort,
+                this::convertToGradeDto, "student", "student.user", "course");
+    }
+
     /**
      * Gets grade by ID
      *
@@ -107,9 +150,9 @@ public class GradeService {
      */
     @Transactional(readOnly = true)
     public GradeDto getGradeById(Long gradeId) {
-        logger.info("Fetching grade by ID: {}", gradeId);
+        logger.debug("Fetching grade by ID: {}", gradeId);
 
-        Grade grade = gradeRepository.findById(gradeId)
+        Grade grade = gradeRepository.findByIdWithStudentAndCourse(gradeId)
             .orElseThrow(() -> new ResourceNotFoundException("Grade", "id", gradeId));
 
         return convertToGradeDto(grade);
@@ -124,9 +167,9 @@ public class GradeService {
      */
     @Transactional(readOnly = true)
     public Page<GradeDto> getGradesByStudentId(Long studentId, Pageable pageable) {
-        logger.info("Fetching grades for student: {}", studentId);
+        logger.debug("Fetching grades for student: {}", studentId);
 
-        Page<Grade> grades = gradeRepository.findByStudentId(studentId, pageable);
+        Page<Grade> grades = gradeRepository.findByStudentIdWithStudentAndCourse(studentId, pageable);
         return grades.map(this::convertToGradeDto);
     }
 
@@ -139,9 +182,9 @@ public class GradeService {
      */
     @Transactional(readOnly = true)
     public Page<GradeDto> getGradesByCourseId(Long courseId, Pageable pageable) {
-        logger.info("Fetching grades for course: {}", courseId);
+        logger.debug("Fetching grades for course: {}", courseId);
 
-        Page<Grade> grades = gradeRepository.findByCourseId(courseId, pageable);
+        Page<Grade> grades = gradeRepository.findByCourseIdWithStudentAndCourse(courseId, pageable);
         return grades.map(this::convertToGradeDto);
     }
 
@@ -155,9 +198,9 @@ public class GradeService {
      */
     @Transactional(readOnly = true)
     public Page<GradeDto> getGradesByStudentAndCourse(Long studentId, Long courseId, Pageable pageable) {
-        logger.info("Fetching grades for student {} in course {}", studentId, courseId);
+        logger.debug("Fetching grades for student {} in course {}", studentId, courseId);
 
-        Page<Grade> grades = gradeRepository.findByStudentIdAndCourseId(studentId, courseId, pageable);
+        Page<Grade> grades = gradeRepository.findByStudentIdAndCourseIdWithStudentAndCourse(studentId, courseId, pageable);
         return grades.map(this::convertToGradeDto);
     }
 
@@ -169,12 +212,23 @@ public class GradeService {
      * @return updated grade DTO
      * @throws ResourceNotFoundException if grade not found
      * @throws BadRequestException if grade data is invalid
+     * @throws ConflictException if the grade changed since the given version or keeps changing concurrently
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public GradeDto updateGrade(Long gradeId, GradeDto gradeDto) {
-        logger.info("Updating grade: {}", gradeId);
+        logger.debug("Updating grade: {}", gradeId);
 
+        return optimisticRetry.execute("Grade", gradeId, () -> applyGradeUpdate(gradeId, gradeDto));
+    }
+
+    private GradeDto applyGradeUpdate(Long gradeId, GradeDto gradeDto) {
         Grade grade = gradeRepository.findById(gradeId)
             .orElseThrow(() -> new ResourceNotFoundException("Grade", "id", gradeId));
+        if (gradeDto.getVersion() != null && !gradeDto.getVersion().equals(grade.getVersion())) {
+            throw new ConflictException("Grade " + gradeId + " was modified since version " + gradeDto.getVersion());
+        }
+        GradeContribution before = GradeContribution.of(grade);
+        Double previousValue = grade.getGradeValue();
 
         // Update grade fields
         if (gradeDto.getAssignmentName() != null) {
@@ -209,8 +263,11 @@ public class GradeService {
             grade.setIsDropped(gradeDto.getIsDropped());
         }
 
-        Grade updatedGrade = gradeRepository.save(grade);
-        logger.info("Grade updated successfully: {}", gradeId);
+        Grade updatedGrade = gradeRepository.saveAndFlush(grade);
+        gradeAggregateService.gradeReplaced(before, GradeContribution.of(updatedGrade));
+        logger.debug("Grade updated successfully: {}", gradeId);
+        auditService.record(AuditAction.GRADE_UPDATED, "grade:" + gradeId,
+                "value " + previousValue + " -> " + updatedGrade.getGradeValue());
 
         return convertToGradeDto(updatedGrade);
     }
@@ -222,13 +279,17 @@ public class GradeService {
      * @throws ResourceNotFoundException if grade not found
      */
     public void deleteGrade(Long gradeId) {
-        logger.info("Deleting grade: {}", gradeId);
+        logger.debug("Deleting grade: {}", gradeId);
 
         Grade grade = gradeRepository.findById(gradeId)
             .orElseThrow(() -> new ResourceNotFoundException("Grade", "id", gradeId));
 
+        GradeContribution contribution = GradeContribution.of(grade);
         gradeRepository.delete(grade);
-        logger.info("Grade deleted successfully: {}", gradeId);
+        gradeAggregateService.gradeRemoved(contribution);
+        logger.debug("Grade deleted successfully: {}", gradeId);
+        auditService.record(AuditAction.GRADE_DELETED, "grade:" + gradeId,
+                "student=" + grade.getStudent().getId() + ", course=" + grade.getCourse().getId());
     }
 
     /**
@@ -240,10 +301,11 @@ public class GradeService {
      */
     @Transactional(readOnly = true)
     public Double calculateAverageGrade(Long studentId, Long courseId) {
-        logger.info("Calculating average grade for student {} in course {}", studentId, courseId);
+        logger.debug("Calculating average grade for student {} in course {}", studentId, courseId);
 
-        Double average = gradeRepository.calculateAverageGrade(studentId, courseId);
-        return average != null ? average : 0.0;
+        return gradeAggregateService.getAggregate(studentId, courseId)
+            .map(GradeAggregate::getAverage)
+            .orElse(0.0);
     }
 
     /**
@@ -255,10 +317,45 @@ public class GradeService {
      */
     @Transactional(readOnly = true)
     public Double calculateWeightedAverageGrade(Long studentId, Long courseId) {
-        logger.info("Calculating weighted average grade for student {} in course {}", studentId, courseId);
+        logger.debug("Calculating weighted average grade for student {} in course {}", studentId, courseId);
+
+        return gradeAggregateService.getAggregate(studentId, courseId)
+            .map(GradeAggregate::getWeightedAverage)
+            .orElse(0.0);
+    }
+
+    /**
+     * Gets grade statistics for a student in a course
+     *
+     * @param studentId student ID
+     * @param courseId course ID
+     * @return grade count, averages, highest and lowest grade
+     */
+    @Transactional(readOnly = true)
+    public GradeStatisticsDto getGradeStatistics(Long studentId, Long courseId) {
+        logger.debug("Fetching grade statistics for student {} in course {}", studentId, courseId);
+
+        GradeStatisticsDto statistics = new GradeStatisticsDto(studentId, courseId);
+        gradeAggregateService.getAggregate(studentId, courseId).ifPresent(aggregate -> {
+            statistics.setGradeCount(aggregate.getGradeCount());
+            statistics.setAverageGrade(aggregate.getAverage());
+            statistics.setWeightedAverageGrade(aggregate.getWeightedAverage());
+            statistics.setHighestGrade(aggregate.getMaxGrade());
+            statistics.setLowestGrade(aggregate.getMinGrade());
+        });
+
+        return statistics;
+    }
+
+    /**
+     * Rebuilds the precomputed grade aggregates from the grades table
+     *
+     * @return number of student-course aggregates
+     */
+    public int rebuildGradeAggregates() {
+        logger.info("Rebuilding grade aggregates");
 
-        Double weightedAverage = gradeRepository.calculateWeightedAverageGrade(studentId, courseId);
-        return weightedAverage != null ? weightedAverage : 0.0;
+        return gradeAggregateService.rebuild();
     }
 
     /**
@@ -287,6 +384,7 @@ public class GradeService {
         dto.setIsDropped(grade.getIsDropped());
         dto.setCreatedAt(grade.getCreatedAt());
         dto.setUpdatedAt(grade.getUpdatedAt());
+        dto.setVersion(grade.getVersion());
 
         return dto;
     }
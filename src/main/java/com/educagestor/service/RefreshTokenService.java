@@ -0,0 +1,236 @@
+package com.educagestor.service;
+
+import com.educagestor.audit.AuditAction;
+import com.educagestor.audit.AuditService;
+import com.educagestor.entity.RefreshToken;
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.repository.RefreshTokenRepository;
+import com.educagestor.security.AccessTokenDenyList;
+import com.educagestor.security.JwtUtils;
+import com.educagestor.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service managing the refresh token store
+ *
+ * Every login starts a refresh token family and every refresh rotates the presented
+ * token into the next one of its family. A refresh token presented a second time has
+ * leaked, so the whole family is revoked along with the access tokens issued with it.
+ *
+ * Revoked access tokens are put in the in-memory AccessTokenDenyList, which the JWT
+ * filter checks without touching the database. Revocations made by other instances
+ * are picked up from the store on a fixed schedule, and the deny-list is rebuilt from
+ * it on startup.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    // Revocation times are written with each instance's clock, the overlap absorbs clock skew
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private AccessTokenDenyList accessTokenDenyList;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate newTransaction;
+
+    private volatile LocalDateTime lastSync = LocalDateTime.MIN;
+
+    @PostConstruct
+    void init() {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Issues an access token and a refresh token for a principal
+     *
+     * @param principal the authenticated principal
+     * @param familyId family of the rotated refresh token, or null to start a new family on login
+     * @return the issued tokens
+     */
+    public TokenPair issue(UserPrincipal principal, String familyId) {
+        String family = familyId != null ? familyId : UUID.randomUUID().toString();
+        String accessTokenId = UUID.randomUUID().toString();
+        String refreshTokenId = UUID.randomUUID().toString();
+        // JWT dates have second precision, the stored expirations must match the token claims
+        Date issuedAt = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        Date accessExpiresAt = jwtUtils.getAccessTokenExpiration(issuedAt);
+
+        String accessToken = jwtUtils.generateAccessToken(principal, accessTokenId, family, issuedAt);
+        String refreshToken = jwtUtils.generateRefreshToken(principal.getUsername(), refreshTokenId, family, issuedAt);
+
+        refreshTokenRepository.save(new RefreshToken(refreshTokenId, family, principal.getId(), principal.getUsername(),
+                accessTokenId, toLocalDateTime(accessExpiresAt),
+                toLocalDateTime(jwtUtils.getRefreshTokenExpiration(issuedAt)), toLocalDateTime(issuedAt)));
+
+        return new TokenPair(accessToken, refreshToken);
+    }
+
+    /**
+     * Consumes a refresh token so that it cannot be used again
+     *
+     * @param refreshToken the presented refresh token
+     * @return the stored token, whose family the next token is issued in
+     * @throws BadRequestException if the token is invalid, revoked or was already used
+     */
+    public RefreshToken consume(String refreshToken) {
+        Claims claims = jwtUtils.parseAndValidateJwtToken(refreshToken);
+        if (claims == null || !jwtUtils.isRefreshToken(claims) || claims.getId() == null) {
+            throw new BadRequestException("Invalid refresh token");
+        }
+
+        RefreshToken stored = refreshTokenRepository.findByTokenId(claims.getId())
+                .orElseThrow(() -> new BadRequestException("Invalid refresh token"));
+
+        if (stored.isRevoked()) {
+            throw new BadRequestException("Refresh token has been revoked");
+        }
+
+        if (stored.getRotatedAt() != null) {
+            logger.warn("Refresh token reused for user: {}, revoking token family {}",
+                    stored.getUsername(), stored.getFamilyId());
+            // The caller's transaction rolls back with the rejection, the revocation must not.
+            // Nothing has been written yet, so the new transaction cannot wait on a lock held by the caller.
+            newTransaction.executeWithoutResult(status -> revokeFamily(stored.getFamilyId()));
+            auditService.recordNow(stored.getUsername(), AuditAction.REFRESH_TOKEN_REUSED,
+                    "user:" + stored.getUserId(), "family=" + stored.getFamilyId());
+            throw new BadRequestException("Refresh token has already been used");
+        }
+
+        // Losing a race against a concurrent rotation of the same token is a client retry, not a leak
+        if (refreshTokenRepository.markRotated(stored.getTokenId(), LocalDateTime.now()) == 0) {
+            throw new BadRequestException("Refresh token has already been used");
+        }
+
+        return stored;
+    }
+
+    /**
+     * Revokes a token family and denies the access tokens issued with it
+     *
+     * @param familyId the family ID
+     * @return number of refresh tokens revoked
+     */
+    public int revokeFamily(String familyId) {
+        LocalDateTime now = LocalDateTime.now();
+        int revoked = refreshTokenRepository.revokeFamily(familyId, now);
+        List<RefreshToken> live = refreshTokenRepository.findByFamilyIdAndAccessExpiresAtAfter(familyId, now);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deny(live);
+                }
+            });
+        } else {
+            deny(live);
+        }
+
+        logger.debug("Revoked {} refresh token(s) and {} access token(s) of family {}", revoked, live.size(), familyId);
+        return revoked;
+    }
+
+    /**
+     * Rebuilds the deny-list from the store once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDenyListOnStartup() {
+        int denied = syncDenyList();
+        logger.info("Access token deny-list loaded with {} revoked token(s)", denied);
+    }
+
+    /**
+     * Denies the access tokens revoked since the previous sync, including those
+     * revoked by other instances
+     *
+     * @return number of access tokens denied
+     */
+    @Scheduled(fixedDelayString = "${jwt.deny-list.sync-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public int syncDenyList() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync.equals(LocalDateTime.MIN) ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : lastSync.minus(SYNC_OVERLAP);
+
+        List<RefreshToken> revoked = refreshTokenRepository.findRevokedSince(since, now);
+        deny(revoked);
+        lastSync = now;
+        return revoked.size();
+    }
+
+    /**
+     * Deletes the tokens that can no longer be presented
+     *
+     * @return number of deleted tokens
+     */
+    @Scheduled(cron = "${jwt.refresh-store.purge-cron:0 30 3 * * *}")
+    public int purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Purged {} expired refresh token(s)", deleted);
+        }
+        return deleted;
+    }
+
+    private void deny(List<RefreshToken> tokens) {
+        for (RefreshToken token : tokens) {
+            accessTokenDenyList.deny(token.getAccessTokenId(), toDate(token.getAccessExpiresAt()));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Access and refresh tokens issued together
+     *
+     * @param accessToken the access token
+     * @param refreshToken the refresh token
+     */
+    public record TokenPair(String accessToken, String refreshToken) {
+    }
+}
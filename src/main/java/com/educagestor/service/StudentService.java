@@ -1,18 +1,23 @@
 package com.educagestor.service;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.student.StudentDto;
 import com.educagestor.entity.Role;
 import com.educagestor.entity.Student;
 import com.educagestor.entity.User;
 import com.educagestor.exception.BadRequestException;
 import com.educagestor.exception.ResourceNotFoundException;
+import com.educagestor.pagination.CursorPagination;
 import com.educagestor.repository.StudentRepository;
 import com.educagestor.repository.UserRepository;
+import com.educagestor.search.SearchIndexService;
+import com.educagestor.security.UserPrincipalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,12 +40,21 @@ public class StudentService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private CursorPagination cursorPagination;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     /**
      * Registers a new student
      * 
@@ -49,7 +63,7 @@ public class StudentService {
      * @throws BadRequestException if registration data is invalid
      */
     public StudentDto registerStudent(StudentDto studentDto) {
-        logger.info("Registering new student with ID: {}", studentDto.getStudentId());
+        logger.debug("Registering new student with ID: {}", studentDto.getStudentId());
 
         // Validate student ID uniqueness
         if (studentRepository.existsByStudentId(studentDto.getStudentId())) {
@@ -91,6 +105,7 @@ public class StudentService {
             studentDto.getAcademicStatus() : Student.AcademicStatus.ACTIVE);
 
         Student savedStudent = studentRepository.save(student);
+        searchIndexService.userChanged(savedUser.getId());
         logger.info("Student registered successfully: {}", savedStudent.getStudentId());
 
         return convertToStudentDto(savedStudent);
@@ -105,7 +120,7 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public StudentDto getStudentById(Long studentId) {
-        logger.info("Fetching student by ID: {}", studentId);
+        logger.debug("Fetching student by ID: {}", studentId);
 
         Student student = studentRepository.findById(studentId)
             .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
@@ -122,7 +137,7 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public StudentDto getStudentByStudentId(String studentId) {
-        logger.info("Fetching student by student ID: {}", studentId);
+        logger.debug("Fetching student by student ID: {}", studentId);
 
         Student student = studentRepository.findByStudentId(studentId)
             .orElseThrow(() -> new ResourceNotFoundException("Student", "studentId", studentId));
@@ -138,12 +153,29 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public Page<StudentDto> getAllStudents(Pageable pageable) {
-        logger.info("Fetching all students with pagination");
+        logger.debug("Fetching all students with pagination");
 
-        Page<Student> students = studentRepository.findAll(pageable);
+        Page<Student> students = studentRepository.findAllWithUser(pageable);
         return students.map(this::convertToStudentDto);
     }
 
+    /**
+     * Gets students after a pagination cursor, using keyset pagination without a count query
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sort requested sort
+     * @return cursor page of student DTOs
+     * @throws BadRequestException if the cursor or sort cannot be used for keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<StudentDto> getAllStudents(String after, int size, Sort sort) {
+        logger.debug("Fetching students after cursor");
+
+        return cursorPagination.page(studentRepository, Student.class, after, size, sort,
+                this::convertToStudentDto, "user");
+    }
+
     /**
      * Updates student information
      * 
@@ -153,7 +185,7 @@ public class StudentService {
      * @throws ResourceNotFoundException if student not found
      */
     public StudentDto updateStudent(Long studentId, StudentDto studentDto) {
-        logger.info("Updating student with ID: {}", studentId);
+        logger.debug("Updating student with ID: {}", studentId);
 
         Student student = studentRepository.findById(studentId)
             .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
@@ -191,9 +223,11 @@ public class StudentService {
                 user.setPhoneNumber(studentDto.getUser().getPhoneNumber());
             }
             userRepository.save(user);
+            userPrincipalCache.invalidate(user.getUsername());
         }
 
         Student updatedStudent = studentRepository.save(student);
+        searchIndexService.userChanged(updatedStudent.getUser().getId());
         logger.info("Student updated successfully: {}", updatedStudent.getStudentId());
 
         return convertToStudentDto(updatedStudent);
@@ -206,7 +240,7 @@ public class StudentService {
      * @throws ResourceNotFoundException if student not found
      */
     public void deleteStudent(Long studentId) {
-        logger.info("Deleting student with ID: {}", studentId);
+        logger.debug("Deleting student with ID: {}", studentId);
 
         Student student = studentRepository.findById(studentId)
             .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
@@ -215,6 +249,7 @@ public class StudentService {
         User user = student.getUser();
         user.setActive(false);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getUsername());
 
         // Set student as inactive
         student.setAcademicStatus(Student.AcademicStatus.INACTIVE);
@@ -232,7 +267,12 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public Page<StudentDto> searchStudents(String searchTerm, Pageable pageable) {
-        logger.info("Searching students with term: {}", searchTerm);
+        logger.debug("Searching students with term: {}", searchTerm);
+
+        if (searchIndexService.isAvailable()) {
+            Page<Long> ids = searchIndexService.search(SearchIndexService.IndexType.STUDENT, searchTerm, pageable);
+            return searchIndexService.loadPage(ids, studentRepository::findAllWithUserByIdIn, Student::getId).map(this::convertToStudentDto);
+        }
 
         Page<Student> students = studentRepository.findBySearchTerm(searchTerm, pageable);
         return students.map(this::convertToStudentDto);
@@ -247,7 +287,7 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public Page<StudentDto> getStudentsByAcademicStatus(Student.AcademicStatus academicStatus, Pageable pageable) {
-        logger.info("Fetching students by academic status: {}", academicStatus);
+        logger.debug("Fetching students by academic status: {}", academicStatus);
 
         Page<Student> students = studentRepository.findByAcademicStatus(academicStatus, pageable);
         return students.map(this::convertToStudentDto);
@@ -1,18 +1,23 @@
 package com.educagestor.service;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.teacher.TeacherDto;
 import com.educagestor.entity.Role;
 import com.educagestor.entity.Teacher;
 import com.educagestor.entity.User;
 import com.educagestor.exception.BadRequestException;
 import com.educagestor.exception.ResourceNotFoundException;
+import com.educagestor.pagination.CursorPagination;
 import com.educagestor.repository.TeacherRepository;
 import com.educagestor.repository.UserRepository;
+import com.educagestor.search.SearchIndexService;
+import com.educagestor.security.UserPrincipalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,12 +40,21 @@ public class TeacherService {
     @Autowired
     private TeacherRepository teacherRepository;
 
+    @Autowired
+    private CursorPagination cursorPagination;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     /**
      * Registers a new teacher
      * 
@@ -49,7 +63,7 @@ public class TeacherService {
      * @throws BadRequestException if registration data is invalid
      */
     public TeacherDto registerTeacher(TeacherDto teacherDto) {
-        logger.info("Registering new teacher with employee ID: {}", teacherDto.getEmployeeId());
+        logger.debug("Registering new teacher with employee ID: {}", teacherDto.getEmployeeId());
 
         // Validate employee ID uniqueness
         if (teacherRepository.existsByEmployeeId(teacherDto.getEmployeeId())) {
@@ -92,6 +106,7 @@ public class TeacherService {
             teacherDto.getEmploymentStatus() : Teacher.EmploymentStatus.ACTIVE);
 
         Teacher savedTeacher = teacherRepository.save(teacher);
+        searchIndexService.userChanged(savedUser.getId());
         logger.info("Teacher registered successfully: {}", savedTeacher.getEmployeeId());
 
         return convertToTeacherDto(savedTeacher);
@@ -106,7 +121,7 @@ public class TeacherService {
      */
     @Transactional(readOnly = true)
     public TeacherDto getTeacherById(Long teacherId) {
-        logger.info("Fetching teacher by ID: {}", teacherId);
+        logger.debug("Fetching teacher by ID: {}", teacherId);
 
         Teacher teacher = teacherRepository.findById(teacherId)
             .orElseThrow(() -> new ResourceNotFoundException("Teacher", "id", teacherId));
@@ -123,7 +138,7 @@ public class TeacherService {
      */
     @Transactional(readOnly = true)
     public TeacherDto getTeacherByEmployeeId(String employeeId) {
-        logger.info("Fetching teacher by employee ID: {}", employeeId);
+        logger.debug("Fetching teacher by employee ID: {}", employeeId);
 
         Teacher teacher = teacherRepository.findByEmployeeId(employeeId)
             .orElseThrow(() -> new ResourceNotFoundException("Teacher", "employeeId", employeeId));
@@ -139,12 +154,29 @@ public class TeacherService {
      */
     @Transactional(readOnly = true)
     public Page<TeacherDto> getAllTeachers(Pageable pageable) {
-        logger.info("Fetching all teachers with pagination");
+        logger.debug("Fetching all teachers with pagination");
 
-        Page<Teacher> teachers = teacherRepository.findAll(pageable);
+        Page<Teacher> teachers = teacherRepository.findAllWithUser(pageable);
         return teachers.map(this::convertToTeacherDto);
     }
 
+    /**
+     * Gets teachers after a pagination cursor, using keyset pagination without a count query
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sort requested sort
+     * @return cursor page of teacher DTOs
+     * @throws BadRequestException if the cursor or sort cannot be used for keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<TeacherDto> getAllTeachers(String after, int size, Sort sort) {
+        logger.debug("Fetching teachers after cursor");
+
+        return cursorPagination.page(teacherRepository, Teacher.class, after, size, sort,
+                this::convertToTeacherDto, "user");
+    }
+
     /**
      * Updates teacher information
      * 
@@ -154,7 +186,7 @@ public class TeacherService {
      * @throws ResourceNotFoundException if teacher not found
      */
     public TeacherDto updateTeacher(Long teacherId, TeacherDto teacherDto) {
-        logger.info("Updating teacher with ID: {}", teacherId);
+        logger.debug("Updating teacher with ID: {}", teacherId);
 
         Teacher teacher = teacherRepository.findById(teacherId)
             .orElseThrow(() -> new ResourceNotFoundException("Teacher", "id", teacherId));
@@ -195,9 +227,11 @@ public class TeacherService {
                 user.setPhoneNumber(teacherDto.getUser().getPhoneNumber());
             }
             userRepository.save(user);
+            userPrincipalCache.invalidate(user.getUsername());
         }
 
         Teacher updatedTeacher = teacherRepository.save(teacher);
+        searchIndexService.userChanged(updatedTeacher.getUser().getId());
         logger.info("Teacher updated successfully: {}", updatedTeacher.getEmployeeId());
 
         return convertToTeacherDto(updatedTeacher);
@@ -212,7 +246,7 @@ public class TeacherService {
      */
     @Transactional(readOnly = true)
     public Page<TeacherDto> getTeachersByDepartment(String department, Pageable pageable) {
-        logger.info("Fetching teachers by department: {}", department);
+        logger.debug("Fetching teachers by department: {}", department);
 
         Page<Teacher> teachers = teacherRepository.findByDepartment(department, pageable);
         return teachers.map(this::convertToTeacherDto);
@@ -227,7 +261,12 @@ public class TeacherService {
      */
     @Transactional(readOnly = true)
     public Page<TeacherDto> searchTeachers(String searchTerm, Pageable pageable) {
-        logger.info("Searching teachers with term: {}", searchTerm);
+        logger.debug("Searching teachers with term: {}", searchTerm);
+
+        if (searchIndexService.isAvailable()) {
+            Page<Long> ids = searchIndexService.search(SearchIndexService.IndexType.TEACHER, searchTerm, pageable);
+            return searchIndexService.loadPage(ids, teacherRepository::findAllWithUserByIdIn, Teacher::getId).map(this::convertToTeacherDto);
+        }
 
         Page<Teacher> teachers = teacherRepository.findBySearchTerm(searchTerm, pageable);
         return teachers.map(this::convertToTeacherDto);
@@ -0,0 +1,137 @@
+package com.educagestor.service;
+
+import com.educagestor.cache.CacheLoading;
+import com.educagestor.dto.student.TranscriptDto;
+import com.educagestor.dto.student.TranscriptEntryDto;
+import com.educagestor.entity.Enrollment;
+import com.educagestor.exception.ResourceNotFoundException;
+import com.educagestor.repository.EnrollmentRepository;
+import com.educagestor.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service serving student transcripts from a per-student materialized cache
+ *
+ * A transcript is built with two queries the first time it is requested and kept
+ * until EnrollmentService reports a completed or cancelled enrollment of the
+ * student, which drops it after commit. Concurrent requests for a transcript that
+ * is not cached share a single build, so end-of-term bursts cost one build per
+ * student.
+ */
+@Service
+public class TranscriptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranscriptService.class);
+
+    private static final Map<String, Double> GRADE_POINTS = Map.of("A", 4.0, "B", 3.0, "C", 2.0, "D", 1.0, "F", 0.0);
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Value("${transcript.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${transcript.cache.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    private AsyncCache<Long, TranscriptDto> transcripts;
+
+    @PostConstruct
+    void init() {
+        this.transcripts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+    }
+
+    /**
+     * Gets the transcript of a student
+     *
+     * @param studentId student ID
+     * @return transcript DTO
+     * @throws ResourceNotFoundException if student not found
+     */
+    public TranscriptDto getTranscript(Long studentId) {
+        return CacheLoading.get(transcripts, studentId, this::buildTranscript);
+    }
+
+    /**
+     * Drops the transcript of a student once the current transaction commits
+     *
+     * @param studentId student ID
+     */
+    public void studentChanged(Long studentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    transcripts.synchronous().invalidate(studentId);
+                }
+            });
+        } else {
+            transcripts.synchronous().invalidate(studentId);
+        }
+    }
+
+    private TranscriptDto buildTranscript(Long studentId) {
+        List<Object[]> header = studentRepository.findTranscriptHeaderById(studentId);
+        if (header.isEmpty()) {
+            throw new ResourceNotFoundException("Student", "id", studentId);
+        }
+
+        List<TranscriptEntryDto> entries = enrollmentRepository.findTranscriptEntriesByStudentId(studentId);
+
+        int totalCredits = 0;
+        int gradedCount = 0;
+        double gradeSum = 0.0;
+        double qualityPoints = 0.0;
+        int gpaCredits = 0;
+        for (TranscriptEntryDto entry : entries) {
+            if (entry.getEnrollmentStatus() != Enrollment.EnrollmentStatus.COMPLETED) {
+                continue;
+            }
+            if (entry.getCreditsEarned() != null) {
+                totalCredits += entry.getCreditsEarned();
+            }
+            if (entry.getFinalGrade() != null) {
+                gradedCount++;
+                gradeSum += entry.getFinalGrade();
+            }
+            Double points = entry.getGradeLetter() != null ? GRADE_POINTS.get(entry.getGradeLetter()) : null;
+            if (points != null && entry.getCredits() != null && entry.getCredits() > 0) {
+                qualityPoints += points * entry.getCredits();
+                gpaCredits += entry.getCredits();
+            }
+        }
+
+        TranscriptDto transcript = new TranscriptDto();
+        transcript.setStudentId(studentId);
+        transcript.setStudentCode((String) header.get(0)[0]);
+        transcript.setStudentName((String) header.get(0)[1]);
+        transcript.setCourses(List.copyOf(entries));
+        transcript.setTotalCreditsEarned(totalCredits);
+        transcript.setAverageGrade(gradedCount > 0 ? gradeSum / gradedCount : null);
+        transcript.setGpa(gpaCredits > 0 ? Math.round(qualityPoints / gpaCredits * 100.0) / 100.0 : null);
+        transcript.setGeneratedAt(LocalDateTime.now());
+
+        logger.debug("Built transcript for student {} with {} courses", studentId, entries.size());
+        return transcript;
+    }
+}
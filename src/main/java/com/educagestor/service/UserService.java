@@ -1,17 +1,23 @@
 package com.educagestor.service;
 
+import com.educagestor.dto.common.CursorPageDto;
 import com.educagestor.dto.user.UpdateUserProfileRequest;
 import com.educagestor.dto.user.UserProfileDto;
 import com.educagestor.entity.Role;
 import com.educagestor.entity.User;
+import com.educagestor.exception.BadRequestException;
 import com.educagestor.exception.ResourceNotFoundException;
+import com.educagestor.pagination.CursorPagination;
 import com.educagestor.repository.UserRepository;
+import com.educagestor.search.SearchIndexService;
 import com.educagestor.security.UserPrincipal;
+import com.educagestor.security.UserPrincipalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -32,6 +38,15 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CursorPagination cursorPagination;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     /**
      * Gets the current authenticated user's profile
      * 
@@ -43,7 +58,7 @@ public class UserService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         
-        logger.info("Fetching profile for current user: {}", userPrincipal.getUsername());
+        logger.debug("Fetching profile for current user: {}", userPrincipal.getUsername());
         
         User user = userRepository.findById(userPrincipal.getId())
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
@@ -62,7 +77,7 @@ public class UserService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         
-        logger.info("Updating profile for user: {}", userPrincipal.getUsername());
+        logger.debug("Updating profile for user: {}", userPrincipal.getUsername());
         
         User user = userRepository.findById(userPrincipal.getId())
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
@@ -85,6 +100,8 @@ public class UserService {
         }
         
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(updatedUser.getUsername());
+        searchIndexService.userChanged(updatedUser.getId());
         logger.info("Profile updated successfully for user: {}", updatedUser.getUsername());
         
         return convertToUserProfileDto(updatedUser);
@@ -99,7 +116,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public UserProfileDto getUserById(Long userId) {
-        logger.info("Fetching user profile by ID: {}", userId);
+        logger.debug("Fetching user profile by ID: {}", userId);
         
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
@@ -116,7 +133,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public UserProfileDto getUserByUsername(String username) {
-        logger.info("Fetching user profile by username: {}", username);
+        logger.debug("Fetching user profile by username: {}", username);
         
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
@@ -132,12 +149,29 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Page<UserProfileDto> getAllUsers(Pageable pageable) {
-        logger.info("Fetching all users with pagination");
+        logger.debug("Fetching all users with pagination");
         
         Page<User> users = userRepository.findAll(pageable);
         return users.map(this::convertToUserProfileDto);
     }
 
+    /**
+     * Gets users after a pagination cursor, using keyset pagination without a count query
+     *
+     * @param after cursor of the previous page, empty for the first page
+     * @param size page size
+     * @param sort requested sort
+     * @return cursor page of user DTOs
+     * @throws BadRequestException if the cursor or sort cannot be used for keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<UserProfileDto> getAllUsers(String after, int size, Sort sort) {
+        logger.debug("Fetching users after cursor");
+
+        return cursorPagination.page(userRepository, User.class, after, size, sort,
+                this::convertToUserProfileDto);
+    }
+
     /**
      * Gets users by role with pagination (admin only)
      * 
@@ -147,7 +181,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Page<UserProfileDto> getUsersByRole(Role role, Pageable pageable) {
-        logger.info("Fetching users by role: {}", role);
+        logger.debug("Fetching users by role: {}", role);
         
         Page<User> users = userRepository.findByRole(role, pageable);
         return users.map(this::convertToUserProfileDto);
@@ -162,8 +196,13 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Page<UserProfileDto> searchUsers(String searchTerm, Pageable pageable) {
-        logger.info("Searching users with term: {}", searchTerm);
+        logger.debug("Searching users with term: {}", searchTerm);
         
+        if (searchIndexService.isAvailable()) {
+            Page<Long> ids = searchIndexService.search(SearchIndexService.IndexType.USER, searchTerm, pageable);
+            return searchIndexService.loadPage(ids, userRepository::findAllById, User::getId).map(this::convertToUserProfileDto);
+        }
+
         Page<User> users = userRepository.findBySearchTerm(searchTerm, pageable);
         return users.map(this::convertToUserProfileDto);
     }
@@ -177,7 +216,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Page<UserProfileDto> getUsersByActiveStatus(Boolean active, Pageable pageable) {
-        logger.info("Fetching users by active status: {}", active);
+        logger.debug("Fetching users by active status: {}", active);
         
         Page<User> users = userRepository.findByActive(active, pageable);
         return users.map(this::convertToUserProfileDto);
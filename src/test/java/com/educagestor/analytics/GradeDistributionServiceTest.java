@@ -0,0 +1,315 @@
+package com.educagestor.analytics;
+
+import com.educagestor.dto.grade.GradeDistributionDto;
+import com.educagestor.dto.grade.GradeDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.Teacher;
+import com.educagestor.entity.User;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.GradeAggregateRepository;
+import com.educagestor.repository.GradeRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.TeacherRepository;
+import com.educagestor.repository.UserRepository;
+import com.educagestor.service.GradeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory grade distributions
+ *
+ * This test class verifies the letter counts and percentiles of a known set of
+ * grades, that recording, updating, dropping and deleting grades through
+ * GradeService keep the course distribution equal to its grades while rolled back
+ * writes leave it unchanged, that a distribution loaded during a grade write is
+ * reloaded instead of counting the write twice, and that a department
+ * distribution merges the distributions of its courses.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GradeDistributionServiceTest {
+
+    private static final String DEPARTMENT = "Histogram Studies";
+
+    // Letter boundaries fall on bin edges: 89.99 is a B and 90 an A
+    private static final double[] KNOWN_GRADES = {55, 62, 68, 71, 79, 84, 89.99, 90, 94, 100};
+
+    @Autowired
+    private GradeDistributionService gradeDistributionService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long teacherId;
+
+    private Long studentId;
+
+    private final List<Long> courseIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User teacherUser = new User("histteacher", "histteacher@example.com", "password", "Teacher", "Histogram");
+            teacherUser.addRole(Role.TEACHER);
+            userRepository.save(teacherUser);
+            teacherId = teacherRepository.save(new Teacher("HIST-T1", teacherUser, DEPARTMENT)).getId();
+
+            User studentUser = new User("histstudent", "histstudent@example.com", "password", "Student", "Histogram");
+            studentUser.addRole(Role.STUDENT);
+            userRepository.save(studentUser);
+            studentId = studentRepository.save(new Student("HIST001", studentUser, LocalDate.of(2000, 1, 1))).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long courseId : courseIds) {
+                gradeRepository.deleteAll(gradeRepository.findAll().stream()
+                        .filter(grade -> grade.getCourse().getId().equals(courseId))
+                        .toList());
+                gradeAggregateRepository.findByStudentIdAndCourseId(studentId, courseId)
+                        .ifPresent(gradeAggregateRepository::delete);
+            }
+            courseRepository.deleteAllById(courseIds);
+            studentRepository.findById(studentId).ifPresent(student -> {
+                studentRepository.delete(student);
+                userRepository.delete(student.getUser());
+            });
+            teacherRepository.findById(teacherId).ifPresent(teacher -> {
+                teacherRepository.delete(teacher);
+                userRepository.delete(teacher.getUser());
+            });
+        });
+        courseIds.clear();
+    }
+
+    @Test
+    void getCourseDistribution_KnownGrades_LetterCountsAndPercentiles() {
+        Long courseId = createCourse("HIST-1");
+        for (double value : KNOWN_GRADES) {
+            recordGrade(courseId, value);
+        }
+
+        GradeDistributionDto distribution = gradeDistributionService.getCourseDistribution(courseId);
+
+        assertEquals(10, distribution.getTotalGrades());
+        assertEquals(Map.of("A", 3L, "B", 2L, "C", 2L, "D", 2L, "F", 1L), distribution.getLetterGrades());
+        assertEquals(List.of("A", "B", "C", "D", "F"), new ArrayList<>(distribution.getLetterGrades().keySet()));
+        // Interpolated within the half-point bin holding the rank
+        Map<String, Double> percentiles = distribution.getPercentiles();
+        assertEquals(55.5, percentiles.get("p10"), 1e-9);
+        assertEquals(68.25, percentiles.get("p25"), 1e-9);
+        assertEquals(79.5, percentiles.get("p50"), 1e-9);
+        assertEquals(90.25, percentiles.get("p75"), 1e-9);
+        assertEquals(94.5, percentiles.get("p90"), 1e-9);
+
+        GradeDistributionDto empty = gradeDistributionService.getCourseDistribution(createCourse("HIST-2"));
+        assertEquals(0, empty.getTotalGrades());
+        assertNull(empty.getPercentiles().get("p50"));
+    }
+
+    @Test
+    void gradeWrites_ThroughGradeService_KeepDistributionEqualToGrades() {
+        Long courseId = createCourse("HIST-3");
+        Long boundary = recordGrade(courseId, 89.99);
+        Long failing = recordGrade(courseId, 40.0);
+        Long dropped = recordGrade(courseId, 75.0);
+        assertEquals(Map.of("A", 0L, "B", 1L, "C", 1L, "D", 0L, "F", 1L), letters(courseId));
+
+        gradeService.updateGrade(boundary, valueUpdate(90.0));
+        assertEquals(Map.of("A", 1L, "B", 0L, "C", 1L, "D", 0L, "F", 1L), letters(courseId));
+
+        GradeDto drop = valueUpdate(null);
+        drop.setIsDropped(true);
+        gradeService.updateGrade(dropped, drop);
+        assertEquals(Map.of("A", 1L, "B", 0L, "C", 0L, "D", 0L, "F", 1L), letters(courseId));
+
+        gradeService.deleteGrade(failing);
+        assertEquals(Map.of("A", 1L, "B", 0L, "C", 0L, "D", 0L, "F", 0L), letters(courseId));
+
+        // The maintained histogram matches one reloaded from the grades table
+        GradeDistributionDto maintained = gradeDistributionService.getCourseDistribution(courseId);
+        gradeDistributionService.invalidateAll();
+        GradeDistributionDto reloaded = gradeDistributionService.getCourseDistribution(courseId);
+        assertEquals(reloaded.getLetterGrades(), maintained.getLetterGrades());
+        assertEquals(reloaded.getPercentiles(), maintained.getPercentiles());
+    }
+
+    @Test
+    void gradeWrite_RolledBack_LeavesDistributionUnchanged() {
+        Long courseId = createCourse("HIST-4");
+        recordGrade(courseId, 85.0);
+        assertEquals(1, gradeDistributionService.getCourseDistribution(courseId).getTotalGrades());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recordGrade(courseId, 95.0);
+            status.setRollbackOnly();
+        });
+
+        GradeDistributionDto distribution = gradeDistributionService.getCourseDistribution(courseId);
+        assertEquals(1, distribution.getTotalGrades());
+        assertEquals(0L, distribution.getLetterGrades().get("A"));
+    }
+
+    @Test
+    void getCourseDistribution_LoadedDuringGradeWrite_ReloadedAfterCommit() throws Exception {
+        Long courseId = createCourse("HIST-5");
+        recordGrade(courseId, 70.0);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            long loadedDuringWrite = transactionTemplate.execute(status -> {
+                recordGrade(courseId, 95.0);
+                try {
+                    // The first read loads the histogram while the write is still uncommitted
+                    return executor.submit(() -> gradeDistributionService.getCourseDistribution(courseId).getTotalGrades())
+                            .get(30, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertEquals(1, loadedDuringWrite);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        GradeDistributionDto distribution = gradeDistributionService.getCourseDistribution(courseId);
+        assertEquals(2, distribution.getTotalGrades());
+        assertEquals(1L, distribution.getLetterGrades().get("A"));
+        assertEquals(1L, distribution.getLetterGrades().get("C"));
+    }
+
+    @Test
+    void getCourseDistribution_LoadedBeforeCommittedWriteIsApplied_ReloadedOnNextRead() throws Exception {
+        Long courseId = createCourse("HIST-8");
+        recordGrade(courseId, 70.0);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicLong loadedAfterCommit = new AtomicLong();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                recordGrade(courseId, 95.0);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        // The load already sees the committed grade, which is applied again after completion
+                        try {
+                            loadedAfterCommit.set(executor.submit(() ->
+                                    gradeDistributionService.getCourseDistribution(courseId).getTotalGrades())
+                                    .get(30, TimeUnit.SECONDS));
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, loadedAfterCommit.get());
+        assertEquals(2, gradeDistributionService.getCourseDistribution(courseId).getTotalGrades());
+    }
+
+    @Test
+    void getDepartmentDistribution_MergesCourseDistributions() {
+        Long first = createCourse("HIST-6");
+        Long second = createCourse("HIST-7");
+        recordGrade(first, 92.0);
+        recordGrade(first, 81.0);
+        recordGrade(second, 65.0);
+
+        GradeDistributionDto department = gradeDistributionService.getDepartmentDistribution(DEPARTMENT);
+        assertEquals(DEPARTMENT, department.getDepartment());
+        assertEquals(2, department.getCourseCount());
+        assertEquals(3, department.getTotalGrades());
+        assertEquals(Map.of("A", 1L, "B", 1L, "C", 0L, "D", 1L, "F", 0L), department.getLetterGrades());
+
+        // Later writes reach the merged distribution through the course histograms
+        recordGrade(second, 30.0);
+        department = gradeDistributionService.getDepartmentDistribution(DEPARTMENT);
+        assertEquals(4, department.getTotalGrades());
+        assertEquals(1L, department.getLetterGrades().get("F"));
+    }
+
+    private Map<String, Long> letters(Long courseId) {
+        return gradeDistributionService.getCourseDistribution(courseId).getLetterGrades();
+    }
+
+    private Long recordGrade(Long courseId, double value) {
+        GradeDto grade = new GradeDto();
+        grade.setStudentId(studentId);
+        grade.setCourseId(courseId);
+        grade.setAssignmentName("Homework");
+        grade.setGradeType(Grade.GradeType.ASSIGNMENT);
+        grade.setGradeValue(value);
+        return gradeService.recordGrade(grade).getId();
+    }
+
+    /**
+     * Update request changing only the grade value, the DTO defaults would otherwise be applied
+     */
+    private static GradeDto valueUpdate(Double value) {
+        GradeDto dto = new GradeDto();
+        dto.setMaxPoints(null);
+        dto.setIsExtraCredit(null);
+        dto.setIsDropped(null);
+        dto.setGradeValue(value);
+        return dto;
+    }
+
+    private Long createCourse(String courseCode) {
+        Long courseId = transactionTemplate.execute(status -> {
+            Course course = new Course(courseCode, "Histogram Course " + courseCode, 3,
+                    LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(30);
+            course.setTeacher(teacherRepository.findById(teacherId).orElseThrow());
+            return courseRepository.save(course).getId();
+        });
+        courseIds.add(courseId);
+        return courseId;
+    }
+}
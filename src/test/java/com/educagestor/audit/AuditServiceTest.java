@@ -0,0 +1,78 @@
+package com.educagestor.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the batched audit log
+ *
+ * This test class verifies that audit events are written as JSON lines only once
+ * their transaction commits, and that a full queue drops events instead of blocking.
+ */
+@SpringBootTest(properties = {
+        "audit.file=target/audit/audit-service-test.log",
+        "audit.queue-capacity=3",
+        "audit.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class AuditServiceTest {
+
+    private static final Path AUDIT_FILE = Path.of("target/audit/audit-service-test.log");
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auditService.flush();
+        Files.deleteIfExists(AUDIT_FILE);
+    }
+
+    @Test
+    void record_CommittedAndRolledBackTransactions_WritesOnlyCommitted() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                auditService.record("auditor", AuditAction.GRADE_UPDATED, "grade:1", "value 70.0 -> 80.0"));
+        transactionTemplate.executeWithoutResult(status -> {
+            auditService.record("auditor", AuditAction.GRADE_DELETED, "grade:2", null);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, auditService.flush());
+
+        List<String> lines = Files.readAllLines(AUDIT_FILE);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"action\":\"GRADE_UPDATED\""));
+        assertTrue(lines.get(0).contains("\"actor\":\"auditor\""));
+        assertTrue(lines.get(0).contains("\"target\":\"grade:1\""));
+    }
+
+    @Test
+    void recordNow_QueueFull_DropsWithoutBlocking() throws Exception {
+        double droppedBefore = meterRegistry.get("educagestor.audit.dropped").gauge().value();
+
+        for (int i = 0; i < 5; i++) {
+            auditService.recordNow("attacker", AuditAction.LOGIN_FAILED, null, "BadCredentialsException");
+        }
+
+        assertEquals(3, auditService.flush());
+        assertEquals(3, Files.readAllLines(AUDIT_FILE).size());
+        assertEquals(2, meterRegistry.get("educagestor.audit.dropped").gauge().value() - droppedBefore);
+    }
+}
@@ -0,0 +1,253 @@
+package com.educagestor.export;
+
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Enrollment;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.EnrollmentRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the streamed exports
+ *
+ * This test class verifies that enrollments are streamed through an async request
+ * as NDJSON and as CSV with separators, quotes and line breaks quoted, that the
+ * status filter is applied, and that exports beyond the configured maximum are
+ * rejected until a running export finishes or fails and releases its permit. It
+ * also verifies that only the exports run without an async request timeout.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportServiceTest {
+
+    private static final String NOTES = "Needs a seat near the front, \"extended\" time\r\nand a quiet room";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
+    @Value("${export.max-concurrent}")
+    private int maxConcurrent;
+
+    private Long courseId;
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    private final List<Long> enrollmentIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = new Course("EXP-1", "Export Course", 3, LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(30);
+            courseRepository.save(course);
+            courseId = course.getId();
+
+            for (int i = 0; i < 3; i++) {
+                User user = new User("exportstudent" + i, "exportstudent" + i + "@example.com", "password",
+                        "Student" + i, "Export");
+                user.addRole(Role.STUDENT);
+                userRepository.save(user);
+                Student student = studentRepository.save(new Student("EXP00" + i, user, LocalDate.of(2000, 1, 1)));
+                studentIds.add(student.getId());
+
+                Enrollment enrollment = new Enrollment(student, course);
+                if (i == 0) {
+                    enrollment.setNotes(NOTES);
+                }
+                if (i == 2) {
+                    enrollment.setEnrollmentStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
+                }
+                enrollmentIds.add(enrollmentRepository.save(enrollment).getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            enrollmentRepository.deleteAllById(enrollmentIds);
+            for (Long studentId : studentIds) {
+                studentRepository.findById(studentId).ifPresent(student -> {
+                    studentRepository.delete(student);
+                    userRepository.delete(student.getUser());
+                });
+            }
+            courseRepository.deleteById(courseId);
+        });
+        studentIds.clear();
+        enrollmentIds.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportEnrollments_Ndjson_StreamsOneObjectPerLine() throws Exception {
+        String body = export("ndjson", null, "application/x-ndjson");
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(body.endsWith("\n"));
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : lines) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertEquals(enrollmentIds, rows.stream().map(row -> row.get("id").asLong()).toList());
+        assertEquals("EXP000", rows.get(0).get("studentCode").asText());
+        assertEquals("Student0 Export", rows.get(0).get("studentName").asText());
+        assertEquals(NOTES, rows.get(0).get("notes").asText());
+        assertTrue(rows.get(1).get("notes").isNull());
+        assertEquals("WITHDRAWN", rows.get(2).get("enrollmentStatus").asText());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportEnrollments_Csv_QuotesSeparatorsQuotesAndLineBreaks() throws Exception {
+        String body = export("csv", null, "text/csv");
+
+        assertTrue(body.startsWith("id,studentId,studentName,studentCode,courseId,courseName,courseCode," +
+                "enrollmentDate,enrollmentStatus,completionDate,finalGrade,gradeLetter,creditsEarned,notes," +
+                "createdAt,updatedAt\r\n"), body);
+        assertTrue(body.contains(",\"Needs a seat near the front, \"\"extended\"\" time\r\nand a quiet room\","), body);
+        assertTrue(body.contains("," + studentIds.get(1) + ",Student1 Export,EXP001," + courseId +
+                ",Export Course,EXP-1,"), body);
+        // Header, three rows and the line break inside the quoted notes
+        assertEquals(5, body.split("\r\n").length);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportEnrollments_StatusFilter_ExportsMatchingRows() throws Exception {
+        String withdrawn = export("ndjson", "withdrawn", "application/x-ndjson");
+        assertEquals(1, withdrawn.split("\n").length);
+        assertEquals(enrollmentIds.get(2), objectMapper.readTree(withdrawn).get("id").asLong());
+
+        assertEquals(2, export("ndjson", "ENROLLED", "application/x-ndjson").split("\n").length);
+
+        mockMvc.perform(get("/enrollments/export").param("courseId", courseId.toString()).param("status", "unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportEnrollments_MaxConcurrentReached_RejectedUntilExportFinishes() throws Exception {
+        // Exports hold their permit from the request until the body has been written
+        List<StreamingResponseBody> running = new ArrayList<>();
+        for (int i = 0; i < maxConcurrent; i++) {
+            running.add(exportService.exportEnrollments(ExportFormat.CSV, courseId, null, null));
+        }
+
+        mockMvc.perform(get("/enrollments/export").param("courseId", courseId.toString()))
+                .andExpect(status().isTooManyRequests());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        running.remove(0).writeTo(out);
+        assertTrue(out.size() > 0);
+        export("ndjson", null, "application/x-ndjson");
+
+        // A client going away fails the export, which still releases its permit
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset by peer");
+            }
+        };
+        for (StreamingResponseBody body : running) {
+            assertThrows(IOException.class, () -> body.writeTo(disconnected));
+        }
+
+        for (int i = 0; i < maxConcurrent + 1; i++) {
+            export("csv", null, "text/csv");
+        }
+    }
+
+    @Test
+    void asyncRequestTimeout_OtherRequests_KeepFiniteDefault() {
+        Long timeout = (Long) ReflectionTestUtils.getField(requestMappingHandlerAdapter, "asyncRequestTimeout");
+        assertEquals(30_000L, timeout);
+    }
+
+    private String export(String format, String status, String contentType) throws Exception {
+        MockHttpServletRequestBuilder exportRequest = get("/enrollments/export")
+                .param("format", format)
+                .param("courseId", courseId.toString());
+        if (status != null) {
+            exportRequest.param("status", status);
+        }
+
+        MvcResult started = mockMvc.perform(exportRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Exports are not cut off by the default async request timeout
+        assertEquals(-1L, started.getRequest().getAsyncContext().getTimeout());
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(contentType))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"enrollments." + format + "\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
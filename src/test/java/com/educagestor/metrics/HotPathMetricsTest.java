@@ -0,0 +1,96 @@
+package com.educagestor.metrics;
+
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the hot-path latency instrumentation
+ *
+ * This test class enables the instrumentation, serves a listing request and
+ * verifies that the service, repository and per-request meters were recorded.
+ */
+@SpringBootTest(properties = "metrics.hot-path.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HotPathMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("metricsstudent", "metricsstudent@example.com", "password", "Metrics", "Student");
+        user.addRole(Role.STUDENT);
+        userRepository.save(user);
+        student = studentRepository.save(new Student("MS001", user, LocalDate.of(2000, 1, 1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.delete(student);
+        userRepository.delete(student.getUser());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listStudents_RecordsHotPathMeters() throws Exception {
+        mockMvc.perform(get("/students")).andExpect(status().isOk());
+
+        Timer serviceTimer = meterRegistry.find(HotPathTimingAspect.SERVICE_METRIC)
+                .tags("service", "StudentService", "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(serviceTimer);
+        assertTrue(serviceTimer.count() >= 1);
+
+        Timer repositoryTimer = meterRegistry.find(HotPathTimingAspect.REPOSITORY_METRIC)
+                .tags("repository", "StudentRepository")
+                .timer();
+        assertNotNull(repositoryTimer);
+        assertTrue(repositoryTimer.count() >= 1);
+
+        DistributionSummary statements = meterRegistry.find(RequestQueryMetricsRecorder.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/students", "status", "200")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() >= 1);
+
+        DistributionSummary entityLoads = meterRegistry.find(RequestQueryMetricsRecorder.ENTITY_LOADS_METRIC)
+                .tags("method", "GET", "uri", "/students", "status", "200")
+                .summary();
+        assertNotNull(entityLoads);
+        assertTrue(entityLoads.totalAmount() >= 1);
+    }
+}
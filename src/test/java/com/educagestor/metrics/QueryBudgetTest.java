@@ -0,0 +1,108 @@
+package com.educagestor.metrics;
+
+import com.educagestor.controller.StudentController;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.exception.QueryBudgetExceededException;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the per-route query budgets
+ *
+ * This test class verifies that a full page of students stays within the budget
+ * of its route, that the count is exposed in the response header, and that the
+ * guard rejects a request exceeding its budget in FAIL mode.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    private static final int STUDENT_COUNT = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryBudgetGuard queryBudgetGuard;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final List<Student> students = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int s = 0; s < STUDENT_COUNT; s++) {
+            User user = new User("budgetstudent" + s, "budgetstudent" + s + "@example.com", "password",
+                    "Student" + s, "Budget");
+            user.addRole(Role.STUDENT);
+            userRepository.save(user);
+            students.add(studentRepository.save(new Student("QB" + s, user, LocalDate.of(2000, 1, 1))));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Student student : students) {
+            studentRepository.delete(student);
+            userRepository.delete(student.getUser());
+        }
+        students.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listStudents_FullPage_StaysWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/students").param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String header = result.getResponse().getHeader(QueryCountHeaderAdvice.HEADER);
+        assertNotNull(header);
+        assertTrue(Long.parseLong(header) <= StudentController.class.getAnnotation(QueryBudget.class).value());
+    }
+
+    @Test
+    void requestCompleted_OverBudget_Fails() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(new StudentController(),
+                StudentController.class.getMethod("getAllStudents", int.class, int.class, String.class, String.class)));
+
+        RequestQueryCounts.start();
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            RequestQueryCounts.statementPrepared();
+        }
+        RequestQueryCounts counts = RequestQueryCounts.stop();
+
+        assertThrows(QueryBudgetExceededException.class,
+                () -> queryBudgetGuard.requestCompleted(request, new MockHttpServletResponse(), counts));
+    }
+}
@@ -0,0 +1,133 @@
+package com.educagestor.pagination;
+
+import com.educagestor.dto.common.CursorPageDto;
+import com.educagestor.dto.course.CourseDto;
+import com.educagestor.entity.Course;
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for keyset pagination by cursor
+ *
+ * This test class verifies that following the returned cursors visits every row
+ * once in sort order, that rows with equal sort keys are ordered and split across
+ * pages by ID, and that cursors replayed with another sort and nullable sort
+ * fields are rejected.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CursorPaginationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> courseIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Several courses share a credit count, so pages split inside a run of equal keys
+            int[] credits = {4, 9, 9, 9, 2, 9, 4};
+            for (int i = 0; i < credits.length; i++) {
+                Course course = new Course("CUR-" + i, "Cursor Course " + i, credits[i],
+                        LocalDate.now(), LocalDate.now().plusMonths(4));
+                course.setMaxStudents(30);
+                courseIds.add(courseRepository.save(course).getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllById(courseIds);
+        courseIds.clear();
+    }
+
+    @Test
+    void page_FollowingCursors_VisitsEveryRowOnceInSortOrder() {
+        Sort sort = Sort.by("credits").descending();
+        List<Long> expected = courseRepository.findAll().stream()
+                .sorted(Comparator.comparing(Course::getCredits).thenComparing(Course::getId).reversed())
+                .map(Course::getId)
+                .toList();
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPageDto<CourseDto> page = courseService.getAllCourses(cursor, 2, sort);
+            page.getContent().forEach(course -> visited.add(course.getId()));
+            assertEquals(page.isHasNext(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, visited);
+        assertEquals((expected.size() + 1) / 2, pages);
+    }
+
+    @Test
+    void page_EqualSortKeys_TieBrokenById() {
+        Sort sort = Sort.by("credits").ascending();
+        List<Long> equalCredits = List.of(courseIds.get(1), courseIds.get(2), courseIds.get(3), courseIds.get(5));
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            CursorPageDto<CourseDto> page = courseService.getAllCourses(cursor, 1, sort);
+            page.getContent().stream()
+                    .map(CourseDto::getId)
+                    .filter(equalCredits::contains)
+                    .forEach(visited::add);
+            cursor = page.getNextCursor();
+        }
+
+        assertEquals(equalCredits, visited);
+    }
+
+    @Test
+    void page_CursorReplayedWithAnotherSort_Rejected() {
+        String cursor = courseService.getAllCourses("", 2, Sort.by("credits").ascending()).getNextCursor();
+        assertNotNull(cursor);
+
+        BadRequestException direction = assertThrows(BadRequestException.class,
+                () -> courseService.getAllCourses(cursor, 2, Sort.by("credits").descending()));
+        assertEquals("Pagination cursor does not match the requested sort", direction.getMessage());
+        assertThrows(BadRequestException.class,
+                () -> courseService.getAllCourses(cursor, 2, Sort.by("courseCode").ascending()));
+        assertThrows(BadRequestException.class,
+                () -> courseService.getAllCourses("not-a-cursor", 2, Sort.by("credits").ascending()));
+    }
+
+    @Test
+    void page_NullableOrUnknownSortField_Rejected() {
+        BadRequestException nullable = assertThrows(BadRequestException.class,
+                () -> courseService.getAllCourses("", 2, Sort.by("description")));
+        assertEquals("Cannot paginate by cursor on nullable field: description", nullable.getMessage());
+
+        assertThrows(BadRequestException.class, () -> courseService.getAllCourses("", 2, Sort.by("teacher")));
+        assertThrows(BadRequestException.class, () -> courseService.getAllCourses("", 2, Sort.by("unknown")));
+    }
+}
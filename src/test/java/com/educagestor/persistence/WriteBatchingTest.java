@@ -0,0 +1,194 @@
+package com.educagestor.persistence;
+
+import com.educagestor.dto.enrollment.BulkEnrollmentRequest;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Enrollment;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.EnrollmentRepository;
+import com.educagestor.repository.GradeRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import com.educagestor.service.EnrollmentService;
+import com.educagestor.service.GradeImportService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the write-batching profile
+ *
+ * This test class verifies through Hibernate statistics that inserts of entities
+ * with sequence IDs are sent as JDBC batches, and that rows inserted with plain JDBC
+ * by the grade import and the bulk enrollment take their IDs from EntityIdAllocator
+ * without colliding with the IDs Hibernate hands out to interleaved JPA inserts.
+ *
+ * The profile changes the schema, so the context runs against its own database.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:writebatching")
+@ActiveProfiles({"test", "write-batching"})
+class WriteBatchingTest {
+
+    private static final int GRADE_COUNT = 120;
+
+    /**
+     * Up to three sequence calls for 120 IDs in blocks of 50, fewer when an earlier block
+     * still has IDs left, and one insert statement shared by its batches
+     */
+    private static final long MAX_STATEMENTS_PER_SAVE_ALL = 4;
+
+    @Autowired
+    private EntityIdAllocator entityIdAllocator;
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void saveAll_SequenceIds_InsertsInBatches() {
+        Course course = createCourse("WB-1");
+        Student student = createStudents("wb1", 1).get(0);
+
+        assertTrue(entityIdAllocator.assignsIds(Grade.class));
+        assertTrue(entityIdAllocator.assignsIds(Enrollment.class));
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> gradeRepository.saveAll(IntStream.range(0, GRADE_COUNT)
+                .mapToObj(i -> new Grade(student, course, "Homework " + i, Grade.GradeType.ASSIGNMENT, 80.0))
+                .toList()));
+
+        assertEquals(GRADE_COUNT, statistics.getEntityInsertCount());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= MAX_STATEMENTS_PER_SAVE_ALL,
+                "Expected at most " + MAX_STATEMENTS_PER_SAVE_ALL + " statements but was " + statements);
+    }
+
+    @Test
+    void importCsv_InterleavedWithJpaInserts_DistinctIds() {
+        Course course = createCourse("WB-2");
+        Student student = createStudents("wb2", 1).get(0);
+        String csv = "studentCode,courseCode,assignmentName,gradeType,gradeValue,comments\n" +
+                "wb20,WB-2,Imported 1,QUIZ,70,\n" +
+                "wb20,WB-2,Imported 2,QUIZ,75,\n" +
+                "wb20,WB-2,Imported 3,QUIZ,80,\n";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            gradeRepository.saveAll(grades(student, course, "Before", 3));
+            assertEquals(3, gradeImportService.importCsv(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))).getImportedRows());
+            gradeRepository.saveAll(grades(student, course, "After", 3));
+        });
+        gradeRepository.saveAll(grades(student, course, "Later", 3));
+        gradeImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        List<Long> ids = gradeRepository.findAll().stream()
+                .filter(grade -> grade.getCourse().getId().equals(course.getId()))
+                .map(Grade::getId)
+                .toList();
+        assertEquals(15, ids.size());
+        assertEquals(15, new HashSet<>(ids).size());
+    }
+
+    @Test
+    void enrollStudentsInBulk_InterleavedWithJpaInserts_DistinctIds() {
+        Course course = createCourse("WB-3");
+        List<Student> students = createStudents("wb3", 9);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            enrollmentRepository.save(new Enrollment(students.get(0), course));
+            enrollmentService.enrollStudentsInBulk(new BulkEnrollmentRequest(course.getId(),
+                    List.of(students.get(1).getId(), students.get(2).getId(), students.get(3).getId()), List.of()));
+            enrollmentRepository.save(new Enrollment(students.get(4), course));
+        });
+        enrollmentService.enrollStudentsInBulk(new BulkEnrollmentRequest(course.getId(),
+                List.of(students.get(5).getId(), students.get(6).getId()), List.of()));
+        enrollmentRepository.saveAll(List.of(new Enrollment(students.get(7), course),
+                new Enrollment(students.get(8), course)));
+
+        List<Long> ids = enrollmentRepository.findAll().stream()
+                .filter(enrollment -> enrollment.getCourse().getId().equals(course.getId()))
+                .map(Enrollment::getId)
+                .toList();
+        assertEquals(9, ids.size());
+        assertEquals(9, new HashSet<>(ids).size());
+    }
+
+    private List<Grade> grades(Student student, Course course, String name, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Grade(student, course, name + " " + i, Grade.GradeType.ASSIGNMENT, 85.0))
+                .toList();
+    }
+
+    private Course createCourse(String courseCode) {
+        return transactionTemplate.execute(status -> {
+            Course course = new Course(courseCode, "Batching Course " + courseCode, 3,
+                    LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(30);
+            return courseRepository.save(course);
+        });
+    }
+
+    private List<Student> createStudents(String prefix, int count) {
+        return transactionTemplate.execute(status -> {
+            List<Student> created = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                User user = new User(prefix + "user" + i, prefix + "user" + i + "@example.com", "password",
+                        "Student" + i, "Batching");
+                user.addRole(Role.STUDENT);
+                userRepository.save(user);
+                created.add(studentRepository.save(new Student(prefix + i, user, LocalDate.of(2000, 1, 1))));
+            }
+            return created;
+        });
+    }
+}
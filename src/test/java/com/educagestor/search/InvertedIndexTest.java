@@ -0,0 +1,143 @@
+package com.educagestor.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InvertedIndex
+ *
+ * This test class verifies tokenization, the single-edit matching used for fuzzy
+ * queries, relevance ranking, prefix expansion over many terms, paging and the
+ * removal and replacement of documents.
+ */
+class InvertedIndexTest {
+
+    @Test
+    void tokenize_NormalizesCaseDiacriticsAndSeparators() {
+        assertEquals(List.of("jose", "o", "neil", "smith", "42"), InvertedIndex.tokenize("  José O'Neil-Smith, 42 "));
+        assertEquals(List.of(), InvertedIndex.tokenize(null));
+        assertEquals(List.of(), InvertedIndex.tokenize("  - "));
+    }
+
+    @Test
+    void withinOneEdit_AcceptsSingleEditsOnly() {
+        assertTrue(InvertedIndex.withinOneEdit("smith", "smith"));
+        assertTrue(InvertedIndex.withinOneEdit("smith", "smyth"));
+        assertTrue(InvertedIndex.withinOneEdit("smith", "smiths"));
+        assertTrue(InvertedIndex.withinOneEdit("smith", "smit"));
+        assertTrue(InvertedIndex.withinOneEdit("smith", "smiht"));
+        assertTrue(InvertedIndex.withinOneEdit("smith", "msith"));
+
+        assertFalse(InvertedIndex.withinOneEdit("smith", "smythe"));
+        assertFalse(InvertedIndex.withinOneEdit("smith", "smi"));
+        assertFalse(InvertedIndex.withinOneEdit("smith", "mstih"));
+        assertFalse(InvertedIndex.withinOneEdit("smith", "jones"));
+    }
+
+    @Test
+    void search_RanksByFieldWeightAndMatchKind() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new InvertedIndex.Field("Intro", 3.0f), new InvertedIndex.Field("Mathematics", 1.0f));
+        index.put(2, new InvertedIndex.Field("Math", 3.0f), new InvertedIndex.Field("Algebra", 1.0f));
+        index.put(3, new InvertedIndex.Field("Physics", 3.0f), new InvertedIndex.Field("Math for physics", 2.0f));
+
+        InvertedIndex.SearchResult result = index.search("math", 0, 10);
+
+        // Exact match in the heaviest field first, then exact match in a lighter field, then prefix match
+        assertEquals(List.of(2L, 3L, 1L), result.ids());
+        assertEquals(3, result.total());
+    }
+
+    @Test
+    void search_MatchesEveryToken() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new InvertedIndex.Field("Maria Garcia", 2.0f));
+        index.put(2, new InvertedIndex.Field("Maria Lopez", 2.0f));
+        index.put(3, new InvertedIndex.Field("Jose Garcia", 2.0f));
+
+        assertEquals(List.of(1L), index.search("garcia maria", 0, 10).ids());
+        assertEquals(0, index.search("maria perez", 0, 10).total());
+    }
+
+    @Test
+    void search_PrefixOfManyTerms_ExpandsEveryTerm() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 1000; i++) {
+            index.put(i, new InvertedIndex.Field(String.format("mar%04d", i), 1.0f));
+        }
+        index.put(1000, new InvertedIndex.Field("martinez", 1.0f));
+
+        InvertedIndex.SearchResult result = index.search("mar", 0, 20);
+
+        assertEquals(1001, result.total());
+        assertEquals(20, result.ids().size());
+        assertEquals(1, index.search("mart", 0, 20).total());
+    }
+
+    @Test
+    void search_FullKeyword_MatchesKeywordTerm() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new InvertedIndex.Field("john.doe", 1.0f), new InvertedIndex.Field("John.Doe@School.edu", 3.0f, true));
+        index.put(2, new InvertedIndex.Field("jane.doe", 1.0f), new InvertedIndex.Field("jane.doe@school.edu", 3.0f, true));
+
+        assertEquals(List.of(1L), index.search("john.doe@school.edu", 0, 10).ids());
+        assertEquals(List.of(1L), index.search(" JOHN.DOE@school.edu ", 0, 10).ids());
+        assertEquals(List.of(1L), index.search("john doe", 0, 10).ids());
+        // Keywords are not tokenized, the shared domain matches nobody
+        assertEquals(0, index.search("school.edu", 0, 10).total());
+    }
+
+    @Test
+    void search_Misspelling_FallsBackToSingleEdit() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new InvertedIndex.Field("Smith", 2.0f));
+        index.put(2, new InvertedIndex.Field("Smythe", 2.0f));
+        index.put(3, new InvertedIndex.Field("Cat", 2.0f));
+
+        assertEquals(List.of(1L), index.search("smiht", 0, 10).ids());
+        // Too short to be matched fuzzily
+        assertEquals(0, index.search("cta", 0, 10).total());
+    }
+
+    @Test
+    void search_OffsetAndLimit_PageTheRanking() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 1; i <= 5; i++) {
+            index.put(i, new InvertedIndex.Field("course " + i, 1.0f));
+        }
+
+        // Equal scores are ordered by ID
+        assertEquals(List.of(3L, 4L), index.search("course", 2, 2).ids());
+        assertEquals(List.of(), index.search("course", 10, 2).ids());
+        assertEquals(5, index.search("course", 10, 2).total());
+    }
+
+    @Test
+    void remove_DocumentIsNoLongerFound() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new InvertedIndex.Field("Alice Walker", 2.0f));
+        index.put(2, new InvertedIndex.Field("Alice Munro", 2.0f));
+
+        index.remove(1);
+        index.remove(99);
+
+        assertEquals(List.of(2L), index.search("alice", 0, 10).ids());
+        assertEquals(0, index.search("walker", 0, 10).total());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void put_ExistingDocument_ReplacesItsTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, new InvertedIndex.Field("Old Name", 2.0f));
+
+        index.put(1, new InvertedIndex.Field("New Name", 2.0f));
+
+        assertEquals(0, index.search("old", 0, 10).total());
+        assertEquals(List.of(1L), index.search("new name", 0, 10).ids());
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.educagestor.search;
+
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the synchronization of the search indexes
+ *
+ * This test class verifies that rows written without notifying the index, as
+ * another instance would, are indexed by the next sync, and that users are found
+ * by their full email.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchIndexServiceTest {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private User user;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // The indexes are built in the background once the application has started
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!searchIndexService.isAvailable() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(searchIndexService.isAvailable());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (student != null) {
+            studentRepository.delete(student);
+        }
+        if (user != null) {
+            userRepository.delete(user);
+        }
+        searchIndexService.syncChanges();
+    }
+
+    @Test
+    void syncChanges_RowsChangedElsewhere_AreIndexed() {
+        user = new User("syncstudent", "syncstudent@example.com", "password", "Quetzalli", "Ixtlilxochitl");
+        user.addRole(Role.STUDENT);
+        userRepository.save(user);
+        student = studentRepository.save(new Student("SYNC001", user, LocalDate.of(2000, 1, 1)));
+
+        assertEquals(List.of(), search(SearchIndexService.IndexType.STUDENT, "quetzalli"));
+
+        searchIndexService.syncChanges();
+
+        assertEquals(List.of(student.getId()), search(SearchIndexService.IndexType.STUDENT, "quetzalli"));
+        assertEquals(List.of(user.getId()), search(SearchIndexService.IndexType.USER, "ixtlilxochitl"));
+
+        // A user rename reaches the student document through its user
+        user.setFirstName("Citlali");
+        userRepository.save(user);
+        searchIndexService.syncChanges();
+
+        assertEquals(List.of(student.getId()), search(SearchIndexService.IndexType.STUDENT, "citlali"));
+        assertEquals(List.of(), search(SearchIndexService.IndexType.STUDENT, "quetzalli"));
+    }
+
+    @Test
+    void searchUsers_FullEmail_FindsUser() {
+        user = new User("emailsearch", "Ana.Emailsearch@school.edu", "password", "Ana", "Emailsearch");
+        user.addRole(Role.STUDENT);
+        userRepository.save(user);
+        searchIndexService.syncChanges();
+
+        assertEquals(List.of(user.getId()), search(SearchIndexService.IndexType.USER, "ana.emailsearch@school.edu"));
+        assertEquals(List.of(user.getId()), search(SearchIndexService.IndexType.USER, "Ana.Emailsearch@School.edu"));
+        assertEquals(List.of(user.getId()), search(SearchIndexService.IndexType.USER, "ana.emailsearch"));
+        assertEquals(List.of(), search(SearchIndexService.IndexType.USER, "ana.emailsearch@other.edu"));
+    }
+
+    private List<Long> search(SearchIndexService.IndexType type, String query) {
+        return searchIndexService.search(type, query, PageRequest.of(0, 10)).getContent();
+    }
+}
@@ -0,0 +1,182 @@
+package com.educagestor.security;
+
+import com.educagestor.entity.Role;
+import com.educagestor.entity.User;
+import com.educagestor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the principal sources of the JWT filter
+ *
+ * This test class verifies that a deactivated user is rejected in the DATABASE,
+ * CACHE and CLAIMS modes, that CLAIMS mode picks up users changed by another
+ * instance from the database, and that an invalidation marker evicted for space
+ * still sends older tokens to the cache path.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthTokenFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthTokenFilter authTokenFilter;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Unit tests running in the same thread may leave an authentication behind
+        SecurityContextHolder.clearContext();
+        user = new User("filteradmin", "filteradmin@example.com", "password", "Filter", "Admin");
+        user.addRole(Role.ADMIN);
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(authTokenFilter, "principalSource", AuthTokenFilter.PrincipalSource.CACHE);
+        userPrincipalCache.invalidate(user.getUsername());
+        userRepository.delete(user);
+    }
+
+    @Test
+    void databaseMode_DeactivatedUser_RejectedOnNextRequest() throws Exception {
+        usePrincipalSource(AuthTokenFilter.PrincipalSource.DATABASE);
+        String token = issueToken();
+        getStudents(token).andExpect(status().isOk());
+
+        // No invalidation, every request reads the user
+        deactivate();
+
+        getStudents(token).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void cacheMode_DeactivatedAndInvalidatedUser_Rejected() throws Exception {
+        usePrincipalSource(AuthTokenFilter.PrincipalSource.CACHE);
+        String token = issueToken();
+        getStudents(token).andExpect(status().isOk());
+
+        deactivate();
+        userPrincipalCache.invalidate(user.getUsername());
+
+        getStudents(token).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void claimsMode_ActiveUser_AuthenticatedFromClaims() throws Exception {
+        usePrincipalSource(AuthTokenFilter.PrincipalSource.CLAIMS);
+        // Issued past the clock skew margin of the user's creation, so a scheduled sync cannot distrust it
+        String token = issueToken(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2)));
+
+        // The claims still say active, the database is not read
+        deactivate();
+
+        getStudents(token).andExpect(status().isOk());
+    }
+
+    @Test
+    void claimsMode_DeactivatedAndInvalidatedUser_Rejected() throws Exception {
+        usePrincipalSource(AuthTokenFilter.PrincipalSource.CLAIMS);
+        String token = issueToken();
+        getStudents(token).andExpect(status().isOk());
+
+        deactivate();
+        userPrincipalCache.invalidate(user.getUsername());
+
+        getStudents(token).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void claimsMode_UserDeactivatedByAnotherInstance_RejectedAfterSync() throws Exception {
+        usePrincipalSource(AuthTokenFilter.PrincipalSource.CLAIMS);
+        String token = issueToken();
+        getStudents(token).andExpect(status().isOk());
+
+        // Another instance deactivates the user, nothing is invalidated locally
+        deactivate();
+        userPrincipalCache.syncInvalidations();
+
+        getStudents(token).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void invalidationMarkers_EvictedForSpace_OlderTokensStillInvalidated() throws Exception {
+        UserPrincipalCache cache = new UserPrincipalCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 10L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "jwtExpirationMs", 86_400_000L);
+        cache.init();
+
+        Date issuedBefore = new Date(System.currentTimeMillis() - 1000);
+        cache.invalidate("deactivated");
+        for (int i = 0; i < 100; i++) {
+            cache.invalidate(UUID.randomUUID().toString());
+        }
+
+        // Eviction runs asynchronously, the watermark then covers every older token
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!cache.isInvalidatedSince("never-invalidated", issuedBefore) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(cache.isInvalidatedSince("never-invalidated", issuedBefore));
+        assertTrue(cache.isInvalidatedSince("deactivated", issuedBefore));
+        assertFalse(cache.isInvalidatedSince("never-invalidated", new Date(System.currentTimeMillis() + 1000)));
+    }
+
+    private void usePrincipalSource(AuthTokenFilter.PrincipalSource source) {
+        ReflectionTestUtils.setField(authTokenFilter, "principalSource", source);
+    }
+
+    private String issueToken() {
+        return issueToken(new Date(System.currentTimeMillis() - 1000));
+    }
+
+    private String issueToken(Date issuedAt) {
+        UserPrincipal principal = UserPrincipal.create(userRepository.findByUsername(user.getUsername()).orElseThrow());
+        return jwtUtils.generateAccessToken(principal, UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                issuedAt);
+    }
+
+    private void deactivate() {
+        User stored = userRepository.findByUsername(user.getUsername()).orElseThrow();
+        stored.setActive(false);
+        userRepository.save(stored);
+    }
+
+    private ResultActions getStudents(String accessToken) throws Exception {
+        return mockMvc.perform(get("/students").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken));
+    }
+}
@@ -0,0 +1,157 @@
+package com.educagestor.security;
+
+import com.educagestor.config.SecurityConfig;
+import com.educagestor.dto.auth.LoginRequest;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.User;
+import com.educagestor.exception.TooManyRequestsException;
+import com.educagestor.repository.RefreshTokenRepository;
+import com.educagestor.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the login password hashing
+ *
+ * This test class verifies that a password hashed at an outdated cost is rehashed
+ * on login, that hashing is timed, and that a saturated hashing pool rejects
+ * new hashes instead of queueing them.
+ */
+@SpringBootTest(properties = "password-hashing.bcrypt-strength=5")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashingTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Unit tests running in the same thread may leave an authentication behind
+        SecurityContextHolder.clearContext();
+        user = new User("hashingteacher", "hashingteacher@example.com", new BCryptPasswordEncoder(4).encode(PASSWORD),
+                "Hashing", "Teacher");
+        user.addRole(Role.TEACHER);
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void login_OutdatedHash_IsRehashedAtConfiguredCost() throws Exception {
+        long hashesBefore = meterRegistry.get(OffloadedPasswordEncoder.HASH_METRIC)
+                .tag("operation", "matches").timer().count();
+
+        login().andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles[0]").value("TEACHER"));
+
+        String rehashed = userRepository.findByUsername(user.getUsername()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("{bcrypt}$2a$05$"), rehashed);
+
+        login().andExpect(status().isOk());
+        assertEquals(rehashed, userRepository.findByUsername(user.getUsername()).orElseThrow().getPassword());
+        assertEquals(2, meterRegistry.get(OffloadedPasswordEncoder.HASH_METRIC)
+                .tag("operation", "matches").timer().count() - hashesBefore);
+    }
+
+    @Test
+    void upgradeEncoding_UnprefixedHashAtCurrentCost_IsKept() {
+        PasswordEncoder encoder = SecurityConfig.hashingPasswordEncoder("bcrypt", 5);
+
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode(PASSWORD)));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode(PASSWORD)));
+        assertTrue(encoder.matches(PASSWORD, new BCryptPasswordEncoder(4).encode(PASSWORD)));
+    }
+
+    @Test
+    void matches_PoolSaturated_RejectsWithoutQueueing() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(blocking, 1, 1, 10_000, registry);
+        try {
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches(PASSWORD, PASSWORD));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches(PASSWORD, PASSWORD));
+            while (registry.get("executor.queued").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(TooManyRequestsException.class, () -> encoder.matches(PASSWORD, PASSWORD));
+            assertEquals(1, registry.get(OffloadedPasswordEncoder.REJECTED_METRIC).counter().count());
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+
+    private ResultActions login() throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(user.getUsername(), PASSWORD))));
+    }
+}
@@ -0,0 +1,150 @@
+package com.educagestor.security;
+
+import com.educagestor.dto.auth.LoginRequest;
+import com.educagestor.dto.auth.RefreshTokenRequest;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.User;
+import com.educagestor.repository.RefreshTokenRepository;
+import com.educagestor.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for refresh token rotation and access token revocation
+ *
+ * This test class verifies that a refresh token can be used only once, that reusing
+ * one revokes its whole session, that logout revokes the access token, and that the
+ * deny-list only rejects the revoked token IDs.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RefreshTokenRotationTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AccessTokenDenyList accessTokenDenyList;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Unit tests running in the same thread may leave an authentication behind
+        SecurityContextHolder.clearContext();
+        user = new User("rotationadmin", "rotationadmin@example.com", passwordEncoder.encode(PASSWORD),
+                "Rotation", "Admin");
+        user.addRole(Role.ADMIN);
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void refresh_ReusedToken_RevokesSession() throws Exception {
+        JsonNode login = login();
+        String firstRefreshToken = login.get("refreshToken").asText();
+
+        JsonNode refreshed = read(refresh(firstRefreshToken).andExpect(status().isOk()));
+        String accessToken = refreshed.get("token").asText();
+        String secondRefreshToken = refreshed.get("refreshToken").asText();
+        getStudents(accessToken).andExpect(status().isOk());
+
+        refresh(firstRefreshToken).andExpect(status().isBadRequest());
+
+        refresh(secondRefreshToken).andExpect(status().isBadRequest());
+        getStudents(accessToken).andExpect(status().isForbidden());
+        getStudents(login.get("token").asText()).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void logout_RevokesAccessAndRefreshTokens() throws Exception {
+        JsonNode login = login();
+        String accessToken = login.get("token").asText();
+        getStudents(accessToken).andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        getStudents(accessToken).andExpect(status().isForbidden());
+        refresh(login.get("refreshToken").asText()).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void refreshToken_UsedAsAccessToken_IsRejected() throws Exception {
+        getStudents(login().get("refreshToken").asText()).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void denyList_OnlyDeniesRevokedTokenIds() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+        String revoked = UUID.randomUUID().toString();
+        accessTokenDenyList.deny(revoked, expiresAt);
+
+        assertTrue(accessTokenDenyList.isDenied(revoked, expiresAt));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(accessTokenDenyList.isDenied(UUID.randomUUID().toString(), expiresAt));
+        }
+    }
+
+    private JsonNode login() throws Exception {
+        return read(mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(user.getUsername(), PASSWORD))))
+                .andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))));
+    }
+
+    private ResultActions getStudents(String accessToken) throws Exception {
+        return mockMvc.perform(get("/students").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken));
+    }
+
+    private JsonNode read(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
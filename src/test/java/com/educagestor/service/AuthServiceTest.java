@@ -1,5 +1,6 @@
 package com.educagestor.service;
 
+import com.educagestor.audit.AuditService;
 import com.educagestor.dto.auth.JwtResponse;
 import com.educagestor.dto.auth.LoginRequest;
 import com.educagestor.dto.auth.RegisterRequest;
@@ -7,7 +8,11 @@ import com.educagestor.entity.Role;
 import com.educagestor.entity.User;
 import com.educagestor.exception.BadRequestException;
 import com.educagestor.repository.UserRepository;
+import com.educagestor.search.SearchIndexService;
 import com.educagestor.security.JwtUtils;
+import com.educagestor.security.StudentAccess;
+import com.educagestor.security.UserPrincipal;
+import com.educagestor.service.RefreshTokenService.TokenPair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,12 +24,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -48,6 +52,18 @@ class AuthServiceTest {
     @Mock
     private JwtUtils jwtUtils;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private StudentAccess studentAccess;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @Mock
     private Authentication authentication;
 
@@ -85,14 +101,13 @@ class AuthServiceTest {
     @Test
     void authenticateUser_Success() {
         // Arrange
+        UserPrincipal principal = UserPrincipal.create(testUser);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByUsername("testuser"))
-                .thenReturn(Optional.of(testUser));
-        when(jwtUtils.generateJwtToken(authentication))
-                .thenReturn("jwt-token");
-        when(jwtUtils.generateRefreshToken("testuser"))
-                .thenReturn("refresh-token");
+        when(authentication.getPrincipal())
+                .thenReturn(principal);
+        when(refreshTokenService.issue(principal, null))
+                .thenReturn(new TokenPair("jwt-token", "refresh-token"));
 
         // Act
         JwtResponse response = authService.authenticateUser(loginRequest);
@@ -106,8 +121,7 @@ class AuthServiceTest {
         assertEquals(testUser.getEmail(), response.getEmail());
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtils).generateJwtToken(authentication);
-        verify(jwtUtils).generateRefreshToken("testuser");
+        verify(refreshTokenService).issue(principal, null);
     }
 
     @Test
@@ -133,8 +147,7 @@ class AuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(jwtUtils.generateJwtToken(authentication)).thenReturn("jwt-token");
-        when(jwtUtils.generateRefreshToken(anyString())).thenReturn("refresh-token");
+        when(refreshTokenService.issue(any(), isNull())).thenReturn(new TokenPair("jwt-token", "refresh-token"));
 
         // Act
         JwtResponse response = authService.registerUser(registerRequest);
@@ -0,0 +1,370 @@
+package com.educagestor.service;
+
+import com.educagestor.dto.enrollment.BulkEnrollmentRequest;
+import com.educagestor.dto.enrollment.BulkEnrollmentResultDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Enrollment;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.TooManyRequestsException;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.CourseSeatsRepository;
+import com.educagestor.repository.EnrollmentRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency tests for EnrollmentService seat reservation
+ *
+ * This test class fires simultaneous enrollment requests against a single course
+ * and verifies that the course is never oversubscribed and the enrolled count
+ * matches the committed enrollments. Throughput is reported in the test log. It
+ * also verifies that reserving seats leaves the cached course in place, that
+ * missing or drifted seat counters are repaired, and that bulk enrollments report
+ * rejected students, stop at capacity and share the seats with single enrollments.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EnrollmentServiceConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentServiceConcurrencyTest.class);
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseSeatAdmission courseSeatAdmission;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentCountReconciler enrollmentCountReconciler;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> courseIds = new ArrayList<>();
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(courseSeatAdmission, "enabled", false);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long courseId : courseIds) {
+                enrollmentRepository.deleteAll(enrollmentRepository.findAll().stream()
+                        .filter(enrollment -> enrollment.getCourse().getId().equals(courseId))
+                        .toList());
+            }
+            for (Long studentId : studentIds) {
+                studentRepository.findById(studentId).ifPresent(student -> {
+                    studentRepository.delete(student);
+                    userRepository.delete(student.getUser());
+                });
+            }
+            courseRepository.deleteAllById(courseIds);
+        });
+        courseIds.clear();
+        studentIds.clear();
+    }
+
+    @Test
+    void enrollStudent_ConcurrentRequests_NeverOversubscribe() throws Exception {
+        Long courseId = createCourse("STRESS-1", 20);
+        List<Long> students = createStudents("stress1", 200);
+
+        Outcome outcome = runConcurrently(students.stream().map(studentId -> (Runnable) () ->
+                enrollmentService.enrollStudent(studentId, courseId)).toList());
+
+        assertEquals(0, outcome.unexpected.get());
+        assertEquals(20, outcome.succeeded.get());
+        assertEquals(180, outcome.rejected.get());
+        assertCourseConsistent(courseId, 20);
+    }
+
+    @Test
+    void enrollStudent_ConcurrentRequestsWithAdmission_NeverOversubscribe() throws Exception {
+        ReflectionTestUtils.setField(courseSeatAdmission, "enabled", true);
+
+        Long courseId = createCourse("STRESS-2", 20);
+        List<Long> students = createStudents("stress2", 200);
+
+        Outcome outcome = runConcurrently(students.stream().map(studentId -> (Runnable) () ->
+                enrollmentService.enrollStudent(studentId, courseId)).toList());
+
+        assertEquals(0, outcome.unexpected.get());
+        assertTrue(outcome.succeeded.get() <= 20);
+        assertEquals(200, outcome.succeeded.get() + outcome.rejected.get() + outcome.throttled.get());
+        assertCourseConsistent(courseId, outcome.succeeded.get());
+    }
+
+    @Test
+    void enrollStudent_SameStudentConcurrently_EnrollsOnceAndKeepsOneSeat() throws Exception {
+        Long courseId = createCourse("STRESS-3", 10);
+        Long studentId = createStudents("stress3", 1).get(0);
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(() -> enrollmentService.enrollStudent(studentId, courseId));
+        }
+        Outcome outcome = runConcurrently(tasks);
+
+        assertEquals(0, outcome.unexpected.get());
+        assertEquals(1, outcome.succeeded.get());
+        assertCourseConsistent(courseId, 1);
+    }
+
+    @Test
+    void enrollStudent_SeatReservation_LeavesCourseCached() {
+        Long courseId = createCourse("STRESS-4", 5);
+        List<Long> students = createStudents("stress4", 2);
+        courseRepository.findById(courseId);
+        Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Course.class, courseId));
+
+        enrollmentService.enrollStudent(students.get(0), courseId);
+        enrollmentService.enrollStudent(students.get(1), courseId);
+
+        // The seats live in their own table, the cached course is not invalidated
+        assertTrue(cache.contains(Course.class, courseId));
+        assertEquals(2, courseService.getCourseById(courseId).getCurrentEnrollmentCount());
+        assertCourseConsistent(courseId, 2);
+    }
+
+    @Test
+    void reconcileEnrolledCounts_MissingOrDriftedSeats_Repaired() {
+        Long missingId = createCourse("STRESS-5", 5);
+        Long driftedId = createCourse("STRESS-6", 5);
+        List<Long> students = createStudents("stress5", 2);
+        enrollmentService.enrollStudent(students.get(0), missingId);
+        enrollmentService.enrollStudent(students.get(1), driftedId);
+
+        // Rows written outside the application
+        jdbcTemplate.update("DELETE FROM course_seats WHERE course_id = ?", missingId);
+        jdbcTemplate.update("UPDATE course_seats SET enrolled_count = 4 WHERE course_id = ?", driftedId);
+
+        assertEquals(2, enrollmentCountReconciler.reconcileEnrolledCounts());
+
+        assertCourseConsistent(missingId, 1);
+        assertCourseConsistent(driftedId, 1);
+    }
+
+    @Test
+    void enrollStudentsInBulk_PartialRejection_ReportsEachStudent() {
+        Long courseId = createCourse("STRESS-7", 10);
+        List<Long> students = createStudents("stress7", 6);
+        enrollmentService.enrollStudent(students.get(0), courseId);
+        enrollmentService.cancelEnrollment(enrollmentService.enrollStudent(students.get(1), courseId).getId());
+        transactionTemplate.executeWithoutResult(status -> studentRepository.findById(students.get(2))
+                .orElseThrow().setAcademicStatus(Student.AcademicStatus.INACTIVE));
+
+        BulkEnrollmentResultDto result = enrollmentService.enrollStudentsInBulk(new BulkEnrollmentRequest(courseId,
+                List.of(students.get(0), students.get(1), students.get(2), students.get(3), students.get(4),
+                        -1L, students.get(4)),
+                List.of("stress73", "stress75", "UNKNOWN")));
+
+        assertEquals(9, result.getRequested());
+        assertEquals(3, result.getEnrolled());
+        assertEquals(6, result.getFailed());
+        assertEquals(List.of(
+                "Student is already enrolled in this course",
+                "Student already has an enrollment record for this course",
+                "Cannot enroll inactive student",
+                "ENROLLED",
+                "ENROLLED",
+                "Student not found",
+                "Student is listed more than once",
+                "ENROLLED",
+                "Student not found"), outcomes(result));
+        assertEquals(students.get(5), result.getResults().get(7).getStudentId());
+        assertCourseConsistent(courseId, 4);
+    }
+
+    @Test
+    void enrollStudentsInBulk_CourseFillsMidBatch_EnrollsInRequestOrder() {
+        Long courseId = createCourse("STRESS-8", 5);
+        List<Long> students = createStudents("stress8", 8);
+        enrollmentService.enrollStudent(students.get(0), courseId);
+        enrollmentService.enrollStudent(students.get(1), courseId);
+
+        BulkEnrollmentResultDto result = enrollmentService.enrollStudentsInBulk(
+                new BulkEnrollmentRequest(courseId, students.subList(2, 8), List.of()));
+
+        assertEquals(3, result.getEnrolled());
+        assertEquals(List.of("ENROLLED", "ENROLLED", "ENROLLED", "Course is full - no available spots",
+                "Course is full - no available spots", "Course is full - no available spots"), outcomes(result));
+        assertCourseConsistent(courseId, 5);
+    }
+
+    @Test
+    void enrollStudentsInBulk_ConcurrentSingleEnrollments_NeverOversubscribe() throws Exception {
+        Long courseId = createCourse("STRESS-9", 20);
+        List<Long> students = createStudents("stress9", 40);
+
+        // The bulk request overlaps the single enrollments on students 20 to 29
+        AtomicReference<BulkEnrollmentResultDto> bulk = new AtomicReference<>();
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(() -> bulk.set(enrollmentService.enrollStudentsInBulk(
+                new BulkEnrollmentRequest(courseId, students.subList(0, 30), List.of()))));
+        students.subList(20, 40).forEach(studentId -> tasks.add(() ->
+                enrollmentService.enrollStudent(studentId, courseId)));
+        Outcome outcome = runConcurrently(tasks);
+
+        assertEquals(0, outcome.unexpected.get());
+        // A bulk request losing an overlapping student to a single enrollment is rejected as a whole
+        int bulkEnrolled = bulk.get() != null ? bulk.get().getEnrolled() : 0;
+        int singleEnrolled = outcome.succeeded.get() - (bulk.get() != null ? 1 : 0);
+        assertTrue(bulkEnrolled + singleEnrolled <= 20);
+        assertCourseConsistent(courseId, bulkEnrolled + singleEnrolled);
+    }
+
+    private List<String> outcomes(BulkEnrollmentResultDto result) {
+        return result.getResults().stream()
+                .map(student -> student.getStatus() == BulkEnrollmentResultDto.ResultStatus.ENROLLED ?
+                        "ENROLLED" : student.getMessage())
+                .toList();
+    }
+
+    private void assertCourseConsistent(Long courseId, int expectedEnrolled) {
+        long enrolledRows = enrollmentRepository.findAll().stream()
+                .filter(enrollment -> enrollment.getCourse().getId().equals(courseId))
+                .filter(enrollment -> enrollment.getEnrollmentStatus() == Enrollment.EnrollmentStatus.ENROLLED)
+                .count();
+        Course course = courseRepository.findById(courseId).orElseThrow();
+        int enrolledCount = courseSeatsRepository.findById(courseId).orElseThrow().getEnrolledCount();
+
+        assertEquals(expectedEnrolled, enrolledRows);
+        assertEquals(expectedEnrolled, enrolledCount);
+        assertTrue(enrolledCount <= course.getMaxStudents());
+    }
+
+    private Outcome runConcurrently(List<Runnable> tasks) throws Exception {
+        Outcome outcome = new Outcome();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        task.run();
+                        outcome.succeeded.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        outcome.rejected.incrementAndGet();
+                    } catch (TooManyRequestsException e) {
+                        outcome.throttled.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        logger.error("Unexpected enrollment failure", e);
+                        outcome.unexpected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+            logger.info("{} enrollment requests in {} s ({} req/s): {} succeeded, {} rejected, {} throttled",
+                    tasks.size(), String.format("%.3f", seconds), String.format("%.0f", tasks.size() / seconds),
+                    outcome.succeeded.get(), outcome.rejected.get(), outcome.throttled.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return outcome;
+    }
+
+    private Long createCourse(String courseCode, int maxStudents) {
+        Long courseId = transactionTemplate.execute(status -> {
+            Course course = new Course(courseCode, "Stress Course " + courseCode, 3,
+                    LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(maxStudents);
+            return courseRepository.save(course).getId();
+        });
+        courseIds.add(courseId);
+        return courseId;
+    }
+
+    private List<Long> createStudents(String prefix, int count) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                User user = new User(prefix + "user" + i, prefix + "user" + i + "@example.com", "password",
+                        "Student" + i, "Stress");
+                user.addRole(Role.STUDENT);
+                userRepository.save(user);
+
+                Student student = new Student(prefix + i, user, LocalDate.of(2000, 1, 1));
+                created.add(studentRepository.save(student).getId());
+            }
+            return created;
+        });
+        studentIds.addAll(ids);
+        return ids;
+    }
+
+    private static class Outcome {
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger throttled = new AtomicInteger();
+        private final AtomicInteger unexpected = new AtomicInteger();
+    }
+}
@@ -0,0 +1,313 @@
+package com.educagestor.service;
+
+import com.educagestor.dto.grade.GradeDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.GradeAggregate;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.GradeAggregateRepository;
+import com.educagestor.repository.GradeRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the incrementally maintained grade aggregates
+ *
+ * This test class verifies that recording, updating, dropping and deleting grades
+ * keep the aggregate of the student and course equal to the statistics of its grades,
+ * including the minimum and maximum when the removed grade was one of them, and that
+ * concurrent first grades of the same student and course all land in one aggregate.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GradeAggregateServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeAggregateServiceTest.class);
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> courseIds = new ArrayList<>();
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long courseId : courseIds) {
+                gradeRepository.deleteAll(gradeRepository.findAll().stream()
+                        .filter(grade -> grade.getCourse().getId().equals(courseId))
+                        .toList());
+                gradeAggregateRepository.deleteAll(gradeAggregateRepository.findAll().stream()
+                        .filter(aggregate -> aggregate.getCourseId().equals(courseId))
+                        .toList());
+            }
+            for (Long studentId : studentIds) {
+                studentRepository.findById(studentId).ifPresent(student -> {
+                    studentRepository.delete(student);
+                    userRepository.delete(student.getUser());
+                });
+            }
+            courseRepository.deleteAllById(courseIds);
+        });
+        courseIds.clear();
+        studentIds.clear();
+    }
+
+    @Test
+    void recordGrade_AddsToAggregate() {
+        Long courseId = createCourse("AGG-1");
+        Long studentId = createStudents("agg1", 1).get(0);
+
+        recordGrade(studentId, courseId, 70.0, 0.25);
+        recordGrade(studentId, courseId, 90.0, 0.75);
+
+        GradeAggregate aggregate = aggregate(studentId, courseId);
+        assertEquals(2, aggregate.getGradeCount());
+        assertEquals(160.0, aggregate.getGradeSum(), 1e-9);
+        assertEquals(17.5 + 67.5, aggregate.getWeightedSum(), 1e-9);
+        assertEquals(1.0, aggregate.getWeightTotal(), 1e-9);
+        assertEquals(70.0, aggregate.getMinGrade());
+        assertEquals(90.0, aggregate.getMaxGrade());
+        assertEquals(80.0, gradeService.calculateAverageGrade(studentId, courseId), 1e-9);
+        assertEquals(85.0, gradeService.calculateWeightedAverageGrade(studentId, courseId), 1e-9);
+    }
+
+    @Test
+    void updateGrade_ReplacesContribution() {
+        Long courseId = createCourse("AGG-2");
+        Long studentId = createStudents("agg2", 1).get(0);
+        Long low = recordGrade(studentId, courseId, 60.0, null);
+        recordGrade(studentId, courseId, 80.0, null);
+        Long high = recordGrade(studentId, courseId, 95.0, null);
+
+        gradeService.updateGrade(low, valueUpdate(75.0));
+        gradeService.updateGrade(high, valueUpdate(85.0));
+
+        assertMatchesGrades(studentId, courseId);
+        GradeAggregate aggregate = aggregate(studentId, courseId);
+        assertEquals(3, aggregate.getGradeCount());
+        assertEquals(75.0, aggregate.getMinGrade());
+        assertEquals(85.0, aggregate.getMaxGrade());
+    }
+
+    @Test
+    void updateGrade_Dropped_RemovesContribution() {
+        Long courseId = createCourse("AGG-3");
+        Long studentId = createStudents("agg3", 1).get(0);
+        recordGrade(studentId, courseId, 70.0, null);
+        Long dropped = recordGrade(studentId, courseId, 40.0, null);
+
+        GradeDto drop = valueUpdate(null);
+        drop.setIsDropped(true);
+        gradeService.updateGrade(dropped, drop);
+
+        assertMatchesGrades(studentId, courseId);
+        assertEquals(1, aggregate(studentId, courseId).getGradeCount());
+        assertEquals(70.0, aggregate(studentId, courseId).getMinGrade());
+    }
+
+    @Test
+    void deleteGrade_MinimumOrMaximum_RecomputesExtremes() {
+        Long courseId = createCourse("AGG-4");
+        Long studentId = createStudents("agg4", 1).get(0);
+        Long min = recordGrade(studentId, courseId, 55.0, null);
+        Long middle = recordGrade(studentId, courseId, 70.0, null);
+        Long max = recordGrade(studentId, courseId, 98.0, null);
+        recordGrade(studentId, courseId, 80.0, null);
+
+        gradeService.deleteGrade(min);
+        assertMatchesGrades(studentId, courseId);
+        assertEquals(70.0, aggregate(studentId, courseId).getMinGrade());
+
+        gradeService.deleteGrade(max);
+        assertMatchesGrades(studentId, courseId);
+        assertEquals(80.0, aggregate(studentId, courseId).getMaxGrade());
+
+        gradeService.deleteGrade(middle);
+        assertMatchesGrades(studentId, courseId);
+        assertEquals(80.0, aggregate(studentId, courseId).getMinGrade());
+        assertEquals(80.0, aggregate(studentId, courseId).getMaxGrade());
+    }
+
+    @Test
+    void deleteGrade_LastGrade_DeletesAggregate() {
+        Long courseId = createCourse("AGG-5");
+        Long studentId = createStudents("agg5", 1).get(0);
+        Long gradeId = recordGrade(studentId, courseId, 88.0, null);
+
+        gradeService.deleteGrade(gradeId);
+
+        assertTrue(gradeAggregateRepository.findByStudentIdAndCourseId(studentId, courseId).isEmpty());
+        assertEquals(0.0, gradeService.calculateAverageGrade(studentId, courseId));
+    }
+
+    @Test
+    void recordGrade_ConcurrentFirstGrades_AllCountedInOneAggregate() throws Exception {
+        Long courseId = createCourse("AGG-6");
+        List<Long> students = createStudents("agg6", 8);
+        int gradesPerStudent = 6;
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (Long studentId : students) {
+            for (int i = 0; i < gradesPerStudent; i++) {
+                double value = 50.0 + i * 5;
+                tasks.add(() -> recordGrade(studentId, courseId, value, null));
+            }
+        }
+        AtomicInteger failed = runConcurrently(tasks);
+
+        assertEquals(0, failed.get());
+        for (Long studentId : students) {
+            assertMatchesGrades(studentId, courseId);
+            assertEquals(gradesPerStudent, aggregate(studentId, courseId).getGradeCount());
+        }
+    }
+
+    /**
+     * Asserts that the aggregate holds the statistics of the student's non-dropped grades
+     */
+    private void assertMatchesGrades(Long studentId, Long courseId) {
+        List<Grade> grades = gradeRepository.findAll().stream()
+                .filter(grade -> grade.getStudent().getId().equals(studentId))
+                .filter(grade -> grade.getCourse().getId().equals(courseId))
+                .filter(grade -> !grade.getIsDropped())
+                .toList();
+        GradeAggregate aggregate = aggregate(studentId, courseId);
+
+        assertEquals(grades.size(), aggregate.getGradeCount());
+        assertEquals(grades.stream().mapToDouble(Grade::getGradeValue).sum(), aggregate.getGradeSum(), 1e-9);
+        assertEquals(grades.stream().mapToDouble(Grade::getGradeValue).min().orElseThrow(), aggregate.getMinGrade());
+        assertEquals(grades.stream().mapToDouble(Grade::getGradeValue).max().orElseThrow(), aggregate.getMaxGrade());
+    }
+
+    private GradeAggregate aggregate(Long studentId, Long courseId) {
+        return gradeAggregateRepository.findByStudentIdAndCourseId(studentId, courseId).orElseThrow();
+    }
+
+    private AtomicInteger runConcurrently(List<Runnable> tasks) throws Exception {
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Unexpected grade write failure", e);
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return failed;
+    }
+
+    private Long recordGrade(Long studentId, Long courseId, double value, Double weight) {
+        GradeDto grade = new GradeDto();
+        grade.setStudentId(studentId);
+        grade.setCourseId(courseId);
+        grade.setAssignmentName("Homework");
+        grade.setGradeType(Grade.GradeType.ASSIGNMENT);
+        grade.setGradeValue(value);
+        grade.setWeight(weight);
+        return gradeService.recordGrade(grade).getId();
+    }
+
+    /**
+     * Update request changing only the grade value, the DTO defaults would otherwise be applied
+     */
+    private static GradeDto valueUpdate(Double value) {
+        GradeDto dto = new GradeDto();
+        dto.setMaxPoints(null);
+        dto.setIsExtraCredit(null);
+        dto.setIsDropped(null);
+        dto.setGradeValue(value);
+        return dto;
+    }
+
+    private Long createCourse(String courseCode) {
+        Long courseId = transactionTemplate.execute(status -> {
+            Course course = new Course(courseCode, "Aggregate Course " + courseCode, 3,
+                    LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(50);
+            return courseRepository.save(course).getId();
+        });
+        courseIds.add(courseId);
+        return courseId;
+    }
+
+    private List<Long> createStudents(String prefix, int count) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                User user = new User(prefix + "user" + i, prefix + "user" + i + "@example.com", "password",
+                        "Student" + i, "Aggregate");
+                user.addRole(Role.STUDENT);
+                userRepository.save(user);
+
+                Student student = new Student(prefix + i, user, LocalDate.of(2000, 1, 1));
+                created.add(studentRepository.save(student).getId());
+            }
+            return created;
+        });
+        studentIds.addAll(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,166 @@
+package com.educagestor.service;
+
+import com.educagestor.dto.grade.GradeImportResultDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.GradeAggregateRepository;
+import com.educagestor.repository.GradeRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CSV grade import
+ *
+ * This test class verifies that quoted fields may contain separators, escaped
+ * quotes and line breaks, and that rows failing to parse, validate or resolve are
+ * reported with their row number while the other rows are imported.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GradeImportServiceTest {
+
+    private static final String HEADER = "studentCode,courseCode,assignmentName,gradeType,gradeValue,comments\r\n";
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long courseId;
+
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = new Course("IMP-1", "Import Course", 3, LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(30);
+            courseId = courseRepository.save(course).getId();
+
+            User user = new User("importstudent", "importstudent@example.com", "password", "Import", "Student");
+            user.addRole(Role.STUDENT);
+            userRepository.save(user);
+            studentId = studentRepository.save(new Student("IMP001", user, LocalDate.of(2000, 1, 1))).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            gradeRepository.deleteAll(grades());
+            gradeAggregateRepository.findByStudentIdAndCourseId(studentId, courseId)
+                    .ifPresent(gradeAggregateRepository::delete);
+            studentRepository.findById(studentId).ifPresent(student -> {
+                studentRepository.delete(student);
+                userRepository.delete(student.getUser());
+            });
+            courseRepository.deleteById(courseId);
+        });
+    }
+
+    @Test
+    void importCsv_QuotedFields_KeepSeparatorsQuotesAndLineBreaks() {
+        GradeImportResultDto result = importCsv(HEADER +
+                "IMP001,IMP-1,\"Essay, part 1\",ASSIGNMENT,80,\"Said \"\"well argued\"\"\"\r\n" +
+                "IMP001,IMP-1,Lab report,ASSIGNMENT,90,\"First line\r\nsecond line\nthird, line\"\r\n" +
+                "IMP001,IMP-1,Quiz,QUIZ,70,\n");
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getImportedRows());
+
+        List<Grade> grades = grades();
+        assertEquals(List.of("Essay, part 1", "Lab report", "Quiz"),
+                grades.stream().map(Grade::getAssignmentName).toList());
+        assertEquals("Said \"well argued\"", grades.get(0).getComments());
+        assertEquals("First line\r\nsecond line\nthird, line", grades.get(1).getComments());
+        assertNull(grades.get(2).getComments());
+    }
+
+    @Test
+    void importCsv_InvalidRows_ReportedByRowNumber() {
+        GradeImportResultDto result = importCsv("\uFEFF" + HEADER +
+                "IMP001,IMP-1,\"Multi\nline\",ASSIGNMENT,85,\n" +
+                "\n" +
+                "IMP001,IMP-1,Midterm,NOT_A_TYPE,75,\n" +
+                "IMP001,IMP-1,Final,EXAM,150,\n" +
+                "UNKNOWN,IMP-1,Project,PROJECT,60,\"spans\ntwo lines\"\n" +
+                "IMP001,IMP-1,Participation,PARTICIPATION,95,\n");
+
+        assertEquals(5, result.getTotalRows());
+        assertEquals(2, result.getImportedRows());
+        assertEquals(3, result.getFailedRows());
+
+        List<GradeImportResultDto.RowResult> rows = result.getRows();
+        assertEquals(List.of(1, 2, 3, 4, 5), rows.stream().map(GradeImportResultDto.RowResult::getRowNumber).toList());
+        assertEquals(GradeImportResultDto.RowStatus.IMPORTED, rows.get(0).getStatus());
+        assertTrue(rows.get(1).getMessage().startsWith("Unreadable row"), rows.get(1).getMessage());
+        assertEquals("Grade must not exceed 100", rows.get(2).getMessage());
+        assertEquals("Student not found", rows.get(3).getMessage());
+        assertEquals(GradeImportResultDto.RowStatus.IMPORTED, rows.get(4).getStatus());
+
+        assertEquals(List.of("Multi\nline", "Participation"), grades().stream().map(Grade::getAssignmentName).toList());
+    }
+
+    @Test
+    void importCsv_UnterminatedQuote_ReportsLastRow() {
+        GradeImportResultDto result = importCsv(HEADER +
+                "IMP001,IMP-1,Quiz,QUIZ,70,\n" +
+                "IMP001,IMP-1,Essay,ASSIGNMENT,80,\"never closed\nIMP001,IMP-1,Lab,ASSIGNMENT,90,\n");
+
+        assertEquals(2, result.getTotalRows());
+        assertEquals(1, result.getImportedRows());
+        assertEquals("Unterminated quoted field", result.getRows().get(1).getMessage());
+    }
+
+    @Test
+    void importCsv_Empty_Rejected() {
+        assertThrows(BadRequestException.class, () -> importCsv(""));
+    }
+
+    private GradeImportResultDto importCsv(String csv) {
+        return gradeImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<Grade> grades() {
+        return gradeRepository.findAll().stream()
+                .filter(grade -> grade.getCourse().getId().equals(courseId))
+                .sorted(Comparator.comparing(Grade::getId))
+                .toList();
+    }
+}
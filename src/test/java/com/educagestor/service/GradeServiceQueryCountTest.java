@@ -0,0 +1,150 @@
+package com.educagestor.service;
+
+import com.educagestor.dto.grade.GradeDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement count tests for GradeService paged listings
+ *
+ * This test class verifies through Hibernate statistics that a page of grades
+ * is loaded with a bounded number of statements, independent of the page size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class GradeServiceQueryCountTest {
+
+    private static final int STUDENT_COUNT = 12;
+
+    private static final int COURSE_COUNT = 3;
+
+    /**
+     * Page query, count query and one batched load of the users' roles
+     */
+    private static final long MAX_STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Student firstStudent;
+
+    private Course firstCourse;
+
+    @BeforeEach
+    void setUp() {
+        Course[] courses = new Course[COURSE_COUNT];
+        for (int c = 0; c < COURSE_COUNT; c++) {
+            Course course = new Course("QC-" + c, "Query Count Course " + c, 3,
+                    LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(50);
+            entityManager.persist(course);
+            courses[c] = course;
+        }
+
+        for (int s = 0; s < STUDENT_COUNT; s++) {
+            User user = new User("qcstudent" + s, "qcstudent" + s + "@example.com", "password",
+                    "Student" + s, "QueryCount");
+            user.addRole(Role.STUDENT);
+            entityManager.persist(user);
+
+            Student student = new Student("QC" + s, user, LocalDate.of(2000, 1, 1));
+            entityManager.persist(student);
+            if (s == 0) {
+                firstStudent = student;
+            }
+
+            for (Course course : courses) {
+                entityManager.persist(new Grade(student, course, "Homework", Grade.GradeType.ASSIGNMENT, 80.0));
+                entityManager.persist(new Grade(student, course, "Midterm", Grade.GradeType.EXAM, 90.0));
+            }
+        }
+        firstCourse = courses[0];
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void getAllGrades_FullPage_UsesBoundedStatements() {
+        Page<GradeDto> page = gradeService.getAllGrades(PageRequest.of(0, 20));
+
+        assertEquals(20, page.getNumberOfElements());
+        assertEquals(STUDENT_COUNT * COURSE_COUNT * 2L, page.getTotalElements());
+        assertNotNull(page.getContent().get(0).getStudentName());
+        assertNotNull(page.getContent().get(0).getCourseName());
+        assertStatementCountAtMost(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void getAllGrades_LargerPage_DoesNotIssueMoreStatements() {
+        gradeService.getAllGrades(PageRequest.of(0, 5));
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+
+        gradeService.getAllGrades(PageRequest.of(0, 50));
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertTrue(largePageStatements <= smallPageStatements,
+                "Statements grew with page size: " + smallPageStatements + " -> " + largePageStatements);
+    }
+
+    @Test
+    void getGradesByCourseId_UsesBoundedStatements() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<GradeDto> page = gradeService.getGradesByCourseId(firstCourse.getId(), pageable);
+
+        assertEquals(10, page.getNumberOfElements());
+        assertEquals(STUDENT_COUNT * 2L, page.getTotalElements());
+        assertStatementCountAtMost(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void getGradesByStudentId_UsesBoundedStatements() {
+        Page<GradeDto> page = gradeService.getGradesByStudentId(firstStudent.getId(), PageRequest.of(0, 4));
+
+        assertEquals(4, page.getNumberOfElements());
+        assertEquals(COURSE_COUNT * 2L, page.getTotalElements());
+        assertStatementCountAtMost(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    private void assertStatementCountAtMost(long expectedMax) {
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= expectedMax,
+                "Expected at most " + expectedMax + " statements per page but was " + statements);
+    }
+}
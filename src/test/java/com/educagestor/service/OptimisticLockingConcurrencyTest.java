@@ -0,0 +1,326 @@
+package com.educagestor.service;
+
+import com.educagestor.dto.enrollment.EnrollmentDto;
+import com.educagestor.dto.grade.GradeDto;
+import com.educagestor.entity.Course;
+import com.educagestor.entity.Enrollment;
+import com.educagestor.entity.Grade;
+import com.educagestor.entity.Role;
+import com.educagestor.entity.Student;
+import com.educagestor.entity.User;
+import com.educagestor.exception.BadRequestException;
+import com.educagestor.exception.ConflictException;
+import com.educagestor.repository.CourseRepository;
+import com.educagestor.repository.CourseSeatsRepository;
+import com.educagestor.repository.EnrollmentRepository;
+import com.educagestor.repository.GradeAggregateRepository;
+import com.educagestor.repository.GradeRepository;
+import com.educagestor.repository.StudentRepository;
+import com.educagestor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency tests for the optimistic locking of grades and enrollments
+ *
+ * This test class fires simultaneous updates of the same rows and verifies that
+ * every update reported as successful is present in the final state, so no update
+ * is silently overwritten, and that state transitions are applied only once.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticLockingConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockingConcurrencyTest.class);
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> courseIds = new ArrayList<>();
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long courseId : courseIds) {
+                gradeRepository.deleteAll(gradeRepository.findAll().stream()
+                        .filter(grade -> grade.getCourse().getId().equals(courseId))
+                        .toList());
+                gradeAggregateRepository.deleteAll(gradeAggregateRepository.findAll().stream()
+                        .filter(aggregate -> aggregate.getCourseId().equals(courseId))
+                        .toList());
+                enrollmentRepository.deleteAll(enrollmentRepository.findAll().stream()
+                        .filter(enrollment -> enrollment.getCourse().getId().equals(courseId))
+                        .toList());
+            }
+            for (Long studentId : studentIds) {
+                studentRepository.findById(studentId).ifPresent(student -> {
+                    studentRepository.delete(student);
+                    userRepository.delete(student.getUser());
+                });
+            }
+            courseRepository.deleteAllById(courseIds);
+        });
+        courseIds.clear();
+        studentIds.clear();
+    }
+
+    @Test
+    void updateGrade_ConcurrentUpdatesOfDifferentFields_NoUpdateLost() throws Exception {
+        Long courseId = createCourse("OPT-1", 10);
+        Long studentId = createStudents("opt1", 1).get(0);
+        List<Long> gradeIds = createGrades(studentId, courseId, 10);
+
+        List<FieldUpdate> updates = List.of(
+                new FieldUpdate("assignmentName", dto -> dto.setAssignmentName("Renamed"),
+                        grade -> grade.getAssignmentName().equals("Renamed")),
+                new FieldUpdate("gradeType", dto -> dto.setGradeType(Grade.GradeType.EXAM),
+                        grade -> grade.getGradeType() == Grade.GradeType.EXAM),
+                new FieldUpdate("weight", dto -> dto.setWeight(0.5),
+                        grade -> Double.valueOf(0.5).equals(grade.getWeight())),
+                new FieldUpdate("gradeDate", dto -> dto.setGradeDate(LocalDate.of(2024, 1, 15)),
+                        grade -> grade.getGradeDate().equals(LocalDate.of(2024, 1, 15))),
+                new FieldUpdate("comments", dto -> dto.setComments("Reviewed"),
+                        grade -> "Reviewed".equals(grade.getComments())),
+                new FieldUpdate("isExtraCredit", dto -> dto.setIsExtraCredit(true),
+                        grade -> Boolean.TRUE.equals(grade.getIsExtraCredit())));
+
+        Map<Long, Set<String>> applied = new ConcurrentHashMap<>();
+        List<Runnable> tasks = new ArrayList<>();
+        for (Long gradeId : gradeIds) {
+            for (FieldUpdate update : updates) {
+                tasks.add(() -> {
+                    gradeService.updateGrade(gradeId, update.dto());
+                    applied.computeIfAbsent(gradeId, id -> ConcurrentHashMap.newKeySet()).add(update.field());
+                });
+            }
+        }
+        Outcome outcome = runConcurrently(tasks);
+
+        assertEquals(0, outcome.unexpected.get());
+        assertEquals(tasks.size(), outcome.succeeded.get() + outcome.conflicted.get());
+        for (Long gradeId : gradeIds) {
+            Grade grade = gradeRepository.findById(gradeId).orElseThrow();
+            Set<String> appliedFields = applied.getOrDefault(gradeId, Set.of());
+            for (FieldUpdate update : updates) {
+                if (appliedFields.contains(update.field())) {
+                    assertTrue(update.isApplied().test(grade),
+                            "Update of " + update.field() + " on grade " + gradeId + " was lost");
+                }
+            }
+            assertEquals(appliedFields.size(), grade.getVersion());
+        }
+    }
+
+    @Test
+    void updateGrade_StaleVersion_RejectedWithConflict() {
+        Long courseId = createCourse("OPT-2", 10);
+        Long studentId = createStudents("opt2", 1).get(0);
+        Long gradeId = createGrades(studentId, courseId, 1).get(0);
+
+        GradeDto read = gradeService.getGradeById(gradeId);
+
+        GradeDto first = partialUpdate();
+        first.setComments("First");
+        first.setVersion(read.getVersion());
+        GradeDto updated = gradeService.updateGrade(gradeId, first);
+
+        GradeDto stale = partialUpdate();
+        stale.setComments("Second");
+        stale.setVersion(read.getVersion());
+
+        assertThrows(ConflictException.class, () -> gradeService.updateGrade(gradeId, stale));
+        assertEquals(read.getVersion() + 1, updated.getVersion());
+        assertEquals("First", gradeRepository.findById(gradeId).orElseThrow().getComments());
+    }
+
+    @Test
+    void completeEnrollment_ConcurrentCompletions_CompletesOnceAndReleasesOneSeat() throws Exception {
+        Long courseId = createCourse("OPT-3", 10);
+        List<Long> students = createStudents("opt3", 2);
+        EnrollmentDto enrollment = enrollmentService.enrollStudent(students.get(0), courseId);
+        enrollmentService.enrollStudent(students.get(1), courseId);
+
+        Map<Double, Boolean> completedWith = new ConcurrentHashMap<>();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            double finalGrade = 70.0 + i;
+            tasks.add(() -> {
+                enrollmentService.completeEnrollment(enrollment.getId(), finalGrade);
+                completedWith.put(finalGrade, true);
+            });
+        }
+        Outcome outcome = runConcurrently(tasks);
+
+        assertEquals(0, outcome.unexpected.get());
+        assertEquals(1, outcome.succeeded.get());
+        assertEquals(19, outcome.rejected.get() + outcome.conflicted.get());
+
+        Enrollment completed = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertEquals(Enrollment.EnrollmentStatus.COMPLETED, completed.getEnrollmentStatus());
+        assertEquals(Set.of(completed.getFinalGrade()), completedWith.keySet());
+        assertEquals(1, courseSeatsRepository.findById(courseId).orElseThrow().getEnrolledCount());
+    }
+
+    private Outcome runConcurrently(List<Runnable> tasks) throws Exception {
+        Outcome outcome = new Outcome();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        task.run();
+                        outcome.succeeded.incrementAndGet();
+                    } catch (ConflictException e) {
+                        outcome.conflicted.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        outcome.rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        logger.error("Unexpected update failure", e);
+                        outcome.unexpected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+
+            logger.info("{} concurrent updates: {} succeeded, {} conflicted, {} rejected",
+                    tasks.size(), outcome.succeeded.get(), outcome.conflicted.get(), outcome.rejected.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return outcome;
+    }
+
+    /**
+     * Update request changing no field, the DTO defaults would otherwise be applied
+     */
+    private static GradeDto partialUpdate() {
+        GradeDto dto = new GradeDto();
+        dto.setMaxPoints(null);
+        dto.setIsExtraCredit(null);
+        dto.setIsDropped(null);
+        return dto;
+    }
+
+    private Long createCourse(String courseCode, int maxStudents) {
+        Long courseId = transactionTemplate.execute(status -> {
+            Course course = new Course(courseCode, "Locking Course " + courseCode, 3,
+                    LocalDate.now(), LocalDate.now().plusMonths(4));
+            course.setMaxStudents(maxStudents);
+            return courseRepository.save(course).getId();
+        });
+        courseIds.add(courseId);
+        return courseId;
+    }
+
+    private List<Long> createStudents(String prefix, int count) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                User user = new User(prefix + "user" + i, prefix + "user" + i + "@example.com", "password",
+                        "Student" + i, "Locking");
+                user.addRole(Role.STUDENT);
+                userRepository.save(user);
+
+                Student student = new Student(prefix + i, user, LocalDate.of(2000, 1, 1));
+                created.add(studentRepository.save(student).getId());
+            }
+            return created;
+        });
+        studentIds.addAll(ids);
+        return ids;
+    }
+
+    private List<Long> createGrades(Long studentId, Long courseId, int count) {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            GradeDto grade = new GradeDto();
+            grade.setStudentId(studentId);
+            grade.setCourseId(courseId);
+            grade.setAssignmentName("Homework " + i);
+            grade.setGradeType(Grade.GradeType.ASSIGNMENT);
+            grade.setGradeValue(80.0);
+            created.add(gradeService.recordGrade(grade).getId());
+        }
+        return created;
+    }
+
+    private record FieldUpdate(String field, Consumer<GradeDto> change, Predicate<Grade> isApplied) {
+
+        GradeDto dto() {
+            GradeDto dto = partialUpdate();
+            change.accept(dto);
+            return dto;
+        }
+    }
+
+    private static class Outcome {
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger conflicted = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger unexpected = new AtomicInteger();
+    }
+}